@@ -0,0 +1,517 @@
+package org.example;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Threshold alerts over hourly forecasts, e.g. "temp < 0 in next 24h" or "wind > 50 km/h".
+ * <p>
+ * Rules are compiled into groups that share metric, direction and window, each holding its
+ * thresholds sorted. Evaluating a location computes the running minimum and maximum of each
+ * metric once over its ForecastColumns; every group then needs one lookup for its window
+ * extreme and one binary search to find all rules that fire, so the cost per location grows
+ * with the number of distinct groups rather than the number of rules. Evaluation is
+ * incremental: each new forecast re-evaluates only its own location.
+ */
+public class AlertEngine {
+    private static final AppLogger LOG = AppLogger.get("alerts");
+
+    static final int DEFAULT_WINDOW_HOURS = 24;
+    static final int MAX_WINDOW_HOURS = 384;
+
+    private static final Pattern RULE_PATTERN = Pattern.compile(
+        "^\\s*([a-z]+(?:[ _-]?(?:like|speed|point))?)\\s*(<=|>=|<|>)\\s*(-?\\d+(?:\\.\\d+)?)\\s*(°?[cf]|km/h|kmh|kph|m/s|mph|%)?"
+            + "\\s*(?:(?:in\\s+)?(?:the\\s+)?next\\s+(\\d+)\\s*h(?:ours?|rs?)?)?\\s*$");
+    private static final DateTimeFormatter ALERT_TIME = DateTimeFormatter.ofPattern("EEE HH:mm")
+        .withZone(ZoneId.systemDefault());
+
+    public enum Metric {
+        TEMPERATURE("temp", "°C"),
+        FEELS_LIKE("feels like", "°C"),
+        DEW_POINT("dew point", "°C"),
+        HUMIDITY("humidity", "%"),
+        WIND_SPEED("wind", "km/h");
+
+        private final String label;
+        private final String unit;
+
+        Metric(String label, String unit) {
+            this.label = label;
+            this.unit = unit;
+        }
+
+        double[] column(ForecastColumns columns) {
+            return switch (this) {
+                case TEMPERATURE -> columns.getTemperature();
+                case FEELS_LIKE -> columns.getFeelsLike();
+                case DEW_POINT -> columns.getDerived().getDewPoint();
+                case HUMIDITY -> columns.getHumidity();
+                case WIND_SPEED -> columns.getWindSpeed();
+            };
+        }
+
+        static Metric fromAlias(String alias) {
+            return switch (alias.replaceAll("[ _-]", "")) {
+                case "temp", "temperature" -> TEMPERATURE;
+                case "feels", "feelslike" -> FEELS_LIKE;
+                case "dew", "dewpoint" -> DEW_POINT;
+                case "humidity", "hum" -> HUMIDITY;
+                case "wind", "windspeed" -> WIND_SPEED;
+                default -> throw new IllegalArgumentException(
+                    "Unknown metric '" + alias + "'. Use temp, feels, dew, humidity or wind.");
+            };
+        }
+
+        public String getLabel() { return label; }
+        public String getUnit() { return unit; }
+    }
+
+    public enum Comparison {
+        BELOW("<", false, false),
+        AT_MOST("<=", false, true),
+        ABOVE(">", true, false),
+        AT_LEAST(">=", true, true);
+
+        private final String symbol;
+        private final boolean upward;
+        private final boolean inclusive;
+
+        Comparison(String symbol, boolean upward, boolean inclusive) {
+            this.symbol = symbol;
+            this.upward = upward;
+            this.inclusive = inclusive;
+        }
+
+        static Comparison fromSymbol(String symbol) {
+            for (Comparison comparison : values()) {
+                if (comparison.symbol.equals(symbol)) {
+                    return comparison;
+                }
+            }
+            throw new IllegalArgumentException("Unknown comparison '" + symbol + "'");
+        }
+
+        public String getSymbol() { return symbol; }
+    }
+
+    /**
+     * One alert condition, threshold in the metric's canonical unit
+     */
+    public static final class Rule {
+        private final Long id;
+        private final Long locationId;
+        private final Metric metric;
+        private final Comparison comparison;
+        private final double threshold;
+        private final int windowHours;
+
+        public Rule(Long id, Long locationId, Metric metric, Comparison comparison, double threshold, int windowHours) {
+            this.id = id;
+            this.locationId = locationId;
+            this.metric = metric;
+            this.comparison = comparison;
+            this.threshold = threshold;
+            this.windowHours = windowHours;
+        }
+
+        /**
+         * Parse "temp < 0 in next 24h", "wind > 50 km/h", "feels like <= 14 F next 12h" or
+         * "humidity >= 90 %". Temperatures default to °C and wind to km/h; the window to 24 hours.
+         */
+        public static Rule parse(String text, Long locationId) {
+            Matcher matcher = RULE_PATTERN.matcher(text.toLowerCase(Locale.ROOT));
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException(
+                    "Could not read rule '" + text + "'. Example: temp < 0 in next 24h");
+            }
+            Metric metric = Metric.fromAlias(matcher.group(1));
+            Comparison comparison = Comparison.fromSymbol(matcher.group(2));
+            double threshold = toCanonical(metric, Double.parseDouble(matcher.group(3)), matcher.group(4));
+            int windowHours = matcher.group(5) == null ? DEFAULT_WINDOW_HOURS : Integer.parseInt(matcher.group(5));
+            if (windowHours < 1 || windowHours > MAX_WINDOW_HOURS) {
+                throw new IllegalArgumentException("Window must be between 1 and " + MAX_WINDOW_HOURS + " hours");
+            }
+            return new Rule(null, locationId, metric, comparison, threshold, windowHours);
+        }
+
+        private static double toCanonical(Metric metric, double value, String unit) {
+            if (unit == null) {
+                return value;
+            }
+            String normalized = unit.replace("°", "");
+            return switch (metric) {
+                case TEMPERATURE, FEELS_LIKE, DEW_POINT -> switch (normalized) {
+                    case "c" -> value;
+                    case "f" -> (value - 32) * 5 / 9;
+                    default -> throw new IllegalArgumentException("Temperature unit must be C or F, not '" + unit + "'");
+                };
+                case HUMIDITY -> {
+                    if (!normalized.equals("%")) {
+                        throw new IllegalArgumentException("Humidity is in %, not '" + unit + "'");
+                    }
+                    yield value;
+                }
+                case WIND_SPEED -> switch (normalized) {
+                    case "km/h", "kmh", "kph" -> value;
+                    case "m/s" -> value * 3.6;
+                    case "mph" -> value * 1.609344;
+                    default -> throw new IllegalArgumentException("Wind unit must be km/h, m/s or mph, not '" + unit + "'");
+                };
+            };
+        }
+
+        public Rule withId(Long newId) {
+            return new Rule(newId, locationId, metric, comparison, threshold, windowHours);
+        }
+
+        /**
+         * Rule in the same form parse() accepts, e.g. "temp < 0 °C in next 24h"
+         */
+        public String describe() {
+            return metric.label + " " + comparison.symbol + " " + formatValue(threshold) + " " + metric.unit
+                + " in next " + windowHours + "h";
+        }
+
+        @Override
+        public String toString() {
+            return describe();
+        }
+
+        // Getters
+        public Long getId() { return id; }
+        public Long getLocationId() { return locationId; }
+        public Metric getMetric() { return metric; }
+        public Comparison getComparison() { return comparison; }
+        public double getThreshold() { return threshold; }
+        public int getWindowHours() { return windowHours; }
+    }
+
+    /**
+     * A rule that fires for a location, with the forecast value that triggered it
+     */
+    public static final class Alert {
+        private final Rule rule;
+        private final long locationId;
+        private final double value;
+        private final long epochSecond;
+
+        Alert(Rule rule, long locationId, double value, long epochSecond) {
+            this.rule = rule;
+            this.locationId = locationId;
+            this.value = value;
+            this.epochSecond = epochSecond;
+        }
+
+        /**
+         * e.g. "temp < 0 °C in next 24h: -3.5 °C on Tue 04:00"
+         */
+        public String describe() {
+            return rule.describe() + ": " + formatValue(value) + " " + rule.metric.unit
+                + " on " + ALERT_TIME.format(Instant.ofEpochSecond(epochSecond));
+        }
+
+        // Getters
+        public Rule getRule() { return rule; }
+        public long getLocationId() { return locationId; }
+        public double getValue() { return value; }
+        public long getEpochSecond() { return epochSecond; }
+    }
+
+    private volatile CompiledRules compiled = CompiledRules.EMPTY;
+    private final Map<Long, ForecastColumns> latestForecasts = new HashMap<>();
+    private final Map<Long, List<Alert>> activeAlerts = new HashMap<>();
+
+    /**
+     * Replace the rule set and re-evaluate every location that already has a forecast
+     */
+    public synchronized void setRules(Collection<Rule> rules) {
+        long start = System.nanoTime();
+        compiled = new CompiledRules(rules);
+        long now = System.currentTimeMillis() / 1000;
+        activeAlerts.clear();
+        for (Map.Entry<Long, ForecastColumns> entry : latestForecasts.entrySet()) {
+            List<Alert> alerts = evaluate(entry.getKey(), entry.getValue(), now);
+            if (!alerts.isEmpty()) {
+                activeAlerts.put(entry.getKey(), alerts);
+            }
+        }
+        LOG.debug(() -> "Compiled " + rules.size() + " alert rule(s) into " + compiled.groupCount + " group(s), re-evaluated "
+            + latestForecasts.size() + " location(s) in " + (System.nanoTime() - start) / 1000 + " µs");
+    }
+
+    /**
+     * Evaluate a location's new forecast; returns the alerts that were not already active for it
+     */
+    public synchronized List<Alert> onForecast(long locationId, ForecastColumns columns) {
+        latestForecasts.put(locationId, columns);
+        List<Alert> alerts = evaluate(locationId, columns, System.currentTimeMillis() / 1000);
+        List<Alert> previous = alerts.isEmpty() ? activeAlerts.remove(locationId) : activeAlerts.put(locationId, alerts);
+        if (previous == null || previous.isEmpty()) {
+            return alerts;
+        }
+        Set<Rule> previousRules = new HashSet<>();
+        for (Alert alert : previous) {
+            previousRules.add(alert.rule);
+        }
+        List<Alert> triggered = new ArrayList<>();
+        for (Alert alert : alerts) {
+            if (!previousRules.contains(alert.rule)) {
+                triggered.add(alert);
+            }
+        }
+        return triggered;
+    }
+
+    /**
+     * Drop a deleted location's forecast and alerts
+     */
+    public synchronized void forgetLocation(long locationId) {
+        latestForecasts.remove(locationId);
+        activeAlerts.remove(locationId);
+    }
+
+    /**
+     * All alerts currently firing, by location id then rule
+     */
+    public synchronized List<Alert> getActiveAlerts() {
+        List<Alert> all = new ArrayList<>();
+        for (List<Alert> alerts : activeAlerts.values()) {
+            all.addAll(alerts);
+        }
+        all.sort(Comparator.comparingLong(Alert::getLocationId).thenComparing(alert -> alert.rule.describe()));
+        return all;
+    }
+
+    /**
+     * Rules firing for one location given its forecast; the window starts at the current hour
+     */
+    List<Alert> evaluate(long locationId, ForecastColumns columns, long nowEpochSecond) {
+        CompiledRules rules = compiled;
+        List<RuleGroup> local = rules.byLocation.get(locationId);
+        if (rules.global.isEmpty() && local == null) {
+            return List.of();
+        }
+        WindowExtremes extremes = new WindowExtremes(columns, nowEpochSecond - nowEpochSecond % 3600);
+        List<Alert> alerts = new ArrayList<>();
+        for (RuleGroup group : rules.global) {
+            group.collectFiring(extremes, locationId, alerts);
+        }
+        if (local != null) {
+            for (RuleGroup group : local) {
+                group.collectFiring(extremes, locationId, alerts);
+            }
+        }
+        return alerts;
+    }
+
+    private static String formatValue(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.1f", value);
+    }
+
+    /**
+     * Rules split into global and per-location groups; immutable, swapped as a whole by setRules
+     */
+    private static final class CompiledRules {
+        static final CompiledRules EMPTY = new CompiledRules(List.of());
+
+        private final List<RuleGroup> global;
+        private final Map<Long, List<RuleGroup>> byLocation;
+        private final int groupCount;
+
+        CompiledRules(Collection<Rule> rules) {
+            Map<String, List<Rule>> globalRules = new HashMap<>();
+            Map<Long, Map<String, List<Rule>>> localRules = new HashMap<>();
+            for (Rule rule : rules) {
+                String key = rule.metric + "|" + rule.comparison.upward + "|" + rule.windowHours;
+                Map<String, List<Rule>> target = rule.locationId == null
+                    ? globalRules
+                    : localRules.computeIfAbsent(rule.locationId, id -> new HashMap<>());
+                target.computeIfAbsent(key, k -> new ArrayList<>()).add(rule);
+            }
+            this.global = toGroups(globalRules);
+            this.byLocation = new HashMap<>();
+            int count = global.size();
+            for (Map.Entry<Long, Map<String, List<Rule>>> entry : localRules.entrySet()) {
+                List<RuleGroup> groups = toGroups(entry.getValue());
+                byLocation.put(entry.getKey(), groups);
+                count += groups.size();
+            }
+            this.groupCount = count;
+        }
+
+        private static List<RuleGroup> toGroups(Map<String, List<Rule>> rulesByKey) {
+            List<RuleGroup> groups = new ArrayList<>(rulesByKey.size());
+            for (List<Rule> groupRules : rulesByKey.values()) {
+                groups.add(new RuleGroup(groupRules));
+            }
+            return groups;
+        }
+    }
+
+    /**
+     * Rules with the same metric, direction and window, sorted by threshold. Downward rules
+     * (<, <=) fire when the window minimum is under their threshold, so they form a suffix of
+     * the sorted array; upward rules (>, >=) fire on the window maximum and form a prefix.
+     */
+    private static final class RuleGroup {
+        private final Metric metric;
+        private final boolean upward;
+        private final int windowHours;
+        private final double[] thresholds;
+        private final boolean[] inclusive;
+        private final Rule[] rules;
+
+        RuleGroup(List<Rule> groupRules) {
+            Rule[] sorted = groupRules.toArray(new Rule[0]);
+            Arrays.sort(sorted, Comparator.comparingDouble(Rule::getThreshold));
+            Rule first = sorted[0];
+            this.metric = first.metric;
+            this.upward = first.comparison.upward;
+            this.windowHours = first.windowHours;
+            this.rules = sorted;
+            this.thresholds = new double[sorted.length];
+            this.inclusive = new boolean[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                thresholds[i] = sorted[i].threshold;
+                inclusive[i] = sorted[i].comparison.inclusive;
+            }
+        }
+
+        void collectFiring(WindowExtremes extremes, long locationId, List<Alert> out) {
+            int index = extremes.extremeIndex(metric, upward, windowHours);
+            if (index < 0) {
+                return;
+            }
+            double value = extremes.value(metric, index);
+            long time = extremes.time(index);
+            if (upward) {
+                // thresholds < value fire, and those == value when inclusive
+                int end = firstGreater(value);
+                for (int i = 0; i < end; i++) {
+                    if (thresholds[i] < value || inclusive[i]) {
+                        out.add(new Alert(rules[i], locationId, value, time));
+                    }
+                }
+            } else {
+                // thresholds > value fire, and those == value when inclusive
+                for (int i = firstAtLeast(value); i < thresholds.length; i++) {
+                    if (thresholds[i] > value || inclusive[i]) {
+                        out.add(new Alert(rules[i], locationId, value, time));
+                    }
+                }
+            }
+        }
+
+        private int firstAtLeast(double value) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int firstGreater(double value) {
+            int low = 0;
+            int high = thresholds.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (thresholds[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Running minimum/maximum positions of each metric from the start of the window onwards,
+     * built lazily once per metric, so the extreme of any window is a single array lookup.
+     */
+    private static final class WindowExtremes {
+        private final ForecastColumns columns;
+        private final long[] times;
+        private final long startEpochSecond;
+        private final int first;
+        private final int[][] runningMin = new int[Metric.values().length][];
+        private final int[][] runningMax = new int[Metric.values().length][];
+
+        WindowExtremes(ForecastColumns columns, long startEpochSecond) {
+            this.columns = columns;
+            this.times = columns.getEpochSeconds();
+            this.startEpochSecond = startEpochSecond;
+            this.first = firstIndexAtOrAfter(startEpochSecond);
+        }
+
+        /**
+         * Index of the minimum (or maximum) within [start, start + windowHours), or -1 if no data
+         */
+        int extremeIndex(Metric metric, boolean maximum, int windowHours) {
+            int last = firstIndexAtOrAfter(startEpochSecond + windowHours * 3600L) - 1;
+            if (last < first) {
+                return -1;
+            }
+            int[] running = maximum ? runningMax[metric.ordinal()] : runningMin[metric.ordinal()];
+            if (running == null) {
+                running = buildRunning(metric, maximum);
+            }
+            return running[last - first];
+        }
+
+        double value(Metric metric, int index) {
+            return metric.column(columns)[index];
+        }
+
+        long time(int index) {
+            return times[index];
+        }
+
+        private int[] buildRunning(Metric metric, boolean maximum) {
+            double[] values = metric.column(columns);
+            int[] running = new int[times.length - first];
+            int best = first;
+            for (int i = first; i < times.length; i++) {
+                if (maximum ? values[i] > values[best] : values[i] < values[best]) {
+                    best = i;
+                }
+                running[i - first] = best;
+            }
+            (maximum ? runningMax : runningMin)[metric.ordinal()] = running;
+            return running;
+        }
+
+        private int firstIndexAtOrAfter(long epochSecond) {
+            int low = 0;
+            int high = times.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < epochSecond) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
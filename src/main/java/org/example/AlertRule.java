@@ -0,0 +1,126 @@
+package org.example;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import java.time.LocalDateTime;
+
+/**
+ * A user's forecast alert such as "temp < 0 in next 24h". Bound to one saved location,
+ * or to all of the user's locations when location is null. Thresholds are stored in
+ * °C, % and km/h (see AlertEngine.Metric).
+ */
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "alert_rules")
+public class AlertRule {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alert_rules_seq")
+    @SequenceGenerator(name = "alert_rules_seq", sequenceName = "alert_rules_seq", allocationSize = User.ID_ALLOCATION_SIZE)
+    private Long id;
+    
+    @Column(name = "metric", nullable = false)
+    private String metric;
+    
+    @Column(name = "comparison", nullable = false)
+    private String comparison;
+    
+    @Column(name = "threshold", nullable = false)
+    private Double threshold;
+    
+    @Column(name = "window_hours", nullable = false)
+    private Integer windowHours;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "location_id")
+    private SavedLocation location;
+
+    // Default constructor (required by Hibernate)
+    public AlertRule() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Custom constructor
+    public AlertRule(String metric, String comparison, Double threshold, Integer windowHours, User user, SavedLocation location) {
+        this();
+        this.metric = metric;
+        this.comparison = comparison;
+        this.threshold = threshold;
+        this.windowHours = windowHours;
+        this.user = user;
+        this.location = location;
+    }
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public String getMetric() {
+        return metric;
+    }
+    
+    public void setMetric(String metric) {
+        this.metric = metric;
+    }
+    
+    public String getComparison() {
+        return comparison;
+    }
+    
+    public void setComparison(String comparison) {
+        this.comparison = comparison;
+    }
+    
+    public Double getThreshold() {
+        return threshold;
+    }
+    
+    public void setThreshold(Double threshold) {
+        this.threshold = threshold;
+    }
+    
+    public Integer getWindowHours() {
+        return windowHours;
+    }
+    
+    public void setWindowHours(Integer windowHours) {
+        this.windowHours = windowHours;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public SavedLocation getLocation() {
+        return location;
+    }
+    
+    public void setLocation(SavedLocation location) {
+        this.location = location;
+    }
+}
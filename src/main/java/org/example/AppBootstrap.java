@@ -0,0 +1,120 @@
+package org.example;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the slow parts of the application in parallel on background threads so the login
+ * window can show immediately: configuration check, database (pool, migrations, SessionFactory)
+ * and the forecast HTTP clients. Screens ask for the futures and enable themselves when ready.
+ */
+public final class AppBootstrap {
+    private static final AppLogger LOG = AppLogger.get("bootstrap");
+
+    private static AppBootstrap instance;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long startNanos = System.nanoTime();
+    private final List<Runnable> shutdownActions = new CopyOnWriteArrayList<>();
+    private CompletableFuture<Void> configuration;
+    private CompletableFuture<DatabaseService> database;
+    private CompletableFuture<ForecastService> forecasts;
+
+    private AppBootstrap() {
+    }
+
+    public static synchronized AppBootstrap getInstance() {
+        if (instance == null) {
+            instance = new AppBootstrap();
+        }
+        return instance;
+    }
+
+    /**
+     * Kick off all background initialization; later calls do nothing
+     */
+    public synchronized void start() {
+        if (database != null) {
+            return;
+        }
+        configuration = CompletableFuture.runAsync(() -> ConfigManager.getInstance().printConfigStatus(), executor);
+        database = CompletableFuture.supplyAsync(() -> {
+            if (!DatabaseService.isDatabaseConfigured()) {
+                throw new IllegalStateException("Database configuration error: " + DatabaseService.getDatabaseConfigurationError());
+            }
+            return DatabaseService.getInstance();
+        }, executor);
+        forecasts = CompletableFuture.supplyAsync(ForecastService::new, executor);
+
+        database.whenComplete((service, error) -> {
+            if (error == null) {
+                LOG.info("✅ Database ready " + elapsedMs() + " ms after launch");
+            } else {
+                LOG.error("❌ Database initialization failed: " + rootMessage(error));
+            }
+        });
+        forecasts.thenRun(() -> LOG.info("✅ Forecast services ready " + elapsedMs() + " ms after launch"));
+    }
+
+    public CompletableFuture<DatabaseService> database() {
+        start();
+        return database;
+    }
+
+    public CompletableFuture<ForecastService> forecasts() {
+        start();
+        return forecasts;
+    }
+
+    /**
+     * The database service if initialization already succeeded, otherwise null (never blocks)
+     */
+    public DatabaseService getDatabaseServiceIfReady() {
+        CompletableFuture<DatabaseService> future = database();
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    /**
+     * Run an action on exit, before the services it may need are closed
+     */
+    public void addShutdownAction(Runnable action) {
+        shutdownActions.add(action);
+    }
+
+    /**
+     * Release everything that was started (called on application exit)
+     */
+    public synchronized void shutdown() {
+        for (Runnable action : shutdownActions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                LOG.warn("⚠️ Shutdown action failed: " + e.getMessage(), e);
+            }
+        }
+        if (forecasts != null && forecasts.isDone() && !forecasts.isCompletedExceptionally()) {
+            forecasts.join().close();
+        }
+        DatabaseService.shutdown();
+        executor.shutdownNow();
+        Tracing.shutdown();
+        AppLogger.shutdown();
+    }
+
+    /**
+     * Message of the underlying failure, without the CompletionException wrapper
+     */
+    public static String rootMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage();
+    }
+
+    private long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,129 @@
+package org.example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Per-subsystem logger. Calls only build a record and put it into a lock-free ring buffer;
+ * formatting and all file/console I/O happen on the AsyncLogWriter thread, so logging costs
+ * the calling thread (often the FX thread) a few hundred nanoseconds. Use the Supplier
+ * overloads for messages that are expensive to build, they are skipped when the level is off.
+ * <p>
+ * Level comes from LOG_LEVEL (default INFO); records go to a rotating file under LOG_DIR and,
+ * unless LOG_CONSOLE=false, to the console.
+ */
+public final class AppLogger {
+
+    public enum Level { TRACE, DEBUG, INFO, WARN, ERROR }
+
+    private static final LogRingBuffer BUFFER = new LogRingBuffer(8192);
+    private static final Map<String, AppLogger> LOGGERS = new ConcurrentHashMap<>();
+    private static final AtomicBoolean WRITER_STARTED = new AtomicBoolean();
+    private static final LongAdder DROPPED = new LongAdder();
+    private static volatile Level threshold = Level.INFO;
+    private static volatile AsyncLogWriter writer;
+
+    private final String subsystem;
+
+    private AppLogger(String subsystem) {
+        this.subsystem = subsystem;
+    }
+
+    public static AppLogger get(String subsystem) {
+        return LOGGERS.computeIfAbsent(subsystem, AppLogger::new);
+    }
+
+    public static void setLevel(Level level) {
+        threshold = level;
+    }
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    public void trace(Supplier<String> message) { log(Level.TRACE, message); }
+    public void debug(String message) { log(Level.DEBUG, message, null); }
+    public void debug(Supplier<String> message) { log(Level.DEBUG, message); }
+    public void info(String message) { log(Level.INFO, message, null); }
+    public void info(Supplier<String> message) { log(Level.INFO, message); }
+    public void warn(String message) { log(Level.WARN, message, null); }
+    public void warn(String message, Throwable error) { log(Level.WARN, message, error); }
+    public void error(String message) { log(Level.ERROR, message, null); }
+    public void error(String message, Throwable error) { log(Level.ERROR, message, error); }
+
+    private void log(Level level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            log(level, message.get(), null);
+        }
+    }
+
+    private void log(Level level, String message, Throwable error) {
+        if (!isEnabled(level)) {
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        String threadName = thread.getName().isEmpty() ? "virtual-" + thread.threadId() : thread.getName();
+        LogRecord record = new LogRecord(System.currentTimeMillis(), level, subsystem, threadName, message, error);
+        if (!BUFFER.offer(record)) {
+            DROPPED.increment();
+        }
+        startWriter();
+    }
+
+    /**
+     * Write out everything queued so far and stop the writer (called on application exit)
+     */
+    public static void shutdown() {
+        AsyncLogWriter current = writer;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Records lost because the buffer was full, since the last call
+     */
+    static long takeDroppedCount() {
+        return DROPPED.sumThenReset();
+    }
+
+    private static void startWriter() {
+        if (!WRITER_STARTED.get() && WRITER_STARTED.compareAndSet(false, true)) {
+            // The writer reads its settings from ConfigManager, whose getters log; the flag is already set so that is safe
+            writer = new AsyncLogWriter(BUFFER);
+            writer.start();
+        }
+    }
+
+    /**
+     * One log event, captured on the calling thread and formatted on the writer thread
+     */
+    static final class LogRecord {
+        private final long timestamp;
+        private final Level level;
+        private final String subsystem;
+        private final String threadName;
+        private final String message;
+        private final Throwable error;
+
+        LogRecord(long timestamp, Level level, String subsystem, String threadName, String message, Throwable error) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.subsystem = subsystem;
+            this.threadName = threadName;
+            this.message = message;
+            this.error = error;
+        }
+
+        // Getters
+        long getTimestamp() { return timestamp; }
+        Level getLevel() { return level; }
+        String getSubsystem() { return subsystem; }
+        String getThreadName() { return threadName; }
+        String getMessage() { return message; }
+        Throwable getError() { return error; }
+    }
+}
@@ -0,0 +1,209 @@
+package org.example;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single background thread that drains AppLogger's ring buffer into a size-rotated log file
+ * (weather-app.log, .1, .2, ...) and optionally mirrors records to the console.
+ */
+final class AsyncLogWriter {
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")
+        .withZone(ZoneId.systemDefault());
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final LogRingBuffer buffer;
+    private final Thread thread;
+    private final Path logFile;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private final boolean console;
+    private final PrintStream consoleOut = System.out;
+    private final StringBuilder line = new StringBuilder(256);
+    private BufferedWriter out;
+    private long fileBytes;
+    private long cachedSecond = Long.MIN_VALUE;
+    private String cachedSecondText;
+    private volatile boolean running = true;
+
+    AsyncLogWriter(LogRingBuffer buffer) {
+        ConfigManager config = ConfigManager.getInstance();
+        AppLogger.setLevel(config.getLogLevel());
+        this.buffer = buffer;
+        this.logFile = Paths.get(config.getLogDirectory(), "weather-app.log");
+        this.maxFileBytes = config.getLogMaxFileMb() * 1024L * 1024L;
+        this.maxFiles = config.getLogMaxFiles();
+        this.console = config.isLogConsoleEnabled();
+        this.thread = new Thread(this::drain, "log-writer");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+        // Daemon thread: make sure queued records reach the file when the JVM exits without shutdown()
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "log-writer-shutdown"));
+    }
+
+    /**
+     * Stop after writing everything already queued
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        openFile();
+        while (running || !buffer.isEmpty()) {
+            AppLogger.LogRecord record = buffer.poll();
+            if (record == null) {
+                flush();
+                if (running) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else {
+                    Thread.onSpinWait(); // a producer claimed a slot but has not published yet
+                }
+                continue;
+            }
+            write(format(record));
+            long dropped = AppLogger.takeDroppedCount();
+            if (dropped > 0) {
+                write(format(new AppLogger.LogRecord(System.currentTimeMillis(), AppLogger.Level.WARN, "logging",
+                    Thread.currentThread().getName(), dropped + " log record(s) dropped, buffer full", null)));
+            }
+        }
+        flush();
+        closeFile();
+    }
+
+    private String format(AppLogger.LogRecord record) {
+        line.setLength(0);
+        appendTimestamp(record.getTimestamp());
+        String level = record.getLevel().name();
+        line.append(' ').append(level);
+        for (int i = level.length(); i < 5; i++) {
+            line.append(' ');
+        }
+        line.append(" [").append(record.getSubsystem()).append("] (")
+            .append(record.getThreadName()).append(") ")
+            .append(record.getMessage());
+        if (record.getError() != null) {
+            StringWriter trace = new StringWriter();
+            record.getError().printStackTrace(new PrintWriter(trace));
+            line.append(System.lineSeparator()).append(trace.toString().stripTrailing());
+        }
+        return line.toString();
+    }
+
+    /**
+     * Records arrive in bursts within the same second, so the date/time part is formatted once per second
+     */
+    private void appendTimestamp(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000);
+        if (second != cachedSecond) {
+            cachedSecond = second;
+            cachedSecondText = TIMESTAMP.format(Instant.ofEpochSecond(second));
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000);
+        line.append(cachedSecondText).append('.');
+        if (millis < 100) line.append('0');
+        if (millis < 10) line.append('0');
+        line.append(millis);
+    }
+
+    private void write(String line) {
+        if (console || out == null) {
+            consoleOut.println(line);
+        }
+        if (out == null) {
+            return;
+        }
+        try {
+            out.write(line);
+            out.newLine();
+            fileBytes += line.length() + 1;
+            if (fileBytes >= maxFileBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            fileFailed(e);
+        }
+    }
+
+    private void flush() {
+        consoleOut.flush();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                fileFailed(e);
+            }
+        }
+    }
+
+    /**
+     * weather-app.log becomes .1, .1 becomes .2 and so on; the oldest file is deleted
+     */
+    private void rotate() throws IOException {
+        closeFile();
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path source = i == 1 ? logFile : rotated(i - 1);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxFiles <= 1) {
+            Files.deleteIfExists(logFile);
+        }
+        openFile();
+    }
+
+    private Path rotated(int index) {
+        return logFile.resolveSibling(logFile.getFileName() + "." + index);
+    }
+
+    private void openFile() {
+        try {
+            Files.createDirectories(logFile.getParent());
+            out = Files.newBufferedWriter(logFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileBytes = Files.size(logFile);
+        } catch (IOException e) {
+            fileFailed(e);
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Nothing left to do with this file
+            }
+            out = null;
+        }
+    }
+
+    private void fileFailed(IOException e) {
+        consoleOut.println("⚠️ Log file " + logFile + " unavailable, logging to console only: " + e.getMessage());
+        out = null;
+    }
+}
@@ -0,0 +1,93 @@
+package org.example;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Short-lived cache of recently verified credentials, so repeated logins on a shared machine
+ * skip the slow password hash. Only an HMAC of the password under a key that never leaves this
+ * process is kept, next to the user id. Entries expire after AUTH_CACHE_SECONDS; the least
+ * recently used ones are dropped beyond MAX_ENTRIES.
+ */
+final class AuthenticationCache {
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+    private static final int MAX_ENTRIES = 1000;
+
+    private final long ttlNanos;
+    private final SecretKeySpec key;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private static final class Entry {
+        final Long userId;
+        final byte[] digest;
+        final long expiresAt;
+
+        Entry(Long userId, byte[] digest, long expiresAt) {
+            this.userId = userId;
+            this.digest = digest;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    AuthenticationCache(int ttlSeconds) {
+        this.ttlNanos = ttlSeconds * 1_000_000_000L;
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+    }
+
+    /**
+     * The user id if these exact credentials were verified recently, otherwise null
+     */
+    Long lookup(String email, String password) {
+        if (ttlNanos == 0) {
+            return null;
+        }
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(email);
+            if (entry != null && System.nanoTime() - entry.expiresAt > 0) {
+                entries.remove(email);
+                entry = null;
+            }
+        }
+        return entry != null && MessageDigest.isEqual(entry.digest, digest(password)) ? entry.userId : null;
+    }
+
+    void put(String email, String password, Long userId) {
+        if (ttlNanos == 0) {
+            return;
+        }
+        Entry entry = new Entry(userId, digest(password), System.nanoTime() + ttlNanos);
+        synchronized (entries) {
+            entries.put(email, entry);
+        }
+    }
+
+    void invalidate(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+        }
+    }
+
+    private byte[] digest(String password) {
+        try {
+            Mac mac = Mac.getInstance(MAC_ALGORITHM);
+            mac.init(key);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -4,6 +4,7 @@ package org.example;
  * Configuration manager that handles environment variables only - no fallbacks
  */
 public class ConfigManager {
+    private static final AppLogger LOG = AppLogger.get("config");
     private static ConfigManager instance;
     
     private ConfigManager() {
@@ -26,7 +27,7 @@ public class ConfigManager {
             throw new IllegalStateException("Environment variable OPENWEATHER_API_KEY is not set or is empty");
         }
         
-        System.out.println("✅ Using API key from environment variable OPENWEATHER_API_KEY");
+        LOG.debug("✅ Using API key from environment variable OPENWEATHER_API_KEY");
         return envApiKey.trim();
     }
     
@@ -39,7 +40,7 @@ public class ConfigManager {
             throw new IllegalStateException("Environment variable DB_USERNAME is not set or is empty");
         }
         
-        System.out.println("✅ Using database username from environment variable DB_USERNAME");
+        LOG.debug("✅ Using database username from environment variable DB_USERNAME");
         return envUsername.trim();
     }
     
@@ -52,7 +53,7 @@ public class ConfigManager {
             throw new IllegalStateException("Environment variable DB_PASSWORD is not set or is empty");
         }
         
-        System.out.println("✅ Using database password from environment variable DB_PASSWORD");
+        LOG.debug("✅ Using database password from environment variable DB_PASSWORD");
         return envPassword.trim();
     }
     
@@ -62,40 +63,205 @@ public class ConfigManager {
     public String getDbUrl() {
         String envDbUrl = System.getenv("DB_URL");
         if (envDbUrl != null && !envDbUrl.trim().isEmpty()) {
-            System.out.println("✅ Using database URL from environment variable DB_URL");
+            LOG.debug("✅ Using database URL from environment variable DB_URL");
             return envDbUrl.trim();
         }
         
         // Default to Oracle XE on localhost
-        System.out.println("⚠️ Using default database URL (jdbc:oracle:thin:@localhost:1521:xe)");
+        LOG.debug("⚠️ Using default database URL (jdbc:oracle:thin:@localhost:1521:xe)");
         return "jdbc:oracle:thin:@localhost:1521:xe";
     }
     
+    /**
+     * Get database profile with default fallback ("oracle", "h2-file" or "h2-mem")
+     */
+    public String getDbProfile() {
+        String envProfile = System.getenv("DB_PROFILE");
+        if (envProfile != null && !envProfile.trim().isEmpty()) {
+            LOG.debug("✅ Using database profile from environment variable DB_PROFILE");
+            return envProfile.trim().toLowerCase();
+        }
+        
+        LOG.debug("⚠️ Using default database profile (oracle)");
+        return "oracle";
+    }
+    
+    /**
+     * Whether Hibernate should compare the mappings against the live schema on startup (DB_SCHEMA_VALIDATE, default false).
+     * Migrations are always checked; this adds a full metadata scan, which is slow on Oracle.
+     */
+    public boolean isDbSchemaValidationEnabled() {
+        String envValidate = System.getenv("DB_SCHEMA_VALIDATE");
+        if (envValidate != null && !envValidate.trim().isEmpty()) {
+            LOG.debug("✅ Using schema validation setting from environment variable DB_SCHEMA_VALIDATE");
+            return Boolean.parseBoolean(envValidate.trim());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Get how many weather updates may queue per bus subscriber before new ones are dropped for it, with default fallback
+     */
+    public int getWeatherUpdateBufferSize() {
+        return getInt("WEATHER_UPDATE_BUFFER", 32, 1, "weather update buffer size");
+    }
+    
+    /**
+     * Get how long ensemble mode waits for each provider before leaving it out, in milliseconds
+     */
+    public int getEnsembleDeadlineMs() {
+        return getInt("ENSEMBLE_DEADLINE_MS", 5000, 100, "ensemble deadline");
+    }
+    
+    /**
+     * Get the overall time a dashboard action (chart refresh, login, list load) may take, in milliseconds
+     */
+    public int getDashboardDeadlineMs() {
+        return getInt("DASHBOARD_DEADLINE_MS", 8000, 500, "dashboard deadline");
+    }
+    
+    /**
+     * Get the longest a single weather or geocoding HTTP attempt may take, in milliseconds
+     */
+    public int getHttpAttemptTimeoutMs() {
+        return getInt("HTTP_ATTEMPT_TIMEOUT_MS", 5000, 100, "HTTP attempt timeout");
+    }
+    
+    /**
+     * Whether derived metrics may use the Vector API when the JVM provides it (METRICS_VECTOR, default true)
+     */
+    public boolean isVectorMetricsEnabled() {
+        String envVector = System.getenv("METRICS_VECTOR");
+        if (envVector != null && !envVector.trim().isEmpty()) {
+            LOG.debug("✅ Using vector metrics setting from environment variable METRICS_VECTOR");
+            return Boolean.parseBoolean(envVector.trim());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Get embedded database file location (h2-file profile) with default fallback
+     */
+    public String getDbEmbeddedPath() {
+        String envPath = System.getenv("DB_EMBEDDED_PATH");
+        if (envPath != null && !envPath.trim().isEmpty()) {
+            LOG.debug("✅ Using embedded database path from environment variable DB_EMBEDDED_PATH");
+            return envPath.trim();
+        }
+        
+        String defaultPath = System.getProperty("user.home") + "/.weather-app/weatherapp";
+        LOG.debug("⚠️ Using default embedded database path (" + defaultPath + ")");
+        return defaultPath;
+    }
+    
     /**
      * Get weather service type with default fallback
      */
     public String getWeatherServiceType() {
         String envServiceType = System.getenv("WEATHER_SERVICE_TYPE");
         if (envServiceType != null && !envServiceType.trim().isEmpty()) {
-            System.out.println("✅ Using weather service type from environment variable WEATHER_SERVICE_TYPE");
+            LOG.debug("✅ Using weather service type from environment variable WEATHER_SERVICE_TYPE");
             return envServiceType.trim();
         }
         
-        System.out.println("⚠️ Using default weather service type (openweathermap)");
+        LOG.debug("⚠️ Using default weather service type (openweathermap)");
         return "openweathermap";
     }
     
+    /**
+     * Get the seed of the synthetic weather provider with default fallback
+     */
+    public long getSyntheticSeed() {
+        String envSeed = System.getenv("SYNTHETIC_SEED");
+        if (envSeed != null && !envSeed.trim().isEmpty()) {
+            try {
+                long seed = Long.parseLong(envSeed.trim());
+                LOG.debug("✅ Using synthetic weather seed from environment variable SYNTHETIC_SEED");
+                return seed;
+            } catch (NumberFormatException e) {
+                LOG.debug("⚠️ Ignoring invalid SYNTHETIC_SEED value: " + envSeed);
+            }
+        }
+        
+        return 42L;
+    }
+    
+    /**
+     * Get how many hours the synthetic provider forecasts, with default fallback
+     */
+    public int getSyntheticForecastHours() {
+        return getInt("SYNTHETIC_FORECAST_HOURS", 120, 1, "synthetic forecast length");
+    }
+    
+    /**
+     * Get the hours between synthetic forecast points, with default fallback
+     */
+    public int getSyntheticStepHours() {
+        return getInt("SYNTHETIC_STEP_HOURS", 3, 1, "synthetic forecast step");
+    }
+    
+    /**
+     * Get the median synthetic response latency in milliseconds, with default fallback
+     */
+    public int getSyntheticLatencyMedianMs() {
+        return getInt("SYNTHETIC_LATENCY_MS", 120, 0, "synthetic median latency");
+    }
+    
+    /**
+     * Get the 99th percentile synthetic response latency in milliseconds, with default fallback
+     */
+    public int getSyntheticLatencyP99Ms() {
+        return getInt("SYNTHETIC_LATENCY_P99_MS", 600, 0, "synthetic p99 latency");
+    }
+    
+    /**
+     * Get the share of synthetic requests that fail with a server error (0 to 1), with default fallback
+     */
+    public double getSyntheticErrorRate() {
+        return getRate("SYNTHETIC_ERROR_RATE", "synthetic error rate");
+    }
+    
+    /**
+     * Get the share of synthetic requests that hang and time out (0 to 1), with default fallback
+     */
+    public double getSyntheticTimeoutRate() {
+        return getRate("SYNTHETIC_TIMEOUT_RATE", "synthetic timeout rate");
+    }
+    
+    /**
+     * Get how long a synthetic request hangs before timing out, in milliseconds, with default fallback
+     */
+    public int getSyntheticTimeoutMs() {
+        return getInt("SYNTHETIC_TIMEOUT_MS", 10000, 0, "synthetic timeout");
+    }
+    
+    /**
+     * Get the share of synthetic responses that trickle in slowly (0 to 1), with default fallback
+     */
+    public double getSyntheticSlowDripRate() {
+        return getRate("SYNTHETIC_SLOW_DRIP_RATE", "synthetic slow drip rate");
+    }
+    
+    /**
+     * Get the delay per forecast point of a slow-drip response, in milliseconds, with default fallback
+     */
+    public int getSyntheticSlowDripMs() {
+        return getInt("SYNTHETIC_SLOW_DRIP_MS", 100, 0, "synthetic slow drip delay");
+    }
+    
     /**
      * Get weather API base URL with default fallback
      */
     public String getWeatherApiBaseUrl() {
         String envBaseUrl = System.getenv("WEATHER_API_BASE_URL");
         if (envBaseUrl != null && !envBaseUrl.trim().isEmpty()) {
-            System.out.println("✅ Using weather API base URL from environment variable WEATHER_API_BASE_URL");
+            LOG.debug("✅ Using weather API base URL from environment variable WEATHER_API_BASE_URL");
             return envBaseUrl.trim();
         }
         
-        System.out.println("⚠️ Using default weather API base URL (https://api.openweathermap.org/data/2.5)");
+        LOG.debug("⚠️ Using default weather API base URL (https://api.openweathermap.org/data/2.5)");
         return "https://api.openweathermap.org/data/2.5";
     }
     
@@ -105,14 +271,316 @@ public class ConfigManager {
     public String getWeatherApiGeocodingUrl() {
         String envGeocodingUrl = System.getenv("WEATHER_API_GEOCODING_URL");
         if (envGeocodingUrl != null && !envGeocodingUrl.trim().isEmpty()) {
-            System.out.println("✅ Using weather API geocoding URL from environment variable WEATHER_API_GEOCODING_URL");
+            LOG.debug("✅ Using weather API geocoding URL from environment variable WEATHER_API_GEOCODING_URL");
             return envGeocodingUrl.trim();
         }
         
-        System.out.println("⚠️ Using default weather API geocoding URL (https://api.openweathermap.org/geo/1.0/direct)");
+        LOG.debug("⚠️ Using default weather API geocoding URL (https://api.openweathermap.org/geo/1.0/direct)");
         return "https://api.openweathermap.org/geo/1.0/direct";
     }
     
+    /**
+     * Get dashboard chart render mode with default fallback ("standard" or "canvas")
+     */
+    public String getChartRenderMode() {
+        String envRenderMode = System.getenv("CHART_RENDER_MODE");
+        if (envRenderMode != null && !envRenderMode.trim().isEmpty()) {
+            LOG.debug("✅ Using chart render mode from environment variable CHART_RENDER_MODE");
+            return envRenderMode.trim().toLowerCase();
+        }
+        
+        LOG.debug("⚠️ Using default chart render mode (standard)");
+        return "standard";
+    }
+    
+    /**
+     * Get the maximum number of locations overlaid on one chart with default fallback
+     */
+    public int getMaxOverlayLocations() {
+        return getInt("CHART_MAX_OVERLAY_LOCATIONS", 5, 1, "chart overlay limit");
+    }
+    
+    /**
+     * Get how long the dashboard waits for selection or unit changes to settle before fetching, in milliseconds
+     */
+    public int getChartRefreshDelayMs() {
+        return getInt("CHART_REFRESH_DELAY_MS", 100, 0, "chart refresh delay");
+    }
+    
+    /**
+     * Get how many saved locations the dashboard loads per page with default fallback
+     */
+    public int getLocationPageSize() {
+        return getInt("LOCATION_PAGE_SIZE", 200, 10, "location page size");
+    }
+    
+    /**
+     * Get minimum number of idle pooled database connections with default fallback
+     */
+    public int getDbPoolMinIdle() {
+        return getInt("DB_POOL_MIN_IDLE", 2, 0, "database pool minimum idle");
+    }
+    
+    /**
+     * Get maximum number of pooled database connections with default fallback
+     */
+    public int getDbPoolMaxSize() {
+        return getInt("DB_POOL_MAX_SIZE", 10, 1, "database pool maximum size");
+    }
+    
+    /**
+     * Get how long a caller may wait for a pooled connection, in milliseconds, with default fallback
+     */
+    public int getDbPoolConnectionTimeoutMs() {
+        return getInt("DB_POOL_CONNECTION_TIMEOUT_MS", 5000, 250, "database pool connection timeout");
+    }
+    
+    /**
+     * Get how long a connection may be held before it is reported as leaked, in milliseconds (0 disables)
+     */
+    public int getDbPoolLeakDetectionMs() {
+        return getInt("DB_POOL_LEAK_DETECTION_MS", 10000, 0, "database pool leak detection threshold");
+    }
+    
+    /**
+     * Get how often connection pool metrics are logged, in seconds (0 logs them only on exit)
+     */
+    public int getDbMetricsIntervalSeconds() {
+        return getInt("DB_METRICS_INTERVAL_SECONDS", 300, 0, "database metrics interval");
+    }
+    
+    /**
+     * Get how often buffered preference writes are flushed, in milliseconds, with default fallback
+     */
+    public int getPreferenceFlushIntervalMs() {
+        return getInt("PREFERENCE_FLUSH_INTERVAL_MS", 500, 10, "preference flush interval");
+    }
+    
+    /**
+     * Get the directory holding per-user dashboard snapshots with default fallback
+     */
+    public String getSnapshotDirectory() {
+        String envDir = System.getenv("SNAPSHOT_DIR");
+        if (envDir != null && !envDir.trim().isEmpty()) {
+            LOG.debug("✅ Using snapshot directory from environment variable SNAPSHOT_DIR");
+            return envDir.trim();
+        }
+        
+        String defaultDir = System.getProperty("user.home") + "/.weather-app/snapshots";
+        LOG.debug("⚠️ Using default snapshot directory (" + defaultDir + ")");
+        return defaultDir;
+    }
+    
+    /**
+     * Get the directory holding the shared forecast cache with default fallback
+     */
+    public String getForecastCacheDirectory() {
+        String envDir = System.getenv("FORECAST_CACHE_DIR");
+        if (envDir != null && !envDir.trim().isEmpty()) {
+            LOG.debug("✅ Using forecast cache directory from environment variable FORECAST_CACHE_DIR");
+            return envDir.trim();
+        }
+        
+        String defaultDir = System.getProperty("user.home") + "/.weather-app/forecasts";
+        LOG.debug("⚠️ Using default forecast cache directory (" + defaultDir + ")");
+        return defaultDir;
+    }
+    
+    /**
+     * Get how long a cached forecast is served before it is fetched again, in minutes (0 disables the cache)
+     */
+    public int getForecastCacheMinutes() {
+        return getInt("FORECAST_CACHE_MINUTES", 0, 0, "forecast cache lifetime");
+    }
+    
+    /**
+     * Get how many forecasts the cache warm-up job fetches at once
+     */
+    public int getWarmUpParallelism() {
+        return getInt("WARMUP_PARALLELISM", 4, 1, "warm-up parallelism");
+    }
+    
+    /**
+     * Get how many forecasts per minute the cache warm-up job may request, to stay within the API quota
+     */
+    public int getWarmUpRequestsPerMinute() {
+        return getInt("WARMUP_REQUESTS_PER_MINUTE", 60, 1, "warm-up request rate");
+    }
+    
+    /**
+     * Get the PBKDF2 iteration count for password hashes, with default fallback
+     */
+    public int getPasswordHashIterations() {
+        return getInt("PASSWORD_HASH_ITERATIONS", 600_000, 10_000, "password hash iterations");
+    }
+    
+    /**
+     * Get how long verified credentials are remembered, in seconds (0 = always hash), with default fallback
+     */
+    public int getAuthCacheSeconds() {
+        return getInt("AUTH_CACHE_SECONDS", 300, 0, "authentication cache lifetime");
+    }
+    
+    /**
+     * Get how often the open dashboard is snapshotted, in seconds (0 = only on exit), with default fallback
+     */
+    public int getSnapshotIntervalSeconds() {
+        return getInt("SNAPSHOT_INTERVAL_SECONDS", 60, 0, "snapshot interval");
+    }
+    
+    /**
+     * Get how often alert rules are checked against every saved location's cached forecast, in minutes
+     * (0 = only at login; also only at login while FORECAST_CACHE_MINUTES is 0), with default fallback
+     */
+    public int getAlertRefreshMinutes() {
+        return getInt("ALERT_REFRESH_MINUTES", 30, 0, "alert refresh interval");
+    }
+    
+    /**
+     * Get log level with default fallback (TRACE, DEBUG, INFO, WARN or ERROR)
+     */
+    public AppLogger.Level getLogLevel() {
+        String envLevel = System.getenv("LOG_LEVEL");
+        if (envLevel != null && !envLevel.trim().isEmpty()) {
+            try {
+                LOG.debug("✅ Using log level from environment variable LOG_LEVEL");
+                return AppLogger.Level.valueOf(envLevel.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                LOG.debug("⚠️ Ignoring invalid LOG_LEVEL value: " + envLevel);
+            }
+        }
+        
+        LOG.debug("⚠️ Using default log level (INFO)");
+        return AppLogger.Level.INFO;
+    }
+    
+    /**
+     * Get log file directory with default fallback
+     */
+    public String getLogDirectory() {
+        String envDir = System.getenv("LOG_DIR");
+        if (envDir != null && !envDir.trim().isEmpty()) {
+            LOG.debug("✅ Using log directory from environment variable LOG_DIR");
+            return envDir.trim();
+        }
+        
+        String defaultDir = System.getProperty("user.home") + "/.weather-app/logs";
+        LOG.debug("⚠️ Using default log directory (" + defaultDir + ")");
+        return defaultDir;
+    }
+    
+    /**
+     * Get the size at which the log file is rotated, in megabytes, with default fallback
+     */
+    public int getLogMaxFileMb() {
+        return getInt("LOG_MAX_FILE_MB", 5, 1, "log file size limit");
+    }
+    
+    /**
+     * Get how many log files (current plus rotated) are kept, with default fallback
+     */
+    public int getLogMaxFiles() {
+        return getInt("LOG_MAX_FILES", 3, 1, "log file count");
+    }
+    
+    /**
+     * Get the share of user actions that are traced (0 to 1, 0 = tracing off), with default fallback
+     */
+    public double getTraceSampleRate() {
+        return getRate("TRACE_SAMPLE_RATE", "trace sample rate");
+    }
+    
+    /**
+     * Get trace directory with default fallback
+     */
+    public String getTraceDirectory() {
+        String envDir = System.getenv("TRACE_DIR");
+        if (envDir != null && !envDir.trim().isEmpty()) {
+            LOG.debug("✅ Using trace directory from environment variable TRACE_DIR");
+            return envDir.trim();
+        }
+        
+        String defaultDir = System.getProperty("user.home") + "/.weather-app/traces";
+        LOG.debug("⚠️ Using default trace directory (" + defaultDir + ")");
+        return defaultDir;
+    }
+    
+    /**
+     * Get the size at which the trace file is rotated, in megabytes, with default fallback
+     */
+    public int getTraceMaxFileMb() {
+        return getInt("TRACE_MAX_FILE_MB", 10, 1, "trace file size limit");
+    }
+    
+    /**
+     * Whether log records are also written to the console (LOG_CONSOLE, default true)
+     */
+    public boolean isLogConsoleEnabled() {
+        String envConsole = System.getenv("LOG_CONSOLE");
+        if (envConsole != null && !envConsole.trim().isEmpty()) {
+            LOG.debug("✅ Using console logging setting from environment variable LOG_CONSOLE");
+            return Boolean.parseBoolean(envConsole.trim());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Whether Hibernate prints the SQL it executes (LOG_SQL, default false)
+     */
+    public boolean isSqlLoggingEnabled() {
+        String envSql = System.getenv("LOG_SQL");
+        if (envSql != null && !envSql.trim().isEmpty()) {
+            LOG.debug("✅ Using SQL logging setting from environment variable LOG_SQL");
+            return Boolean.parseBoolean(envSql.trim());
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Read an integer environment variable, falling back to the default when unset or below the minimum
+     */
+    private int getInt(String variable, int defaultValue, int minimum, String description) {
+        String envValue = System.getenv(variable);
+        if (envValue != null && !envValue.trim().isEmpty()) {
+            try {
+                int value = Integer.parseInt(envValue.trim());
+                if (value >= minimum) {
+                    LOG.debug("✅ Using " + description + " from environment variable " + variable);
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the default
+            }
+            LOG.debug("⚠️ Ignoring invalid " + variable + " value: " + envValue);
+        }
+        
+        LOG.debug("⚠️ Using default " + description + " (" + defaultValue + ")");
+        return defaultValue;
+    }
+    
+    /**
+     * Read a probability environment variable (0 to 1), falling back to 0 when unset or invalid
+     */
+    private double getRate(String variable, String description) {
+        String envValue = System.getenv(variable);
+        if (envValue != null && !envValue.trim().isEmpty()) {
+            try {
+                double value = Double.parseDouble(envValue.trim());
+                if (value >= 0 && value <= 1) {
+                    LOG.debug("✅ Using " + description + " from environment variable " + variable);
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                // Fall through to the default
+            }
+            LOG.debug("⚠️ Ignoring invalid " + variable + " value: " + envValue);
+        }
+        
+        return 0.0;
+    }
+    
     /**
      * Print current configuration status - environment variables only
      */
@@ -130,6 +598,12 @@ public class ConfigManager {
         
         try {
             // Database status
+            System.out.println("✅ DB Profile: " + getDbProfile());
+        } catch (IllegalStateException e) {
+            System.out.println("❌ DB Profile: " + e.getMessage());
+        }
+        
+        try {
             System.out.println("✅ DB Username: " + getDbUsername());
         } catch (IllegalStateException e) {
             System.out.println("❌ DB Username: " + e.getMessage());
@@ -166,16 +640,88 @@ public class ConfigManager {
             System.out.println("❌ Weather API Geocoding URL: " + e.getMessage());
         }
         
+        try {
+            System.out.println("✅ Chart Render Mode: " + getChartRenderMode());
+        } catch (IllegalStateException e) {
+            System.out.println("❌ Chart Render Mode: " + e.getMessage());
+        }
+        
+        try {
+            System.out.println("✅ Chart Overlay Limit: " + getMaxOverlayLocations());
+        } catch (IllegalStateException e) {
+            System.out.println("❌ Chart Overlay Limit: " + e.getMessage());
+        }
+        
+        try {
+            System.out.println("✅ Chart Refresh Delay: " + getChartRefreshDelayMs() + " ms");
+        } catch (IllegalStateException e) {
+            System.out.println("❌ Chart Refresh Delay: " + e.getMessage());
+        }
+        
+        try {
+            System.out.println("✅ Location Page Size: " + getLocationPageSize());
+        } catch (IllegalStateException e) {
+            System.out.println("❌ Location Page Size: " + e.getMessage());
+        }
+        
+        try {
+            System.out.println("✅ DB Pool: min idle " + getDbPoolMinIdle() + ", max size " + getDbPoolMaxSize()
+                + ", timeout " + getDbPoolConnectionTimeoutMs() + " ms, leak detection " + getDbPoolLeakDetectionMs() + " ms");
+        } catch (IllegalStateException e) {
+            System.out.println("❌ DB Pool: " + e.getMessage());
+        }
+        
+        try {
+            System.out.println("✅ Password Hashing: PBKDF2, " + getPasswordHashIterations() + " iterations, credentials cached "
+                + getAuthCacheSeconds() + " s");
+        } catch (IllegalStateException e) {
+            System.out.println("❌ Password Hashing: " + e.getMessage());
+        }
+        
         System.out.println("=====================================================");
         System.out.println("Required Environment Variables:");
         System.out.println("- OPENWEATHER_API_KEY (for weather data)");
-        System.out.println("- DB_USERNAME (for database connection)");
-        System.out.println("- DB_PASSWORD (for database connection)");
+        System.out.println("- DB_USERNAME (for database connection, not needed for the h2 profiles)");
+        System.out.println("- DB_PASSWORD (for database connection, not needed for the h2 profiles)");
         System.out.println("");
         System.out.println("Optional Environment Variables (with defaults):");
+        System.out.println("- DB_PROFILE (oracle, h2-file or h2-mem, defaults to oracle)");
+        System.out.println("- DB_EMBEDDED_PATH (h2-file database location, defaults to ~/.weather-app/weatherapp)");
+        System.out.println("- DB_SCHEMA_VALIDATE (true to validate mappings against the schema on startup, defaults to false)");
+        System.out.println("- METRICS_VECTOR (false to compute derived metrics without the Vector API, defaults to true)");
+        System.out.println("- LOG_LEVEL (TRACE, DEBUG, INFO, WARN or ERROR, defaults to INFO)");
+        System.out.println("- LOG_DIR (defaults to ~/.weather-app/logs)");
+        System.out.println("- LOG_MAX_FILE_MB / LOG_MAX_FILES (log rotation, default 5 MB x 3 files)");
+        System.out.println("- LOG_CONSOLE (false to log to the file only, defaults to true)");
+        System.out.println("- LOG_SQL (true to print Hibernate SQL, defaults to false)");
+        System.out.println("- TRACE_SAMPLE_RATE (share of user actions traced to TRACE_DIR in OTLP JSON, 0 to 1, defaults to 0)");
+        System.out.println("- TRACE_DIR / TRACE_MAX_FILE_MB (defaults to ~/.weather-app/traces, 10 MB)");
         System.out.println("- DB_URL (defaults to jdbc:oracle:thin:@localhost:1521:xe)");
-        System.out.println("- WEATHER_SERVICE_TYPE (defaults to openweathermap)");
+        System.out.println("- WEATHER_SERVICE_TYPE (openweathermap, ensemble to merge both providers, or synthetic for offline testing, defaults to openweathermap)");
+        System.out.println("- ENSEMBLE_DEADLINE_MS (defaults to 5000)");
+        System.out.println("- DASHBOARD_DEADLINE_MS (worst-case time for a chart refresh, login or list load, defaults to 8000)");
+        System.out.println("- HTTP_ATTEMPT_TIMEOUT_MS (cap on one weather or geocoding request within that deadline, defaults to 5000)");
+        System.out.println("- FORECAST_CACHE_MINUTES (serve forecasts from FORECAST_CACHE_DIR for this long, 0 disables, defaults to 0)");
+        System.out.println("- FORECAST_CACHE_DIR (defaults to ~/.weather-app/forecasts)");
+        System.out.println("- WARMUP_PARALLELISM / WARMUP_REQUESTS_PER_MINUTE (ForecastCacheWarmUp fetch limits, defaults to 4, 60)");
+        System.out.println("- WEATHER_UPDATE_BUFFER (forecast updates queued per subscriber before dropping, defaults to 32)");
+        System.out.println("- SYNTHETIC_* (synthetic provider seed, latency and fault injection, see ENVIRONMENT_SETUP_GUIDE.md)");
         System.out.println("- WEATHER_API_BASE_URL (defaults to https://api.openweathermap.org/data/2.5)");
         System.out.println("- WEATHER_API_GEOCODING_URL (defaults to https://api.openweathermap.org/geo/1.0/direct)");
+        System.out.println("- CHART_RENDER_MODE (standard or canvas, defaults to standard)");
+        System.out.println("- CHART_MAX_OVERLAY_LOCATIONS (defaults to 5)");
+        System.out.println("- CHART_REFRESH_DELAY_MS (defaults to 100)");
+        System.out.println("- LOCATION_PAGE_SIZE (defaults to 200)");
+        System.out.println("- DB_POOL_MIN_IDLE (defaults to 2)");
+        System.out.println("- DB_POOL_MAX_SIZE (defaults to 10)");
+        System.out.println("- DB_POOL_CONNECTION_TIMEOUT_MS (defaults to 5000)");
+        System.out.println("- DB_METRICS_INTERVAL_SECONDS (how often pool wait times are logged, 0 only on exit, defaults to 300)");
+        System.out.println("- DB_POOL_LEAK_DETECTION_MS (defaults to 10000, 0 disables)");
+        System.out.println("- PREFERENCE_FLUSH_INTERVAL_MS (defaults to 500)");
+        System.out.println("- PASSWORD_HASH_ITERATIONS (PBKDF2 cost for new and upgraded password hashes, defaults to 600000)");
+        System.out.println("- AUTH_CACHE_SECONDS (how long repeated logins skip the password hash, defaults to 300, 0 disables)");
+        System.out.println("- SNAPSHOT_DIR (dashboard snapshots for instant login, defaults to ~/.weather-app/snapshots)");
+        System.out.println("- SNAPSHOT_INTERVAL_SECONDS (defaults to 60, 0 writes snapshots on exit only)");
+        System.out.println("- ALERT_REFRESH_MINUTES (how often alerts are checked against every saved location's cached forecast, defaults to 30, 0 or no forecast cache: only at login)");
     }
 }
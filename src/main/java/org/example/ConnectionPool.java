@@ -0,0 +1,197 @@
+package org.example;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HikariCP connection pool handed to Hibernate as its DataSource.
+ * Sizing, borrow timeout and leak detection come from ConfigManager; connections idle for
+ * longer than Hikari's bypass window are validated with {@code Connection.isValid} on borrow.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private static final AppLogger LOG = AppLogger.get("db.pool");
+
+    private final HikariDataSource dataSource;
+    private final int minIdle;
+
+    // Wait-time metrics fed by Hikari's metrics tracker
+    private final LongAdder acquireCount = new LongAdder();
+    private final LongAdder acquireNanos = new LongAdder();
+    private final LongAccumulator maxAcquireNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder usageMillis = new LongAdder();
+
+    public ConnectionPool(String url, String username, String password) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.minIdle = Math.min(config.getDbPoolMinIdle(), config.getDbPoolMaxSize());
+
+        HikariConfig hikari = new HikariConfig();
+        hikari.setPoolName("weather-app-db");
+        hikari.setJdbcUrl(url);
+        hikari.setUsername(username);
+        hikari.setPassword(password);
+        hikari.setMinimumIdle(minIdle);
+        hikari.setMaximumPoolSize(config.getDbPoolMaxSize());
+        hikari.setConnectionTimeout(config.getDbPoolConnectionTimeoutMs());
+        hikari.setValidationTimeout(Math.min(3000, config.getDbPoolConnectionTimeoutMs()));
+        hikari.setLeakDetectionThreshold(config.getDbPoolLeakDetectionMs());
+        hikari.setAutoCommit(false); // matches hibernate.connection.autocommit=false
+        hikari.setMetricsTrackerFactory(new WaitTimeTrackerFactory());
+
+        this.dataSource = new HikariDataSource(hikari);
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    /**
+     * Open the minimum idle connections up front, in parallel, so the first queries
+     * after startup do not pay connection setup cost
+     */
+    public void warmUp() {
+        long start = System.nanoTime();
+        List<Thread> threads = new ArrayList<>(minIdle);
+        List<Connection> borrowed = new ArrayList<>(minIdle);
+        for (int i = 0; i < minIdle; i++) {
+            threads.add(Thread.ofVirtual().start(() -> {
+                try {
+                    Connection connection = dataSource.getConnection();
+                    synchronized (borrowed) {
+                        borrowed.add(connection);
+                    }
+                } catch (SQLException e) {
+                    LOG.warn("⚠️ Connection pool warm-up failed: " + e.getMessage());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        // Hold all of them at once so the pool really grows to minIdle, then return them
+        synchronized (borrowed) {
+            for (Connection connection : borrowed) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    // Returning to the pool; nothing to do
+                }
+            }
+        }
+        LOG.info("✅ Connection pool warmed up with " + borrowed.size() + " connection(s) in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    public PoolMetrics getMetrics() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        long count = acquireCount.sum();
+        return new PoolMetrics(
+            pool != null ? pool.getActiveConnections() : 0,
+            pool != null ? pool.getIdleConnections() : 0,
+            pool != null ? pool.getTotalConnections() : 0,
+            pool != null ? pool.getThreadsAwaitingConnection() : 0,
+            count,
+            count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(acquireNanos.sum() / count),
+            TimeUnit.NANOSECONDS.toMicros(maxAcquireNanos.get()),
+            timeoutCount.sum(),
+            count == 0 ? 0 : usageMillis.sum() / count
+        );
+    }
+
+    @Override
+    public void close() {
+        if (!dataSource.isClosed()) {
+            LOG.info("📊 " + getMetrics());
+            dataSource.close();
+        }
+    }
+
+    private class WaitTimeTrackerFactory implements MetricsTrackerFactory {
+        @Override
+        public IMetricsTracker create(String poolName, PoolStats poolStats) {
+            return new IMetricsTracker() {
+                @Override
+                public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                    acquireCount.increment();
+                    acquireNanos.add(elapsedAcquiredNanos);
+                    maxAcquireNanos.accumulate(elapsedAcquiredNanos);
+                }
+
+                @Override
+                public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                    usageMillis.add(elapsedBorrowedMillis);
+                }
+
+                @Override
+                public void recordConnectionTimeout() {
+                    timeoutCount.increment();
+                }
+            };
+        }
+    }
+
+    /**
+     * Point-in-time view of pool occupancy and borrow wait times
+     */
+    public static class PoolMetrics {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final int totalConnections;
+        private final int threadsAwaiting;
+        private final long acquireCount;
+        private final long averageWaitMicros;
+        private final long maxWaitMicros;
+        private final long timeouts;
+        private final long averageUsageMillis;
+
+        public PoolMetrics(int activeConnections, int idleConnections, int totalConnections, int threadsAwaiting,
+                           long acquireCount, long averageWaitMicros, long maxWaitMicros, long timeouts,
+                           long averageUsageMillis) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.totalConnections = totalConnections;
+            this.threadsAwaiting = threadsAwaiting;
+            this.acquireCount = acquireCount;
+            this.averageWaitMicros = averageWaitMicros;
+            this.maxWaitMicros = maxWaitMicros;
+            this.timeouts = timeouts;
+            this.averageUsageMillis = averageUsageMillis;
+        }
+
+        // Getters
+        public int getActiveConnections() { return activeConnections; }
+        public int getIdleConnections() { return idleConnections; }
+        public int getTotalConnections() { return totalConnections; }
+        public int getThreadsAwaiting() { return threadsAwaiting; }
+        public long getAcquireCount() { return acquireCount; }
+        public long getAverageWaitMicros() { return averageWaitMicros; }
+        public long getMaxWaitMicros() { return maxWaitMicros; }
+        public long getTimeouts() { return timeouts; }
+        public long getAverageUsageMillis() { return averageUsageMillis; }
+
+        @Override
+        public String toString() {
+            return String.format("DB pool: %d active, %d idle, %d total, %d waiting | %d borrows, avg wait %d µs, max wait %d µs, %d timeouts, avg hold %d ms",
+                activeConnections, idleConnections, totalConnections, threadsAwaiting,
+                acquireCount, averageWaitMicros, maxWaitMicros, timeouts, averageUsageMillis);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package org.example;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Per-location, per-day aggregates (temperature min/max/mean, maximum wind, mean humidity,
+ * total precipitation, dominant condition) maintained incrementally as forecast or observation
+ * points arrive.
+ * <p>
+ * Each day keeps one slot per local hour. A new point only adjusts its day's running sums and
+ * extremes; a point that replaces an earlier value for the same hour is subtracted first, and
+ * only when it was that day's extreme are the day's 24 slots scanned again. Points identical to
+ * what is already stored change nothing, and each day's DaySummary is an immutable snapshot
+ * rebuilt only after that day changed, so a refresh that brings the same forecast hands the UI
+ * the very same objects.
+ */
+public class DailyRollups<K> {
+    private static final int SLOTS_PER_DAY = 24;
+
+    private final ZoneId zone;
+    private final Map<K, NavigableMap<Long, DayAccumulator>> rollups = new HashMap<>();
+
+    public DailyRollups() {
+        this(ZoneId.systemDefault());
+    }
+
+    public DailyRollups(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Fold every point of a forecast into the location's days
+     */
+    public synchronized void addForecast(K key, ForecastColumns columns) {
+        NavigableMap<Long, DayAccumulator> days = daysOf(key);
+        long[] times = columns.getEpochSeconds();
+        double[] temperature = columns.getTemperature();
+        double[] humidity = columns.getHumidity();
+        double[] windSpeed = columns.getWindSpeed();
+        double[] precipitation = columns.getPrecipitation();
+        String[] conditions = columns.getConditions();
+        for (int i = 0; i < times.length; i++) {
+            put(days, times[i], temperature[i], humidity[i], windSpeed[i], precipitation[i], conditions[i]);
+        }
+    }
+
+    /**
+     * Fold in one point (°C, %, km/h, mm)
+     */
+    public synchronized void add(K key, long epochSecond, double temperature, double humidity,
+                                 double windSpeed, double precipitation, String condition) {
+        put(daysOf(key), epochSecond, temperature, humidity, windSpeed, precipitation, condition);
+    }
+
+    /**
+     * Summaries from today onwards, oldest first
+     */
+    public synchronized List<DaySummary> getDays(K key) {
+        NavigableMap<Long, DayAccumulator> days = rollups.get(key);
+        if (days == null) {
+            return List.of();
+        }
+        Collection<DayAccumulator> upcoming = days.tailMap(LocalDate.now(zone).toEpochDay(), true).values();
+        List<DaySummary> summaries = new ArrayList<>(upcoming.size());
+        for (DayAccumulator day : upcoming) {
+            summaries.add(day.summary());
+        }
+        return summaries;
+    }
+
+    public synchronized void remove(K key) {
+        rollups.remove(key);
+    }
+
+    /**
+     * Drop every location not in keys
+     */
+    public synchronized void retainAll(Collection<? extends K> keys) {
+        Set<K> keep = new HashSet<>(keys);
+        rollups.keySet().retainAll(keep);
+    }
+
+    private NavigableMap<Long, DayAccumulator> daysOf(K key) {
+        NavigableMap<Long, DayAccumulator> days = rollups.computeIfAbsent(key, k -> new TreeMap<>());
+        // Keep yesterday for late observations, forget anything older
+        days.headMap(LocalDate.now(zone).toEpochDay() - 1, false).clear();
+        return days;
+    }
+
+    private void put(NavigableMap<Long, DayAccumulator> days, long epochSecond, double temperature, double humidity,
+                     double windSpeed, double precipitation, String condition) {
+        long local = epochSecond + zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        long epochDay = Math.floorDiv(local, 86400);
+        int slot = (int) (Math.floorMod(local, 86400) / 3600);
+        days.computeIfAbsent(epochDay, DayAccumulator::new)
+            .put(slot, temperature, humidity, windSpeed, precipitation, condition);
+    }
+
+    /**
+     * Running aggregates for one local day
+     */
+    private static final class DayAccumulator {
+        private final long epochDay;
+        private final boolean[] present = new boolean[SLOTS_PER_DAY];
+        private final double[] temperature = new double[SLOTS_PER_DAY];
+        private final double[] humidity = new double[SLOTS_PER_DAY];
+        private final double[] windSpeed = new double[SLOTS_PER_DAY];
+        private final double[] precipitation = new double[SLOTS_PER_DAY];
+        private final String[] condition = new String[SLOTS_PER_DAY];
+        private final Map<String, Integer> conditionCounts = new HashMap<>();
+        private int count;
+        private double temperatureSum;
+        private double humiditySum;
+        private double precipitationSum;
+        private double minTemperature = Double.POSITIVE_INFINITY;
+        private double maxTemperature = Double.NEGATIVE_INFINITY;
+        private double maxWindSpeed = Double.NEGATIVE_INFINITY;
+        private String dominantCondition;
+        private int dominantCount;
+        private DaySummary summary;
+
+        DayAccumulator(long epochDay) {
+            this.epochDay = epochDay;
+        }
+
+        void put(int slot, double newTemperature, double newHumidity, double newWindSpeed,
+                 double newPrecipitation, String newCondition) {
+            boolean rescanExtremes = false;
+            boolean rescanCondition = false;
+            if (present[slot]) {
+                if (temperature[slot] == newTemperature && humidity[slot] == newHumidity
+                        && windSpeed[slot] == newWindSpeed && precipitation[slot] == newPrecipitation
+                        && equal(condition[slot], newCondition)) {
+                    return;
+                }
+                // Take the old value out; extremes cannot be un-applied, so re-derive them if it was one
+                count--;
+                temperatureSum -= temperature[slot];
+                humiditySum -= humidity[slot];
+                precipitationSum -= precipitation[slot];
+                rescanExtremes = temperature[slot] == minTemperature || temperature[slot] == maxTemperature
+                    || windSpeed[slot] == maxWindSpeed;
+                if (condition[slot] != null) {
+                    conditionCounts.merge(condition[slot], -1, Integer::sum);
+                    rescanCondition = condition[slot].equals(dominantCondition);
+                }
+            }
+
+            present[slot] = true;
+            temperature[slot] = newTemperature;
+            humidity[slot] = newHumidity;
+            windSpeed[slot] = newWindSpeed;
+            precipitation[slot] = newPrecipitation;
+            condition[slot] = newCondition;
+            count++;
+            temperatureSum += newTemperature;
+            humiditySum += newHumidity;
+            precipitationSum += newPrecipitation;
+
+            if (rescanExtremes) {
+                rescanExtremes();
+            } else {
+                minTemperature = Math.min(minTemperature, newTemperature);
+                maxTemperature = Math.max(maxTemperature, newTemperature);
+                maxWindSpeed = Math.max(maxWindSpeed, newWindSpeed);
+            }
+            if (newCondition != null) {
+                int conditionCount = conditionCounts.merge(newCondition, 1, Integer::sum);
+                if (!rescanCondition && conditionCount > dominantCount) {
+                    dominantCondition = newCondition;
+                    dominantCount = conditionCount;
+                }
+            }
+            if (rescanCondition) {
+                rescanCondition();
+            }
+            summary = null;
+        }
+
+        private void rescanExtremes() {
+            minTemperature = Double.POSITIVE_INFINITY;
+            maxTemperature = Double.NEGATIVE_INFINITY;
+            maxWindSpeed = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < SLOTS_PER_DAY; i++) {
+                if (present[i]) {
+                    minTemperature = Math.min(minTemperature, temperature[i]);
+                    maxTemperature = Math.max(maxTemperature, temperature[i]);
+                    maxWindSpeed = Math.max(maxWindSpeed, windSpeed[i]);
+                }
+            }
+        }
+
+        private void rescanCondition() {
+            dominantCondition = null;
+            dominantCount = 0;
+            for (Map.Entry<String, Integer> entry : conditionCounts.entrySet()) {
+                if (entry.getValue() > dominantCount) {
+                    dominantCondition = entry.getKey();
+                    dominantCount = entry.getValue();
+                }
+            }
+        }
+
+        DaySummary summary() {
+            if (summary == null) {
+                summary = new DaySummary(LocalDate.ofEpochDay(epochDay), minTemperature, maxTemperature,
+                    temperatureSum / count, maxWindSpeed, humiditySum / count, precipitationSum,
+                    dominantCondition, count);
+            }
+            return summary;
+        }
+
+        private static boolean equal(String a, String b) {
+            return a == null ? b == null : a.equals(b);
+        }
+    }
+
+    /**
+     * Aggregates for one day in °C, km/h, % and mm
+     */
+    public static final class DaySummary {
+        private final LocalDate date;
+        private final double minTemperature;
+        private final double maxTemperature;
+        private final double meanTemperature;
+        private final double maxWindSpeed;
+        private final double meanHumidity;
+        private final double totalPrecipitation;
+        private final String dominantCondition;
+        private final int pointCount;
+
+        public DaySummary(LocalDate date, double minTemperature, double maxTemperature, double meanTemperature,
+                          double maxWindSpeed, double meanHumidity, double totalPrecipitation,
+                          String dominantCondition, int pointCount) {
+            this.date = date;
+            this.minTemperature = minTemperature;
+            this.maxTemperature = maxTemperature;
+            this.meanTemperature = meanTemperature;
+            this.maxWindSpeed = maxWindSpeed;
+            this.meanHumidity = meanHumidity;
+            this.totalPrecipitation = totalPrecipitation;
+            this.dominantCondition = dominantCondition;
+            this.pointCount = pointCount;
+        }
+
+        // Getters
+        public LocalDate getDate() { return date; }
+        public double getMinTemperature() { return minTemperature; }
+        public double getMaxTemperature() { return maxTemperature; }
+        public double getMeanTemperature() { return meanTemperature; }
+        public double getMaxWindSpeed() { return maxWindSpeed; }
+        public double getMeanHumidity() { return meanHumidity; }
+        public double getTotalPrecipitation() { return totalPrecipitation; }
+        public String getDominantCondition() { return dominantCondition; }
+        public int getPointCount() { return pointCount; }
+    }
+}
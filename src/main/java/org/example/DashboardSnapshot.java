@@ -0,0 +1,301 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * What a user's dashboard showed last time: profile, preferences, saved locations, selected
+ * rows and the last forecast per location. Written to a small binary file on exit and
+ * periodically, and read back right after the next successful login so the dashboard can be
+ * drawn before the database and the weather services have answered.
+ * <p>
+ * Files are named by a hash of the email address and only loaded for the user id that just
+ * authenticated. Forecast values are stored as floats with times as offsets from the first
+ * point; unreadable or outdated files are ignored.
+ */
+public class DashboardSnapshot {
+    private static final AppLogger LOG = AppLogger.get("snapshot");
+
+    private static final int MAGIC = 0x57584453; // "WXDS"
+    private static final int VERSION = 1;
+    private static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final UserDashboardData user;
+    private final List<Long> selectedLocationIds;
+    private final List<Forecast> forecasts;
+
+    public DashboardSnapshot(UserDashboardData user, List<Long> selectedLocationIds, List<Forecast> forecasts) {
+        this.user = user;
+        this.selectedLocationIds = List.copyOf(selectedLocationIds);
+        this.forecasts = List.copyOf(forecasts);
+    }
+
+    /**
+     * Last forecast fetched for a coordinate, in ForecastColumns units
+     */
+    public static final class Forecast {
+        private final double latitude;
+        private final double longitude;
+        private final String dataSource;
+        private final ForecastColumns columns;
+
+        public Forecast(double latitude, double longitude, String dataSource, ForecastColumns columns) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.dataSource = dataSource;
+            this.columns = columns;
+        }
+
+        // Getters
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+        public String getDataSource() { return dataSource; }
+        public ForecastColumns getColumns() { return columns; }
+    }
+
+    public static boolean exists(String email) {
+        return Files.isRegularFile(pathFor(email));
+    }
+
+    /**
+     * The snapshot saved for this user, or null if there is none usable
+     */
+    public static DashboardSnapshot load(String email, Long userId) {
+        Path path = pathFor(email);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            DashboardSnapshot snapshot = read(in);
+            if (snapshot == null || !snapshot.user.getUserId().equals(userId)) {
+                LOG.warn("⚠️ Ignoring snapshot " + path.getFileName() + " (other version or user)");
+                return null;
+            }
+            LOG.debug(() -> "Loaded snapshot with " + snapshot.user.getLocations().size() + " location(s) and "
+                + snapshot.forecasts.size() + " forecast(s) in " + (System.nanoTime() - start) / 1000 + " µs");
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("⚠️ Could not read snapshot " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Write the snapshot next to the old one, then swap it in so a crash never leaves half a file
+     */
+    public void save() throws IOException {
+        Path path = pathFor(user.getEmail());
+        Files.createDirectories(path.getParent());
+        Path temp = Files.createTempFile(path.getParent(), "snapshot", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                write(out);
+            }
+            try {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        LOG.debug(() -> "Saved snapshot for user " + user.getUserId());
+    }
+
+    private static Path pathFor(String email) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(email.trim().toLowerCase(Locale.ROOT).getBytes(StandardCharsets.UTF_8));
+            return Paths.get(ConfigManager.getInstance().getSnapshotDirectory(),
+                HexFormat.of().formatHex(digest, 0, 16) + ".snapshot");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void write(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(user.getUserId());
+        out.writeUTF(user.getEmail());
+        writeNullable(out, user.getDisplayName());
+        writeTime(out, user.getLastLogin());
+
+        out.writeInt(user.getPreferences().size());
+        for (Map.Entry<String, String> preference : user.getPreferences().entrySet()) {
+            out.writeUTF(preference.getKey());
+            out.writeUTF(preference.getValue());
+        }
+
+        out.writeInt(user.getLocations().size());
+        for (LocationSummary location : user.getLocations()) {
+            out.writeLong(location.getId() == null ? NO_VALUE : location.getId());
+            out.writeUTF(location.getLocationName());
+            out.writeDouble(location.getLatitude());
+            out.writeDouble(location.getLongitude());
+            writeTime(out, location.getCreatedAt());
+        }
+
+        out.writeInt(selectedLocationIds.size());
+        for (Long id : selectedLocationIds) {
+            out.writeLong(id);
+        }
+
+        out.writeInt(forecasts.size());
+        for (Forecast forecast : forecasts) {
+            out.writeDouble(forecast.latitude);
+            out.writeDouble(forecast.longitude);
+            out.writeUTF(forecast.dataSource);
+            writeColumns(out, forecast.columns);
+        }
+    }
+
+    private static DashboardSnapshot read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            return null;
+        }
+        long userId = in.readLong();
+        String email = in.readUTF();
+        String displayName = readNullable(in);
+        LocalDateTime lastLogin = readTime(in);
+
+        int preferenceCount = in.readInt();
+        Map<String, String> preferences = new HashMap<>();
+        for (int i = 0; i < preferenceCount; i++) {
+            preferences.put(in.readUTF(), in.readUTF());
+        }
+
+        int locationCount = in.readInt();
+        List<LocationSummary> locations = new ArrayList<>(locationCount);
+        for (int i = 0; i < locationCount; i++) {
+            long id = in.readLong();
+            locations.add(new LocationSummary(id == NO_VALUE ? null : id, in.readUTF(), in.readDouble(), in.readDouble(), readTime(in)));
+        }
+
+        int selectedCount = in.readInt();
+        List<Long> selected = new ArrayList<>(selectedCount);
+        for (int i = 0; i < selectedCount; i++) {
+            selected.add(in.readLong());
+        }
+
+        int forecastCount = in.readInt();
+        List<Forecast> forecasts = new ArrayList<>(forecastCount);
+        for (int i = 0; i < forecastCount; i++) {
+            forecasts.add(new Forecast(in.readDouble(), in.readDouble(), in.readUTF(), readColumns(in)));
+        }
+
+        UserDashboardData user = new UserDashboardData(userId, email, displayName, lastLogin, preferences, locations);
+        return new DashboardSnapshot(user, selected, forecasts);
+    }
+
+    /**
+     * Times as int offsets from the first point, values as floats, conditions as indexes into a table of distinct texts
+     */
+    private static void writeColumns(DataOutputStream out, ForecastColumns columns) throws IOException {
+        int size = columns.size();
+        out.writeInt(size);
+        if (size == 0) {
+            return;
+        }
+        long[] times = columns.getEpochSeconds();
+        out.writeLong(times[0]);
+        for (long time : times) {
+            out.writeInt((int) (time - times[0]));
+        }
+        for (double[] column : List.of(columns.getTemperature(), columns.getFeelsLike(), columns.getHumidity(),
+                columns.getWindSpeed(), columns.getPrecipitation())) {
+            for (double value : column) {
+                out.writeFloat((float) value);
+            }
+        }
+        Map<String, Integer> table = new HashMap<>();
+        List<String> texts = new ArrayList<>();
+        short[] indexes = new short[size];
+        for (int i = 0; i < size; i++) {
+            String condition = columns.getConditions()[i];
+            indexes[i] = condition == null ? -1 : (short) (int) table.computeIfAbsent(condition, text -> {
+                texts.add(text);
+                return texts.size() - 1;
+            });
+        }
+        out.writeShort(texts.size());
+        for (String text : texts) {
+            out.writeUTF(text);
+        }
+        for (short index : indexes) {
+            out.writeShort(index);
+        }
+    }
+
+    private static ForecastColumns readColumns(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        long[] times = new long[size];
+        double[][] values = new double[5][size];
+        String[] conditions = new String[size];
+        if (size > 0) {
+            long base = in.readLong();
+            for (int i = 0; i < size; i++) {
+                times[i] = base + in.readInt();
+            }
+            for (double[] column : values) {
+                for (int i = 0; i < size; i++) {
+                    column[i] = in.readFloat();
+                }
+            }
+            String[] texts = new String[in.readUnsignedShort()];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = in.readUTF();
+            }
+            for (int i = 0; i < size; i++) {
+                short index = in.readShort();
+                conditions[i] = index < 0 ? null : texts[index];
+            }
+        }
+        return new ForecastColumns(times, values[0], values[1], values[2], values[3], values[4], conditions);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+        out.writeLong(time == null ? NO_VALUE : time.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        long value = in.readLong();
+        return value == NO_VALUE ? null : LocalDateTime.ofEpochSecond(value, 0, ZoneOffset.UTC);
+    }
+
+    // Getters
+    public UserDashboardData getUser() { return user; }
+    public List<Long> getSelectedLocationIds() { return selectedLocationIds; }
+    public List<Forecast> getForecasts() { return forecasts; }
+}
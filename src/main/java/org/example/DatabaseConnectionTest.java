@@ -13,12 +13,8 @@ public class DatabaseConnectionTest {
         System.out.println("🔍 Testing database connection...");
         
         try {
-            Configuration config = new Configuration().configure();
-            config.addAnnotatedClass(User.class);
-            config.addAnnotatedClass(UserPreference.class);
-            config.addAnnotatedClass(SavedLocation.class);
-            
-            SessionFactory sessionFactory = config.buildSessionFactory();
+            Configuration config = HibernateBootstrap.standaloneConfiguration();
+            SessionFactory sessionFactory = HibernateBootstrap.buildSessionFactory(config);
             Session session = sessionFactory.openSession();
             
             // Test basic connection
@@ -37,7 +33,7 @@ public class DatabaseConnectionTest {
             System.err.println("❌ Database connection failed!");
             System.err.println("Error: " + e.getMessage());
             System.err.println("\nPlease check:");
-            System.err.println("1. Oracle database is running");
+            System.err.println("1. Oracle database is running (or set DB_PROFILE=h2-file / h2-mem)");
             System.err.println("2. Connection details in hibernate.cfg.xml are correct");
             System.err.println("3. Database user has proper permissions");
             e.printStackTrace();
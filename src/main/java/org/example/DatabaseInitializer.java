@@ -14,12 +14,8 @@ public class DatabaseInitializer {
         
         try {
             // Initialize Hibernate configuration
-            Configuration config = new Configuration().configure();
-            config.addAnnotatedClass(User.class);
-            config.addAnnotatedClass(UserPreference.class);
-            config.addAnnotatedClass(SavedLocation.class);
-            
-            SessionFactory sessionFactory = config.buildSessionFactory();
+            Configuration config = HibernateBootstrap.standaloneConfiguration();
+            SessionFactory sessionFactory = HibernateBootstrap.buildSessionFactory(config);
             Session session = sessionFactory.openSession();
             
             try {
@@ -0,0 +1,96 @@
+package org.example;
+
+import org.hibernate.cfg.Configuration;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Database the app runs against, selected with the DB_PROFILE environment variable.
+ * <p>
+ * ORACLE is the default and needs DB_USERNAME/DB_PASSWORD. The two H2 profiles run in-process
+ * with no external server: H2_FILE keeps data under DB_EMBEDDED_PATH between runs, H2_MEMORY
+ * starts empty every launch (demos, benchmarks). Each profile family has its own migration
+ * scripts (see {@link SchemaMigrations}).
+ */
+public enum DatabaseProfile {
+    ORACLE("oracle", false),
+    H2_FILE("h2-file", true),
+    H2_MEMORY("h2-mem", true);
+
+    private final String name;
+    private final boolean embedded;
+
+    DatabaseProfile(String name, boolean embedded) {
+        this.name = name;
+        this.embedded = embedded;
+    }
+
+    public static DatabaseProfile current() {
+        String profile = ConfigManager.getInstance().getDbProfile();
+        for (DatabaseProfile candidate : values()) {
+            if (candidate.name.equalsIgnoreCase(profile)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("Unknown DB_PROFILE '" + profile + "' (expected oracle, h2-file or h2-mem)");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isEmbedded() {
+        return embedded;
+    }
+
+    public String getJdbcUrl() {
+        ConfigManager config = ConfigManager.getInstance();
+        switch (this) {
+            case H2_FILE:
+                Path path = Paths.get(config.getDbEmbeddedPath()).toAbsolutePath();
+                return "jdbc:h2:file:" + path;
+            case H2_MEMORY:
+                return "jdbc:h2:mem:weatherapp;DB_CLOSE_DELAY=-1";
+            default:
+                return config.getDbUrl();
+        }
+    }
+
+    public String getMigrationLocation() {
+        return "classpath:db/migration/" + (embedded ? "h2" : "oracle");
+    }
+
+    /**
+     * Embedded databases fall back to H2's default account when DB_USERNAME is not set
+     */
+    public String getUsername() {
+        if (embedded && System.getenv("DB_USERNAME") == null) {
+            return "sa";
+        }
+        return ConfigManager.getInstance().getDbUsername();
+    }
+
+    public String getPassword() {
+        if (embedded && System.getenv("DB_PASSWORD") == null) {
+            return "";
+        }
+        return ConfigManager.getInstance().getDbPassword();
+    }
+
+    /**
+     * Point a Hibernate configuration at this profile: optional schema validation and,
+     * when no DataSource is supplied, the JDBC connection settings
+     */
+    public void applyTo(Configuration config, boolean withConnectionSettings) {
+        if (ConfigManager.getInstance().isDbSchemaValidationEnabled()) {
+            config.setProperty("hibernate.hbm2ddl.auto", "validate");
+        }
+        if (withConnectionSettings) {
+            config.setProperty("hibernate.connection.driver_class", embedded ? "org.h2.Driver" : "oracle.jdbc.OracleDriver");
+            config.setProperty("hibernate.connection.url", getJdbcUrl());
+            config.setProperty("hibernate.connection.username", getUsername());
+            config.setProperty("hibernate.connection.password", getPassword());
+        }
+    }
+}
@@ -1,43 +1,154 @@
 package org.example;
 
+import org.flywaydb.core.api.output.MigrateResult;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.SharedSessionContract;
+import org.hibernate.StatelessSession;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.SpecHints;
 import org.hibernate.query.Query;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 public class DatabaseService {
+    private static final AppLogger LOG = AppLogger.get("db");
+    
+    // Query cache regions (sizes and TTLs in ehcache.xml)
+    static final String USER_PREFERENCES_QUERY_REGION = "query.userPreferences";
+    static final String USER_LOCATIONS_QUERY_REGION = "query.userLocations";
+    static final String USER_ALERT_RULES_QUERY_REGION = "query.userAlertRules";
+    
     private static DatabaseService instance;
-    private final SessionFactory sessionFactory;
     private final ConfigManager configManager;
+    private ConnectionPool connectionPool;
+    private final SessionFactory sessionFactory;
+    private final WriteBehindBuffer preferenceWrites;
+    private final AuthenticationCache authCache;
+    private final int passwordHashIterations;
+    private final ScheduledExecutorService metricsReporter;
+    private long lastReportedAcquires;
     
     private DatabaseService() {
         this.configManager = ConfigManager.getInstance();
         this.sessionFactory = initializeSessionFactory();
+        this.preferenceWrites = new WriteBehindBuffer(this::writeBuffered, configManager.getPreferenceFlushIntervalMs());
+        this.authCache = new AuthenticationCache(configManager.getAuthCacheSeconds());
+        this.passwordHashIterations = configManager.getPasswordHashIterations();
+        this.metricsReporter = startMetricsReporter(configManager.getDbMetricsIntervalSeconds());
+    }
+    
+    /**
+     * Log pool wait times every DB_METRICS_INTERVAL_SECONDS, so slow acquisitions show up while the
+     * app runs, with cache hit and miss counts at DEBUG
+     */
+    private ScheduledExecutorService startMetricsReporter(int intervalSeconds) {
+        if (intervalSeconds == 0) {
+            return null;
+        }
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::logMetrics, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        return reporter;
+    }
+    
+    private void logMetrics() {
+        ConnectionPool.PoolMetrics metrics = getPoolMetrics();
+        if (metrics.getAcquireCount() != lastReportedAcquires) { // Nothing new to report while idle
+            lastReportedAcquires = metrics.getAcquireCount();
+            LOG.info(() -> "📊 " + metrics);
+            LOG.debug(() -> "📊 " + getCacheStatisticsSummary());
+        }
     }
     
     private SessionFactory initializeSessionFactory() {
         try {
-            Configuration config = new Configuration().configure();
-            
-            // Use environment variables for database credentials
-            config.setProperty("hibernate.connection.username", configManager.getDbUsername());
-            config.setProperty("hibernate.connection.password", configManager.getDbPassword());
-            config.setProperty("hibernate.connection.url", configManager.getDbUrl());
-            
-            config.addAnnotatedClass(User.class);
-            config.addAnnotatedClass(UserPreference.class);
-            config.addAnnotatedClass(SavedLocation.class);
+            // DB_PROFILE picks Oracle or embedded H2; connections come from the pool
+            DatabaseProfile profile = DatabaseProfile.current();
+            connectionPool = new ConnectionPool(profile.getJdbcUrl(), profile.getUsername(), profile.getPassword());
             
-            return config.buildSessionFactory();
+            // Pool warm-up and migrations run while Hibernate boots; Hibernate does not touch the
+            // schema unless DB_SCHEMA_VALIDATE is set, in which case migrations must finish first
+            Thread.ofVirtual().name("db-pool-warm-up").start(connectionPool::warmUp);
+            CompletableFuture<MigrateResult> migrations = CompletableFuture.supplyAsync(
+                () -> SchemaMigrations.migrate(connectionPool.getDataSource(), profile), runnable -> Thread.ofVirtual().start(runnable));
+            Configuration config = HibernateBootstrap.configuration(profile, connectionPool.getDataSource());
+            if (configManager.isDbSchemaValidationEnabled()) {
+                migrations.join();
+            }
+            SessionFactory factory = HibernateBootstrap.buildSessionFactory(config);
+            try {
+                migrations.join();
+            } catch (RuntimeException e) {
+                factory.close();
+                throw e;
+            }
+            return factory;
         } catch (Exception e) {
+            if (connectionPool != null) {
+                connectionPool.close();
+            }
+            if (e instanceof CompletionException && e.getCause() != null) {
+                throw new RuntimeException("Failed to migrate database schema: " + e.getCause().getMessage(), e.getCause());
+            }
             throw new RuntimeException("Failed to initialize database connection. Please check your environment variables: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Open a session whose queries give up when the deadline active on this thread passes
+     */
+    private Session openSession() {
+        int timeoutSeconds = deadlineTimeoutSeconds();
+        Session session = sessionFactory.openSession();
+        if (timeoutSeconds > 0) {
+            session.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, timeoutSeconds * 1000);
+        }
+        return session;
+    }
+    
+    /**
+     * Query timeout for the active deadline, 0 when there is none. JDBC counts whole seconds,
+     * so the time left is rounded up.
+     */
+    private static int deadlineTimeoutSeconds() {
+        Deadline deadline = Deadline.current();
+        if (!deadline.isBounded()) {
+            return 0;
+        }
+        if (deadline.isExpired()) {
+            DeadlineExceededException exceeded = deadline.exceeded("Database query");
+            throw new UncheckedIOException(exceeded.getMessage(), exceeded);
+        }
+        return (int) Math.min(Integer.MAX_VALUE / 1000, (deadline.remainingMillis() + 999) / 1000);
+    }
+    
     public static synchronized DatabaseService getInstance() {
         if (instance == null) {
             instance = new DatabaseService();
@@ -45,11 +156,24 @@ public class DatabaseService {
         return instance;
     }
     
+    /**
+     * Close the shared instance if it was ever created (called on application exit)
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+    
     /**
      * Check if database configuration is valid (only checks required variables)
      */
     public static boolean isDatabaseConfigured() {
         try {
+            if (DatabaseProfile.current().isEmbedded()) {
+                return true; // embedded profiles need no credentials
+            }
             ConfigManager configManager = ConfigManager.getInstance();
             configManager.getDbUsername();
             configManager.getDbPassword();
@@ -65,6 +189,9 @@ public class DatabaseService {
      */
     public static String getDatabaseConfigurationError() {
         try {
+            if (DatabaseProfile.current().isEmbedded()) {
+                return null; // embedded profiles need no credentials
+            }
             ConfigManager configManager = ConfigManager.getInstance();
             configManager.getDbUsername();
             configManager.getDbPassword();
@@ -75,26 +202,123 @@ public class DatabaseService {
         }
     }
     
-    public User authenticateUser(String email, String password) {
-        try (Session session = sessionFactory.openSession()) {
-            Query<User> query = session.createQuery(
-                "FROM User WHERE email = :email AND password = :password", User.class);
+    /**
+     * Check credentials only and return the user id, or null for bad credentials.
+     * The last-login update is written in the background. Hashes the password, so not on the FX thread.
+     */
+    public Long authenticate(String email, String password) {
+        Long cachedUserId = authCache.lookup(email, password);
+        if (cachedUserId != null) {
+            preferenceWrites.recordLastLogin(cachedUserId, LocalDateTime.now());
+            return cachedUserId;
+        }
+        try (Session session = openSession()) {
+            Query<Object[]> query = session.createQuery(
+                "SELECT u.id, u.password FROM User u WHERE u.email = :email", Object[].class);
+            query.setParameter("email", email);
+            
+            Object[] credentials = query.uniqueResult();
+            Long userId = credentials == null ? null : (Long) credentials[0];
+            if (!verifyPassword(email, password, userId, credentials == null ? null : (String) credentials[1])) {
+                return null;
+            }
+            preferenceWrites.recordLastLogin(userId, LocalDateTime.now());
+            return userId;
+        }
+    }
+    
+    /**
+     * Verify a password against the stored value for a user (null if the email is unknown) and
+     * remember it in the authentication cache. Plain-text and outdated hashes are rehashed in the background.
+     */
+    private boolean verifyPassword(String email, String password, Long userId, String stored) {
+        if (userId != null && userId.equals(authCache.lookup(email, password))) {
+            return true;
+        }
+        try (Span span = Tracing.span("password.verify")) {
+            if (stored == null) {
+                PasswordHasher.verifyDummy(password, passwordHashIterations);
+                return false;
+            }
+            if (!PasswordHasher.verify(password, stored)) {
+                return false;
+            }
+        }
+        authCache.put(email, password, userId);
+        if (PasswordHasher.needsRehash(stored, passwordHashIterations)) {
+            Thread.ofVirtual().name("password-rehash").start(() -> rehashPassword(userId, password));
+        }
+        return true;
+    }
+    
+    private void rehashPassword(Long userId, String password) {
+        String hash = PasswordHasher.hash(password, passwordHashIterations);
+        try (Session session = openSession()) {
+            session.beginTransaction();
+            session.createMutationQuery("UPDATE User SET password = :password WHERE id = :userId")
+                .setParameter("password", hash)
+                .setParameter("userId", userId)
+                .executeUpdate();
+            session.getTransaction().commit();
+            LOG.debug(() -> "🔐 Upgraded password hash for user " + userId);
+        } catch (RuntimeException e) {
+            LOG.warn("⚠️ Failed to upgrade password hash for user " + userId + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Load an already authenticated user with preferences in one query and the first page of
+     * saved locations in a second. Returns null if the user no longer exists.
+     */
+    public UserDashboardData loadDashboardData(Long userId) {
+        try (Session session = openSession()) {
+            Query<User> query = session.createQuery("FROM User WHERE id = :userId", User.class);
+            query.setParameter("userId", userId);
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(User.DASHBOARD_GRAPH));
+            query.setReadOnly(true);
+            
+            User user = query.uniqueResult();
+            if (user == null) {
+                return null;
+            }
+            
+            UserDashboardData data = UserDashboardData.from(user,
+                locationsPage(session, user.getId(), null, configManager.getLocationPageSize()));
+            data.getPreferences().forEach((key, value) -> preferenceWrites.rememberPreference(user.getId(), key, value));
+            return data;
+        }
+    }
+    
+    /**
+     * Authenticate and load the user together with preferences in one query, plus the first page
+     * of saved locations. The last-login update is written in the background. Returns null for bad credentials.
+     * Hashes the password, so not on the FX thread.
+     */
+    public UserDashboardData loginWithDashboardData(String email, String password) {
+        try (Session session = openSession()) {
+            Query<User> query = session.createQuery("FROM User WHERE email = :email", User.class);
             query.setParameter("email", email);
-            query.setParameter("password", password); // In production, use hashed passwords
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(User.DASHBOARD_GRAPH));
+            query.setReadOnly(true);
             
             User user = query.uniqueResult();
-            if (user != null) {
-                user.setLastLogin(LocalDateTime.now());
-                session.beginTransaction();
-                session.merge(user);
-                session.getTransaction().commit();
+            if (!verifyPassword(email, password, user == null ? null : user.getId(), user == null ? null : user.getPassword())) {
+                return null;
             }
-            return user;
+            
+            UserDashboardData data = UserDashboardData.from(user,
+                locationsPage(session, user.getId(), null, configManager.getLocationPageSize()));
+            data.getPreferences().forEach((key, value) -> preferenceWrites.rememberPreference(user.getId(), key, value));
+            preferenceWrites.recordLastLogin(user.getId(), LocalDateTime.now());
+            return data;
         }
     }
     
+    /**
+     * Create an account with a hashed password. Hashes the password, so not on the FX thread.
+     */
     public User registerUser(String email, String password, String displayName) {
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = openSession()) {
             // Check if user already exists
             Query<User> existingUserQuery = session.createQuery(
                 "FROM User WHERE email = :email", User.class);
@@ -104,7 +328,7 @@ public class DatabaseService {
                 throw new RuntimeException("User with email " + email + " already exists");
             }
             
-            User newUser = new User(email, password, displayName);
+            User newUser = new User(email, PasswordHasher.hash(password, passwordHashIterations), displayName);
             session.beginTransaction();
             session.persist(newUser);
             session.getTransaction().commit();
@@ -113,7 +337,7 @@ public class DatabaseService {
     }
     
     public void saveUserPreference(Long userId, String key, String value) {
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = openSession()) {
             User user = session.get(User.class, userId);
             if (user == null) {
                 throw new RuntimeException("User not found");
@@ -124,6 +348,8 @@ public class DatabaseService {
                 "FROM UserPreference WHERE user.id = :userId AND key = :key", UserPreference.class);
             existingQuery.setParameter("userId", userId);
             existingQuery.setParameter("key", key);
+            existingQuery.setCacheable(true);
+            existingQuery.setCacheRegion(USER_PREFERENCES_QUERY_REGION);
             
             UserPreference existing = existingQuery.uniqueResult();
             
@@ -136,23 +362,98 @@ public class DatabaseService {
                 session.persist(preference);
             }
             session.getTransaction().commit();
+            preferenceWrites.rememberPreference(userId, key, value);
+        }
+    }
+    
+    /**
+     * Queue a preference write. No-op writes are dropped and rapid changes are coalesced;
+     * the value is persisted in the background shortly afterwards.
+     */
+    public void queueUserPreference(Long userId, String key, String value) {
+        preferenceWrites.putPreference(userId, key, value);
+    }
+    
+    /**
+     * Persist buffered preference values and last-login times in one transaction
+     */
+    void writeBuffered(Map<WriteBehindBuffer.PreferenceKey, String> batch, Map<Long, LocalDateTime> lastLogins) {
+        if (batch.isEmpty() && lastLogins.isEmpty()) {
+            return;
+        }
+        Set<Long> userIds = new HashSet<>();
+        Set<String> keys = new HashSet<>();
+        for (WriteBehindBuffer.PreferenceKey preferenceKey : batch.keySet()) {
+            userIds.add(preferenceKey.getUserId());
+            keys.add(preferenceKey.getKey());
+        }
+        
+        try (Session session = openSession()) {
+            session.beginTransaction();
+            try {
+                // Only the one column, so a password rehash committed meanwhile is not written over
+                for (Map.Entry<Long, LocalDateTime> login : lastLogins.entrySet()) {
+                    session.createMutationQuery("UPDATE User SET lastLogin = :lastLogin WHERE id = :userId")
+                        .setParameter("lastLogin", login.getValue())
+                        .setParameter("userId", login.getKey())
+                        .executeUpdate();
+                }
+                if (batch.isEmpty()) {
+                    session.getTransaction().commit();
+                    return;
+                }
+                
+                Query<UserPreference> existingQuery = session.createQuery(
+                    "FROM UserPreference WHERE user.id IN :userIds AND key IN :keys", UserPreference.class);
+                existingQuery.setParameter("userIds", userIds);
+                existingQuery.setParameter("keys", keys);
+                Map<WriteBehindBuffer.PreferenceKey, UserPreference> existing = new HashMap<>();
+                for (UserPreference preference : existingQuery.list()) {
+                    existing.put(new WriteBehindBuffer.PreferenceKey(preference.getUser().getId(), preference.getKey()), preference);
+                }
+                
+                for (Map.Entry<WriteBehindBuffer.PreferenceKey, String> entry : batch.entrySet()) {
+                    UserPreference preference = existing.get(entry.getKey());
+                    if (preference != null) {
+                        preference.setValue(entry.getValue());
+                    } else {
+                        User user = session.getReference(User.class, entry.getKey().getUserId());
+                        session.persist(new UserPreference(entry.getKey().getKey(), entry.getValue(), user));
+                    }
+                }
+                session.getTransaction().commit();
+            } catch (RuntimeException e) {
+                session.getTransaction().rollback();
+                throw e;
+            }
         }
     }
     
     public String getUserPreference(Long userId, String key) {
-        try (Session session = sessionFactory.openSession()) {
+        String buffered = preferenceWrites.getPreference(userId, key);
+        if (buffered != null) {
+            return buffered;
+        }
+        
+        try (Session session = openSession()) {
             Query<UserPreference> query = session.createQuery(
                 "FROM UserPreference WHERE user.id = :userId AND key = :key", UserPreference.class);
             query.setParameter("userId", userId);
             query.setParameter("key", key);
+            query.setCacheable(true);
+            query.setCacheRegion(USER_PREFERENCES_QUERY_REGION);
             
             UserPreference preference = query.uniqueResult();
-            return preference != null ? preference.getValue() : null;
+            if (preference == null) {
+                return null;
+            }
+            preferenceWrites.rememberPreference(userId, key, preference.getValue());
+            return preference.getValue();
         }
     }
     
-    public void saveLocation(Long userId, String locationName, double latitude, double longitude) {
-        try (Session session = sessionFactory.openSession()) {
+    public Long saveLocation(Long userId, String locationName, double latitude, double longitude) {
+        try (Session session = openSession()) {
             User user = session.get(User.class, userId);
             if (user == null) {
                 throw new RuntimeException("User not found");
@@ -162,32 +463,282 @@ public class DatabaseService {
             session.beginTransaction();
             session.persist(location);
             session.getTransaction().commit();
+            return location.getId();
         }
     }
     
-    public List<SavedLocation> getUserLocations(Long userId) {
-        try (Session session = sessionFactory.openSession()) {
-            Query<SavedLocation> query = session.createQuery(
-                "FROM SavedLocation WHERE user.id = :userId ORDER BY createdAt DESC", SavedLocation.class);
-            query.setParameter("userId", userId);
-            return query.list();
+    /**
+     * One page of a user's saved locations, oldest first, starting after the given location
+     * (null for the first page). Keyset paging on (createdAt, id) costs the same on every page,
+     * and rows come back as read-only summaries that the session never manages.
+     */
+    public List<LocationSummary> getUserLocationsPage(Long userId, LocationSummary after, int limit) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return locationsPage(session, userId, after, limit);
+        }
+    }
+    
+    private static List<LocationSummary> locationsPage(SharedSessionContract session, Long userId, LocationSummary after, int limit) {
+        String keyset = after == null ? ""
+            : "AND (l.createdAt > :afterCreatedAt OR (l.createdAt = :afterCreatedAt AND l.id > :afterId)) ";
+        Query<LocationSummary> query = session.createQuery(
+            "SELECT new org.example.LocationSummary(l.id, l.locationName, l.latitude, l.longitude, l.createdAt) " +
+            "FROM SavedLocation l WHERE l.user.id = :userId " + keyset + "ORDER BY l.createdAt, l.id", LocationSummary.class);
+        query.setParameter("userId", userId);
+        if (after != null) {
+            query.setParameter("afterCreatedAt", after.getCreatedAt());
+            query.setParameter("afterId", after.getId());
+        }
+        query.setMaxResults(limit);
+        int timeoutSeconds = deadlineTimeoutSeconds();
+        if (timeoutSeconds > 0) {
+            query.setTimeout(timeoutSeconds);
         }
+        return query.list();
     }
     
     public void deleteLocation(Long locationId) {
-        try (Session session = sessionFactory.openSession()) {
+        deleteLocations(List.of(locationId));
+    }
+    
+    /**
+     * Delete saved locations by id with a single DELETE statement
+     */
+    public int deleteLocations(Collection<Long> locationIds) {
+        if (locationIds.isEmpty()) {
+            return 0;
+        }
+        try (Session session = openSession()) {
             session.beginTransaction();
-            SavedLocation location = session.get(SavedLocation.class, locationId);
-            if (location != null) {
-                session.remove(location);
+            try {
+                // Rules bound to these locations go with them
+                session.createMutationQuery("DELETE FROM AlertRule WHERE location.id IN :ids")
+                    .setParameter("ids", locationIds)
+                    .executeUpdate();
+                int deleted = session.createMutationQuery("DELETE FROM SavedLocation WHERE id IN :ids")
+                    .setParameter("ids", locationIds)
+                    .executeUpdate();
+                session.getTransaction().commit();
+                return deleted;
+            } catch (RuntimeException e) {
+                session.getTransaction().rollback();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * A user's alert rules, global and per location
+     */
+    public List<AlertEngine.Rule> getAlertRules(Long userId) {
+        try (Session session = openSession()) {
+            Query<AlertRule> query = session.createQuery(
+                "FROM AlertRule WHERE user.id = :userId ORDER BY createdAt, id", AlertRule.class);
+            query.setParameter("userId", userId);
+            query.setCacheable(true);
+            query.setCacheRegion(USER_ALERT_RULES_QUERY_REGION);
+            List<AlertEngine.Rule> rules = new ArrayList<>();
+            for (AlertRule rule : query.list()) {
+                // The lazy location proxy already knows its id, no extra select
+                Long locationId = rule.getLocation() == null ? null : rule.getLocation().getId();
+                rules.add(new AlertEngine.Rule(rule.getId(), locationId,
+                    AlertEngine.Metric.valueOf(rule.getMetric()), AlertEngine.Comparison.valueOf(rule.getComparison()),
+                    rule.getThreshold(), rule.getWindowHours()));
+            }
+            return rules;
+        }
+    }
+    
+    /**
+     * Names of the given saved locations by id, e.g. for alert rules bound to rows not paged in yet
+     */
+    public Map<Long, String> getLocationNames(Collection<Long> locationIds) {
+        Map<Long, String> names = new HashMap<>();
+        if (locationIds.isEmpty()) {
+            return names;
+        }
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Query<Object[]> query = session.createQuery(
+                "SELECT l.id, l.locationName FROM SavedLocation l WHERE l.id IN :ids", Object[].class);
+            query.setParameter("ids", locationIds);
+            int timeoutSeconds = deadlineTimeoutSeconds();
+            if (timeoutSeconds > 0) {
+                query.setTimeout(timeoutSeconds);
+            }
+            for (Object[] row : query.list()) {
+                names.put((Long) row[0], (String) row[1]);
+            }
+        }
+        return names;
+    }
+    
+    /**
+     * Persist a parsed rule for the user and return it with its id
+     */
+    public AlertEngine.Rule saveAlertRule(Long userId, AlertEngine.Rule rule) {
+        try (Session session = openSession()) {
+            User user = session.get(User.class, userId);
+            if (user == null) {
+                throw new RuntimeException("User not found");
             }
+            SavedLocation location = rule.getLocationId() == null
+                ? null : session.getReference(SavedLocation.class, rule.getLocationId());
+            
+            AlertRule entity = new AlertRule(rule.getMetric().name(), rule.getComparison().name(),
+                rule.getThreshold(), rule.getWindowHours(), user, location);
+            session.beginTransaction();
+            session.persist(entity);
             session.getTransaction().commit();
+            return rule.withId(entity.getId());
+        }
+    }
+    
+    public void deleteAlertRule(Long ruleId) {
+        try (Session session = openSession()) {
+            session.beginTransaction();
+            try {
+                session.createMutationQuery("DELETE FROM AlertRule WHERE id = :id")
+                    .setParameter("id", ruleId)
+                    .executeUpdate();
+                session.getTransaction().commit();
+            } catch (RuntimeException e) {
+                session.getTransaction().rollback();
+                throw e;
+            }
+        }
+    }
+    
+    /**
+     * Insert saved locations with JDBC batching, one transaction per call.
+     * Bypasses the session, so the affected cache regions are evicted afterwards.
+     */
+    public void insertLocationsBatch(Long userId, List<LocationSummary> batch) {
+        if (batch.isEmpty()) {
+            return;
         }
+        try (Session session = openSession()) {
+            session.beginTransaction();
+            try {
+                String nextIdSql = sessionFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+                    .getSequenceSupport().getSequenceNextValString("saved_locations_seq");
+                session.doWork(connection -> {
+                    try (PreparedStatement nextId = connection.prepareStatement(nextIdSql);
+                         PreparedStatement insert = connection.prepareStatement(
+                            "INSERT INTO saved_locations (id, location_name, latitude, longitude, created_at, user_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+                        // Same pooled-lo scheme as Hibernate: one NEXTVAL reserves ID_ALLOCATION_SIZE ids
+                        long id = 0;
+                        int remaining = 0;
+                        for (LocationSummary location : batch) {
+                            if (remaining == 0) {
+                                try (ResultSet rs = nextId.executeQuery()) {
+                                    rs.next();
+                                    id = rs.getLong(1);
+                                }
+                                remaining = User.ID_ALLOCATION_SIZE;
+                            }
+                            insert.setLong(1, id++);
+                            remaining--;
+                            insert.setString(2, location.getLocationName());
+                            insert.setDouble(3, location.getLatitude());
+                            insert.setDouble(4, location.getLongitude());
+                            insert.setTimestamp(5, Timestamp.valueOf(location.getCreatedAt()));
+                            insert.setLong(6, userId);
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                });
+                session.getTransaction().commit();
+            } catch (RuntimeException e) {
+                session.getTransaction().rollback();
+                throw e;
+            }
+        }
+        sessionFactory.getCache().evictCollectionData(User.class.getName() + ".savedLocations", userId);
+        sessionFactory.getCache().evictQueryRegion(USER_LOCATIONS_QUERY_REGION);
+    }
+    
+    /**
+     * Stream a user's saved locations oldest first without holding them all in memory
+     */
+    public long forEachUserLocation(Long userId, Consumer<LocationSummary> consumer) {
+        long count = 0;
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Query<Object[]> query = session.createQuery(
+                "SELECT l.id, l.locationName, l.latitude, l.longitude, l.createdAt FROM SavedLocation l " +
+                "WHERE l.user.id = :userId ORDER BY l.createdAt, l.id", Object[].class);
+            query.setParameter("userId", userId);
+            query.setFetchSize(1000);
+            try (ScrollableResults<Object[]> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (rows.next()) {
+                    Object[] row = rows.get();
+                    consumer.accept(new LocationSummary((Long) row[0], (String) row[1],
+                        (Double) row[2], (Double) row[3], (LocalDateTime) row[4]));
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * Current connection pool occupancy and borrow wait times
+     */
+    public ConnectionPool.PoolMetrics getPoolMetrics() {
+        return connectionPool.getMetrics();
+    }
+    
+    /**
+     * Hibernate statistics, including second-level and query cache hit/miss counts per region
+     */
+    public Statistics getStatistics() {
+        return sessionFactory.getStatistics();
+    }
+    
+    /**
+     * One line per cache region: hits, misses, puts and entries currently held
+     */
+    public String getCacheStatisticsSummary() {
+        Statistics statistics = getStatistics();
+        StringBuilder summary = new StringBuilder(String.format(
+            "L2 cache: %d hits, %d misses, %d puts | query cache: %d hits, %d misses, %d puts",
+            statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount(),
+            statistics.getSecondLevelCachePutCount(), statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount()));
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics;
+            try {
+                regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            } catch (IllegalArgumentException e) {
+                // Hibernate rejects query result regions here instead of returning null
+                regionStatistics = statistics.getQueryRegionStatistics(region);
+            }
+            if (regionStatistics != null) {
+                summary.append(String.format("%n  %-40s %6d hits %6d misses %6d puts",
+                    region, regionStatistics.getHitCount(), regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+                // JCache providers cannot count entries and report a negative number
+                if (regionStatistics.getElementCountInMemory() >= 0) {
+                    summary.append(String.format(" %6d entries", regionStatistics.getElementCountInMemory()));
+                }
+            }
+        }
+        return summary.toString();
     }
     
     public void close() {
+        if (metricsReporter != null) {
+            metricsReporter.shutdownNow();
+        }
+        // Pending preference writes must reach the database before the session factory goes away
+        if (preferenceWrites != null) {
+            preferenceWrites.close();
+        }
         if (sessionFactory != null && !sessionFactory.isClosed()) {
+            LOG.info("📊 " + getCacheStatisticsSummary());
             sessionFactory.close();
         }
+        if (connectionPool != null) {
+            connectionPool.close();
+        }
     }
 }
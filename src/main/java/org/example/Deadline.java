@@ -0,0 +1,112 @@
+package org.example;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which a user-visible operation must be done. A dashboard action starts one
+ * with {@link #after} and activates it on its thread; ForecastService hands it on to the
+ * fetch threads, and every HTTP attempt, synthetic delay and database query below uses only
+ * the time that is left. Work that starts after the deadline fails at once with
+ * {@link DeadlineExceededException}.
+ * <p>
+ * Without an active deadline {@link #current()} returns {@link #NONE}, which never expires,
+ * so HTTP attempts are then bounded by HTTP_ATTEMPT_TIMEOUT_MS alone.
+ */
+public final class Deadline {
+    public static final Deadline NONE = new Deadline(0, Long.MAX_VALUE);
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long budgetNanos;
+
+    /**
+     * Restores the previously active deadline when closed
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private Deadline(long startNanos, long budgetNanos) {
+        this.startNanos = startNanos;
+        this.budgetNanos = budgetNanos;
+    }
+
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(Math.max(0, millis)));
+    }
+
+    /**
+     * The deadline active on this thread, or {@link #NONE}
+     */
+    public static Deadline current() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null ? deadline : NONE;
+    }
+
+    /**
+     * Make this the deadline of the calling thread until the scope is closed
+     */
+    public Scope activate() {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(this);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    public boolean isBounded() {
+        return this != NONE;
+    }
+
+    /**
+     * The earlier of this deadline and {@code millis} from now
+     */
+    public Deadline atMost(long millis) {
+        Deadline bound = after(millis);
+        return remainingNanos() <= bound.remainingNanos() ? this : bound;
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    public long remainingMillis() {
+        return isBounded() ? TimeUnit.NANOSECONDS.toMillis(remainingNanos()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * The whole budget this deadline was started with, for messages
+     */
+    public long budgetMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(budgetNanos);
+    }
+
+    /**
+     * Time for one attempt: what is left, but no more than {@code capMillis}
+     *
+     * @throws DeadlineExceededException if nothing is left, so the attempt is not started
+     */
+    public long attemptMillis(long capMillis, String operation) throws DeadlineExceededException {
+        check(operation);
+        return Math.max(1, Math.min(capMillis, remainingMillis()));
+    }
+
+    public void check(String operation) throws DeadlineExceededException {
+        if (isExpired()) {
+            throw exceeded(operation);
+        }
+    }
+
+    public DeadlineExceededException exceeded(String operation) {
+        return new DeadlineExceededException(operation + " abandoned, the " + budgetMillis() + " ms deadline has passed");
+    }
+
+    private long remainingNanos() {
+        return isBounded() ? budgetNanos - (System.nanoTime() - startNanos) : Long.MAX_VALUE;
+    }
+}
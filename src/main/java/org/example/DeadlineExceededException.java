@@ -0,0 +1,13 @@
+package org.example;
+
+import java.io.InterruptedIOException;
+
+/**
+ * Thrown when an operation runs out of its {@link Deadline}. An IOException like the timeouts
+ * it replaces, so callers fall back to cached or demo data the same way.
+ */
+public class DeadlineExceededException extends InterruptedIOException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example;
+
+/**
+ * Metrics derived from a forecast's columns for every point: dew point, heat index, wind chill
+ * and apparent temperature, all in °C, plus bulk unit conversions over primitive arrays.
+ * <p>
+ * The arithmetic runs on the Vector API when the JVM was started with
+ * {@code --add-modules jdk.incubator.vector} (the Maven build and javafx:run do this) and
+ * METRICS_VECTOR is not false; otherwise the same formulas run as plain loops.
+ * DerivedMetricsBenchmark compares the two.
+ */
+public class DerivedMetrics {
+    private static final AppLogger LOG = AppLogger.get("metrics");
+    private static final MetricKernels KERNELS = selectKernels();
+
+    private final double[] dewPoint;
+    private final double[] heatIndex;
+    private final double[] windChill;
+    private final double[] apparentTemperature;
+
+    private DerivedMetrics(double[] dewPoint, double[] heatIndex, double[] windChill, double[] apparentTemperature) {
+        this.dewPoint = dewPoint;
+        this.heatIndex = heatIndex;
+        this.windChill = windChill;
+        this.apparentTemperature = apparentTemperature;
+    }
+
+    public static DerivedMetrics compute(ForecastColumns columns) {
+        int size = columns.size();
+        double[] temperature = columns.getTemperature();
+        double[] humidity = columns.getHumidity();
+        double[] windSpeed = columns.getWindSpeed();
+        double[] dewPoint = new double[size];
+        double[] heatIndex = new double[size];
+        double[] windChill = new double[size];
+        double[] apparentTemperature = new double[size];
+        KERNELS.dewPoint(temperature, humidity, dewPoint);
+        KERNELS.heatIndex(temperature, humidity, heatIndex);
+        KERNELS.windChill(temperature, windSpeed, windChill);
+        KERNELS.apparentTemperature(temperature, humidity, windSpeed, apparentTemperature);
+        return new DerivedMetrics(dewPoint, heatIndex, windChill, apparentTemperature);
+    }
+
+    // Bulk conversions; out may be the input array
+    public static void celsiusToFahrenheit(double[] celsius, double[] out) {
+        KERNELS.scale(celsius, 1.8, 32, out);
+    }
+
+    public static void fahrenheitToCelsius(double[] fahrenheit, double[] out) {
+        KERNELS.scale(fahrenheit, 5.0 / 9, -32 * 5.0 / 9, out);
+    }
+
+    public static void kmhToMph(double[] kmh, double[] out) {
+        KERNELS.scale(kmh, 1 / 1.609344, 0, out);
+    }
+
+    public static void toKmh(double[] speed, String unit, double[] out) {
+        double factor = kmhPerUnit(unit);
+        if (factor != 1.0 || speed != out) {
+            KERNELS.scale(speed, factor, 0, out);
+        }
+    }
+
+    /**
+     * km/h in one unit of the given wind speed unit ("m/s", "mph", otherwise km/h)
+     */
+    static double kmhPerUnit(String unit) {
+        return switch (unit) {
+            case "m/s" -> 3.6;
+            case "mph" -> 1.609344;
+            default -> 1.0;
+        };
+    }
+
+    /**
+     * "vector (N lanes)" or "scalar", for logs and benchmarks
+     */
+    public static String implementation() {
+        return KERNELS instanceof ScalarMetricKernels ? "scalar" : "vector (" + VectorMetricKernels.lanes() + " lanes)";
+    }
+
+    static boolean isVectorApiAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    private static MetricKernels selectKernels() {
+        if (ConfigManager.getInstance().isVectorMetricsEnabled() && isVectorApiAvailable()) {
+            try {
+                MetricKernels kernels = new VectorMetricKernels();
+                LOG.debug(() -> "Derived metrics use the Vector API, " + VectorMetricKernels.lanes() + " lanes");
+                return kernels;
+            } catch (LinkageError e) {
+                LOG.warn("⚠️ Vector API unusable, computing derived metrics with scalar code: " + e);
+            }
+        }
+        return new ScalarMetricKernels();
+    }
+
+    // Getters (arrays are shared, not copied; do not modify)
+    public double[] getDewPoint() { return dewPoint; }
+    public double[] getHeatIndex() { return heatIndex; }
+    public double[] getWindChill() { return windChill; }
+    public double[] getApparentTemperature() { return apparentTemperature; }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.util.SplittableRandom;
+
+/**
+ * Derived-metrics benchmark: the Vector API kernels against the scalar loops on the same columns.
+ * <p>
+ * Each kernel is run on a grid of forecast points (locations × hours) until the JIT has settled,
+ * then timed over several rounds; the best round is reported. Also checks that both
+ * implementations agree. Needs --add-modules jdk.incubator.vector for the vector side, e.g.
+ * <pre>
+ * java --add-modules jdk.incubator.vector -cp target/classes:... org.example.DerivedMetricsBenchmark 1000000
+ * </pre>
+ * Usage: DerivedMetricsBenchmark [points]
+ */
+public class DerivedMetricsBenchmark {
+    private static final int WARM_UP_ROUNDS = 30;
+    private static final int MEASURED_ROUNDS = 15;
+
+    private interface Kernel {
+        void run(MetricKernels kernels);
+    }
+
+    public static void main(String[] args) {
+        int points = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        if (!DerivedMetrics.isVectorApiAvailable()) {
+            System.out.println("❌ jdk.incubator.vector is not loaded; run with --add-modules jdk.incubator.vector");
+            return;
+        }
+        System.out.println("⏱️ Derived metrics benchmark: " + points + " points, "
+            + VectorMetricKernels.lanes() + " double lanes per vector");
+
+        SplittableRandom random = new SplittableRandom(42);
+        double[] temperature = new double[points];
+        double[] humidity = new double[points];
+        double[] windSpeed = new double[points];
+        for (int i = 0; i < points; i++) {
+            temperature[i] = random.nextDouble(-30, 45);
+            humidity[i] = random.nextDouble(5, 100);
+            windSpeed[i] = random.nextDouble(0, 90);
+        }
+        double[] out = new double[points];
+
+        MetricKernels scalar = new ScalarMetricKernels();
+        MetricKernels vector = new VectorMetricKernels();
+        compare("°C → °F", points, scalar, vector, out, kernels -> kernels.scale(temperature, 1.8, 32, out));
+        compare("dew point", points, scalar, vector, out, kernels -> kernels.dewPoint(temperature, humidity, out));
+        compare("heat index", points, scalar, vector, out, kernels -> kernels.heatIndex(temperature, humidity, out));
+        compare("wind chill", points, scalar, vector, out, kernels -> kernels.windChill(temperature, windSpeed, out));
+        compare("apparent temperature", points, scalar, vector, out,
+            kernels -> kernels.apparentTemperature(temperature, humidity, windSpeed, out));
+    }
+
+    private static void compare(String name, int points, MetricKernels scalar, MetricKernels vector, double[] out, Kernel kernel) {
+        kernel.run(scalar);
+        double[] expected = out.clone();
+        kernel.run(vector);
+        double maxError = 0;
+        for (int i = 0; i < points; i++) {
+            maxError = Math.max(maxError, Math.abs(out[i] - expected[i]));
+        }
+
+        double scalarNanos = time(scalar, kernel);
+        double vectorNanos = time(vector, kernel);
+        System.out.printf("   %-21s scalar %7.2f ns/point   vector %7.2f ns/point   %5.1fx   max diff %.1e%n",
+            name, scalarNanos / points, vectorNanos / points, scalarNanos / vectorNanos, maxError);
+    }
+
+    /**
+     * Best of the measured rounds after warm-up, in nanoseconds
+     */
+    private static double time(MetricKernels kernels, Kernel kernel) {
+        for (int i = 0; i < WARM_UP_ROUNDS; i++) {
+            kernel.run(kernels);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            kernel.run(kernels);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,220 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forecasts shared by every app instance on a machine and filled ahead of time by
+ * {@link ForecastCacheWarmUp}: one small binary file per 0.1° grid cell (about 11 km) and unit
+ * system under FORECAST_CACHE_DIR. Locations in the same cell share a forecast.
+ * <p>
+ * An entry is served for FORECAST_CACHE_MINUTES after it was fetched; with 0 (the default)
+ * the cache is off and every request goes to the provider. Unreadable or outdated files count
+ * as missing.
+ */
+public class ForecastCache {
+    private static final AppLogger LOG = AppLogger.get("forecast.cache");
+
+    private static final int MAGIC = 0x57584643; // "WXFC"
+    private static final int VERSION = 1;
+    private static final int CELLS_PER_DEGREE = 10;
+    private static final int COLUMNS = 360 * CELLS_PER_DEGREE;
+    /** Number of grid cells; cell ids run from 0 to CELL_COUNT - 1 */
+    public static final int CELL_COUNT = (180 * CELLS_PER_DEGREE + 1) * COLUMNS;
+
+    private final Path directory;
+    private final long maxAgeSeconds;
+
+    public ForecastCache() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.directory = Paths.get(config.getForecastCacheDirectory());
+        this.maxAgeSeconds = config.getForecastCacheMinutes() * 60L;
+    }
+
+    public boolean isEnabled() {
+        return maxAgeSeconds > 0;
+    }
+
+    /**
+     * Grid cell holding a coordinate; longitudes wrap, so 180 and -180 share a cell
+     */
+    public static int cellOf(double latitude, double longitude) {
+        int row = (int) Math.round((Math.max(-90, Math.min(90, latitude)) + 90) * CELLS_PER_DEGREE);
+        int column = Math.floorMod(Math.round((longitude + 180) * CELLS_PER_DEGREE), COLUMNS);
+        return row * COLUMNS + column;
+    }
+
+    public static double cellLatitude(int cell) {
+        return (double) (cell / COLUMNS - 90 * CELLS_PER_DEGREE) / CELLS_PER_DEGREE;
+    }
+
+    public static double cellLongitude(int cell) {
+        return (double) (cell % COLUMNS - 180 * CELLS_PER_DEGREE) / CELLS_PER_DEGREE;
+    }
+
+    /**
+     * The cached forecast for the coordinate's cell, or null if there is none still fresh
+     */
+    public ForecastService.ForecastResult get(double latitude, double longitude, String units) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Path path = pathFor(cellOf(latitude, longitude), units);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            return readHeader(in) ? read(in, units) : null;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("⚠️ Could not read cached forecast " + path.getFileName() + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Whether the cell has a forecast that will still be served, reading only the file header
+     */
+    public boolean isFresh(int cell, String units) {
+        Path path = pathFor(cell, units);
+        if (!isEnabled() || !Files.isRegularFile(path)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return readHeader(in);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Store a forecast for the coordinate's cell, replacing the old one. Failures are logged,
+     * never thrown: the forecast was fetched either way.
+     */
+    public void put(double latitude, double longitude, String units, ForecastService.ForecastResult result) {
+        if (!isEnabled()) {
+            return;
+        }
+        Path path = pathFor(cellOf(latitude, longitude), units);
+        try {
+            Files.createDirectories(path.getParent());
+            Path temp = Files.createTempFile(path.getParent(), "forecast", ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    write(out, result);
+                }
+                try {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            LOG.warn("⚠️ Could not cache forecast " + path.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private Path pathFor(int cell, String units) {
+        return directory.resolve(units).resolve(cell + ".forecast");
+    }
+
+    /**
+     * Check the format and the age; true if the rest of the file is worth reading
+     */
+    private boolean readHeader(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC || in.readShort() != VERSION) {
+            return false;
+        }
+        return Instant.now().getEpochSecond() - in.readLong() < maxAgeSeconds;
+    }
+
+    private static void write(DataOutputStream out, ForecastService.ForecastResult result) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeLong(Instant.now().getEpochSecond());
+        out.writeUTF(result.getDataSource());
+        out.writeUTF(result.getWindSpeedUnit());
+
+        ZoneId zone = ZoneId.systemDefault();
+        List<WeatherService.WeatherData> forecast = result.getForecast();
+        out.writeInt(forecast.size());
+        for (WeatherService.WeatherData point : forecast) {
+            out.writeLong(point.getDateTime().atZone(zone).toEpochSecond());
+            out.writeDouble(point.getTemperature());
+            out.writeDouble(point.getFeelsLike());
+            out.writeInt(point.getHumidity());
+            out.writeDouble(point.getWindSpeed());
+            out.writeDouble(point.getPrecipitation());
+            writeNullable(out, point.getDescription());
+            writeNullable(out, point.getIcon());
+        }
+
+        ForecastService.Spread spread = result.getSpread();
+        out.writeBoolean(spread != null);
+        if (spread != null) {
+            for (int i = 0; i < forecast.size(); i++) {
+                out.writeDouble(spread.getTemperatureLow()[i]);
+                out.writeDouble(spread.getTemperatureHigh()[i]);
+                out.writeInt(spread.getMembers()[i]);
+            }
+        }
+    }
+
+    private static ForecastService.ForecastResult read(DataInputStream in, String units) throws IOException {
+        String dataSource = in.readUTF();
+        String windSpeedUnit = in.readUTF();
+
+        ZoneId zone = ZoneId.systemDefault();
+        int size = in.readInt();
+        List<WeatherService.WeatherData> forecast = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochSecond(in.readLong()), zone);
+            double temperature = in.readDouble();
+            double feelsLike = in.readDouble();
+            int humidity = in.readInt();
+            double windSpeed = in.readDouble();
+            double precipitation = in.readDouble();
+            forecast.add(new WeatherService.WeatherData(temperature, feelsLike, humidity, windSpeed, precipitation,
+                readNullable(in), readNullable(in), time, units));
+        }
+
+        ForecastService.Spread spread = null;
+        if (in.readBoolean()) {
+            double[] low = new double[size];
+            double[] high = new double[size];
+            int[] members = new int[size];
+            for (int i = 0; i < size; i++) {
+                low[i] = in.readDouble();
+                high[i] = in.readDouble();
+                members[i] = in.readInt();
+            }
+            spread = new ForecastService.Spread(low, high, members);
+        }
+        return new ForecastService.ForecastResult(forecast, dataSource, windSpeedUnit, spread);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,169 @@
+package org.example;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.query.Query;
+
+import java.io.IOException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills the shared forecast cache for every user's saved locations, e.g. from a scheduled job
+ * before the morning peak on a shared or server install.
+ * <p>
+ * Saved locations are read once through a stateless session with a forward-only cursor, so
+ * memory stays flat however many rows there are; each row only marks its 0.1° grid cell in a
+ * bit set (under 1 MB for the whole globe). The cells are then fetched at most
+ * WARMUP_PARALLELISM at a time and WARMUP_REQUESTS_PER_MINUTE per minute, skipping those the
+ * cache still holds, so an interrupted run can simply be started again. Progress and
+ * throughput are printed every few seconds.
+ * <p>
+ * Needs FORECAST_CACHE_MINUTES above 0 and uses the provider selected by WEATHER_SERVICE_TYPE.
+ * <p>
+ * Usage: ForecastCacheWarmUp [metric|imperial ...] (defaults to metric)
+ */
+public class ForecastCacheWarmUp {
+    private static final AppLogger LOG = AppLogger.get("forecast.warmup");
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int FETCH_SIZE = 1000;
+
+    public static void main(String[] args) {
+        List<String> unitSystems = args.length > 0 ? List.of(args) : List.of("metric");
+        for (String units : unitSystems) {
+            if (!"metric".equals(units) && !"imperial".equals(units)) {
+                System.err.println("❌ Unknown units '" + units + "', use metric or imperial");
+                return;
+            }
+        }
+        ForecastCache cache = new ForecastCache();
+        if (!cache.isEnabled()) {
+            System.err.println("❌ The forecast cache is off; set FORECAST_CACHE_MINUTES to how long warmed forecasts are served");
+            return;
+        }
+
+        BitSet cells;
+        try {
+            cells = readCells();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Failed to read saved locations: " + e.getMessage());
+            e.printStackTrace();
+            return;
+        }
+
+        ForecastService forecastService = new ForecastService();
+        try {
+            for (String units : unitSystems) {
+                fetchCells(forecastService, cache, cells, units);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Warm-up interrupted");
+        } finally {
+            forecastService.close();
+        }
+    }
+
+    /**
+     * Stream all saved locations and return the grid cells they fall in
+     */
+    private static BitSet readCells() {
+        BitSet cells = new BitSet(ForecastCache.CELL_COUNT);
+        long rows = 0;
+        long start = System.nanoTime();
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        try (SessionFactory sessionFactory = HibernateBootstrap.buildStandaloneSessionFactory();
+             StatelessSession session = sessionFactory.openStatelessSession()) {
+            Query<Object[]> query = session.createQuery("SELECT l.latitude, l.longitude FROM SavedLocation l", Object[].class);
+            query.setFetchSize(FETCH_SIZE);
+            try (ScrollableResults<Object[]> results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (results.next()) {
+                    Object[] row = results.get();
+                    cells.set(ForecastCache.cellOf((Double) row[0], (Double) row[1]));
+                    rows++;
+                    if (rows % FETCH_SIZE == 0 && System.nanoTime() >= nextReport) {
+                        printRead("📍", rows, cells, start);
+                        nextReport += REPORT_INTERVAL_NANOS;
+                    }
+                }
+            }
+        }
+        printRead("✅", rows, cells, start);
+        return cells;
+    }
+
+    private static void printRead(String icon, long rows, BitSet cells, long start) {
+        double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+        System.out.printf("%s %,d saved location(s) read in %.1f s (%,.0f rows/s), %,d grid cell(s)%n",
+            icon, rows, seconds, rows / seconds, cells.cardinality());
+    }
+
+    /**
+     * Fetch every cell the cache does not hold yet, pacing request starts evenly
+     */
+    private static void fetchCells(ForecastService forecastService, ForecastCache cache, BitSet cells, String units)
+            throws InterruptedException {
+        ConfigManager config = ConfigManager.getInstance();
+        int parallelism = config.getWarmUpParallelism();
+        int requestsPerMinute = config.getWarmUpRequestsPerMinute();
+        long intervalNanos = TimeUnit.MINUTES.toNanos(1) / requestsPerMinute;
+        int total = cells.cardinality();
+        System.out.printf("🌤️ Warming %,d cell(s) in %s units, %d at a time, at most %d per minute%n",
+            total, units, parallelism, requestsPerMinute);
+
+        Semaphore slots = new Semaphore(parallelism);
+        AtomicLong fetched = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long skipped = 0;
+        long start = System.nanoTime();
+        long nextStart = start;
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        for (int cell = cells.nextSetBit(0); cell >= 0; cell = cells.nextSetBit(cell + 1)) {
+            if (cache.isFresh(cell, units)) {
+                skipped++;
+                continue;
+            }
+            slots.acquire();
+            long wait = nextStart - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            nextStart = Math.max(nextStart, System.nanoTime()) + intervalNanos;
+
+            double latitude = ForecastCache.cellLatitude(cell);
+            double longitude = ForecastCache.cellLongitude(cell);
+            Thread.ofVirtual().name("warm-up-" + cell).start(() -> {
+                try {
+                    forecastService.getHourlyForecast(latitude, longitude, units);
+                    fetched.incrementAndGet();
+                } catch (IOException | RuntimeException e) {
+                    failed.incrementAndGet();
+                    LOG.warn("⚠️ Could not warm " + latitude + "," + longitude + ": " + e.getMessage());
+                } finally {
+                    slots.release();
+                }
+            });
+
+            if (System.nanoTime() >= nextReport) {
+                printFetch("⏳", fetched.get(), failed.get(), skipped, total, start);
+                nextReport += REPORT_INTERVAL_NANOS;
+            }
+        }
+        slots.acquire(parallelism); // The last fetches
+        printFetch("✅", fetched.get(), failed.get(), skipped, total, start);
+    }
+
+    private static void printFetch(String icon, long fetched, long failed, long skipped, int total, long start) {
+        double minutes = Math.max(1e-9, (System.nanoTime() - start) / 60e9);
+        double perMinute = (fetched + failed) / minutes;
+        long left = total - skipped - fetched - failed;
+        String eta = left > 0 && perMinute > 0 ? String.format(", about %.1f min left", left / perMinute) : "";
+        System.out.printf("%s %,d/%,d cell(s): %,d fetched, %,d failed, %,d still cached, %.1f per minute%s%n",
+            icon, fetched + failed + skipped, total, fetched, failed, skipped, perMinute, eta);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Hourly forecast as primitive columns in fixed units (°C, km/h, %, mm), whatever units and
+ * provider it was fetched with. Rule evaluation and aggregation scan these arrays instead of
+ * walking lists of WeatherData objects.
+ */
+public class ForecastColumns {
+    private final long[] epochSeconds;
+    private final double[] temperature;
+    private final double[] feelsLike;
+    private final double[] humidity;
+    private final double[] windSpeed;
+    private final double[] precipitation;
+    private final String[] conditions;
+    private volatile DerivedMetrics derived;
+
+    public ForecastColumns(long[] epochSeconds, double[] temperature, double[] feelsLike, double[] humidity,
+                           double[] windSpeed, double[] precipitation, String[] conditions) {
+        this.epochSeconds = epochSeconds;
+        this.temperature = temperature;
+        this.feelsLike = feelsLike;
+        this.humidity = humidity;
+        this.windSpeed = windSpeed;
+        this.precipitation = precipitation;
+        this.conditions = conditions;
+    }
+
+    public static ForecastColumns from(ForecastService.ForecastResult result) {
+        List<WeatherService.WeatherData> forecast = result.getForecast();
+        int size = forecast.size();
+        long[] epochSeconds = new long[size];
+        double[] temperature = new double[size];
+        double[] feelsLike = new double[size];
+        double[] humidity = new double[size];
+        double[] windSpeed = new double[size];
+        double[] precipitation = new double[size];
+        String[] conditions = new String[size];
+        ZoneId zone = ZoneId.systemDefault();
+        for (int i = 0; i < size; i++) {
+            WeatherService.WeatherData data = forecast.get(i);
+            epochSeconds[i] = data.getDateTime().atZone(zone).toEpochSecond();
+            temperature[i] = data.getTemperature();
+            feelsLike[i] = data.getFeelsLike();
+            humidity[i] = data.getHumidity();
+            windSpeed[i] = data.getWindSpeed();
+            precipitation[i] = data.getPrecipitation();
+            conditions[i] = data.getDescription();
+        }
+        // A forecast comes back in one unit system, so whole columns are converted in place
+        if (size > 0 && "imperial".equals(forecast.get(0).getUnits())) {
+            DerivedMetrics.fahrenheitToCelsius(temperature, temperature);
+            DerivedMetrics.fahrenheitToCelsius(feelsLike, feelsLike);
+        }
+        DerivedMetrics.toKmh(windSpeed, result.getWindSpeedUnit(), windSpeed);
+        return new ForecastColumns(epochSeconds, temperature, feelsLike, humidity, windSpeed, precipitation, conditions);
+    }
+
+    /**
+     * Dew point, heat index, wind chill and apparent temperature, computed on first use
+     */
+    public DerivedMetrics getDerived() {
+        DerivedMetrics metrics = derived;
+        if (metrics == null) {
+            metrics = DerivedMetrics.compute(this);
+            derived = metrics;
+        }
+        return metrics;
+    }
+
+    public int size() {
+        return epochSeconds.length;
+    }
+
+    // Getters (arrays are shared, not copied; do not modify)
+    public long[] getEpochSeconds() { return epochSeconds; }
+    public double[] getTemperature() { return temperature; }
+    public double[] getFeelsLike() { return feelsLike; }
+    public double[] getHumidity() { return humidity; }
+    public double[] getWindSpeed() { return windSpeed; }
+    public double[] getPrecipitation() { return precipitation; }
+    public String[] getConditions() { return conditions; }
+}
@@ -0,0 +1,128 @@
+package org.example;
+
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Merges forecasts of the same place from several providers into one.
+ * <p>
+ * The first member's time grid (OpenWeatherMap's 3-hour steps) is kept. Every other member
+ * is linearly interpolated onto it, and only inside the member's own time range, so no member
+ * is extrapolated. Temperature, feels-like, humidity, wind and precipitation are averaged over
+ * the members covering each point. Wind is converted to the first member's unit. Conditions and
+ * icons come from the first member. The lowest and highest member temperature at each point are
+ * kept as the ensemble's spread.
+ */
+final class ForecastEnsemble {
+    private static final int TEMPERATURE = 0, FEELS_LIKE = 1, HUMIDITY = 2, WIND = 3, PRECIPITATION = 4, FIELDS = 5;
+
+    private ForecastEnsemble() {
+    }
+
+    static ForecastService.ForecastResult merge(List<ForecastService.ForecastResult> members) {
+        ZoneId zone = ZoneId.systemDefault();
+        ForecastService.ForecastResult reference = members.get(0);
+        List<WeatherService.WeatherData> grid = reference.getForecast();
+        Series[] others = new Series[members.size() - 1];
+        for (int m = 1; m < members.size(); m++) {
+            double windFactor = DerivedMetrics.kmhPerUnit(members.get(m).getWindSpeedUnit())
+                / DerivedMetrics.kmhPerUnit(reference.getWindSpeedUnit());
+            others[m - 1] = new Series(members.get(m).getForecast(), windFactor, zone);
+        }
+
+        int size = grid.size();
+        WeatherService.WeatherData[] merged = new WeatherService.WeatherData[size];
+        double[] low = new double[size];
+        double[] high = new double[size];
+        int[] counts = new int[size];
+        double[] sums = new double[FIELDS];
+        double[] sample = new double[FIELDS];
+        for (int i = 0; i < size; i++) {
+            WeatherService.WeatherData point = grid.get(i);
+            long time = point.getDateTime().atZone(zone).toEpochSecond();
+            sums[TEMPERATURE] = low[i] = high[i] = point.getTemperature();
+            sums[FEELS_LIKE] = point.getFeelsLike();
+            sums[HUMIDITY] = point.getHumidity();
+            sums[WIND] = point.getWindSpeed();
+            sums[PRECIPITATION] = point.getPrecipitation();
+            int count = 1;
+            for (Series other : others) {
+                if (other.sample(time, sample)) {
+                    for (int f = 0; f < FIELDS; f++) {
+                        sums[f] += sample[f];
+                    }
+                    low[i] = Math.min(low[i], sample[TEMPERATURE]);
+                    high[i] = Math.max(high[i], sample[TEMPERATURE]);
+                    count++;
+                }
+            }
+            counts[i] = count;
+            merged[i] = new WeatherService.WeatherData(
+                sums[TEMPERATURE] / count,
+                sums[FEELS_LIKE] / count,
+                (int) Math.round(sums[HUMIDITY] / count),
+                sums[WIND] / count,
+                sums[PRECIPITATION] / count,
+                point.getDescription(),
+                point.getIcon(),
+                point.getDateTime(),
+                point.getUnits()
+            );
+        }
+
+        StringBuilder source = new StringBuilder("Ensemble (");
+        for (int m = 0; m < members.size(); m++) {
+            source.append(m == 0 ? "" : " + ").append(members.get(m).getDataSource());
+        }
+        source.append(')');
+        return new ForecastService.ForecastResult(List.of(merged), source.toString(), reference.getWindSpeedUnit(),
+            new ForecastService.Spread(low, high, counts));
+    }
+
+    /**
+     * One member as time-sorted columns
+     */
+    private static final class Series {
+        private final long[] times;
+        private final double[][] values;
+
+        Series(List<WeatherService.WeatherData> forecast, double windFactor, ZoneId zone) {
+            WeatherService.WeatherData[] points = forecast.toArray(new WeatherService.WeatherData[0]);
+            Arrays.sort(points, (a, b) -> a.getDateTime().compareTo(b.getDateTime()));
+            times = new long[points.length];
+            values = new double[FIELDS][points.length];
+            for (int i = 0; i < points.length; i++) {
+                times[i] = points[i].getDateTime().atZone(zone).toEpochSecond();
+                values[TEMPERATURE][i] = points[i].getTemperature();
+                values[FEELS_LIKE][i] = points[i].getFeelsLike();
+                values[HUMIDITY][i] = points[i].getHumidity();
+                values[WIND][i] = points[i].getWindSpeed() * windFactor;
+                values[PRECIPITATION][i] = points[i].getPrecipitation();
+            }
+        }
+
+        /**
+         * Interpolate every field at the given time; false if the time is outside this member's range
+         */
+        boolean sample(long time, double[] out) {
+            if (times.length == 0 || time < times[0] || time > times[times.length - 1]) {
+                return false;
+            }
+            int index = Arrays.binarySearch(times, time);
+            if (index >= 0) {
+                for (int f = 0; f < FIELDS; f++) {
+                    out[f] = values[f][index];
+                }
+                return true;
+            }
+            int after = -index - 1;
+            int before = after - 1;
+            double weight = (double) (time - times[before]) / (times[after] - times[before]);
+            for (int f = 0; f < FIELDS; f++) {
+                out[f] = values[f][before] + (values[f][after] - values[f][before]) * weight;
+            }
+            return true;
+        }
+    }
+}
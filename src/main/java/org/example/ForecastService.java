@@ -0,0 +1,317 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Forecast facade over the OpenWeatherMap service with the free wttr.in service as fallback.
+ * With WEATHER_SERVICE_TYPE=ensemble both are queried in parallel and merged (see ForecastEnsemble);
+ * with WEATHER_SERVICE_TYPE=synthetic every forecast comes from the offline synthetic provider instead.
+ * Async calls run on virtual threads so several locations can be fetched at the same time, and
+ * every forecast they fetch is published on the update bus for whoever subscribed. With
+ * FORECAST_CACHE_MINUTES set, forecasts are shared through {@link ForecastCache}.
+ */
+public class ForecastService {
+    private static final AppLogger LOG = AppLogger.get("weather");
+
+    private final WeatherService weatherService;
+    private final FreeWeatherService freeWeatherService;
+    private final SyntheticWeatherService syntheticWeatherService;
+    private final boolean ensemble;
+    private final int ensembleDeadlineMs;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final WeatherUpdateBus updates;
+    private final ForecastCache forecastCache = new ForecastCache();
+
+    // A blocking provider call, run by submit()
+    private interface ForecastCall {
+        ForecastResult call() throws IOException;
+    }
+
+    public ForecastService() {
+        ConfigManager config = ConfigManager.getInstance();
+        String serviceType = config.getWeatherServiceType();
+        this.ensemble = "ensemble".equalsIgnoreCase(serviceType);
+        this.ensembleDeadlineMs = config.getEnsembleDeadlineMs();
+        this.updates = new WeatherUpdateBus(config.getWeatherUpdateBufferSize());
+        if ("synthetic".equalsIgnoreCase(serviceType)) {
+            this.syntheticWeatherService = new SyntheticWeatherService();
+            this.weatherService = null;
+            this.freeWeatherService = null;
+            return;
+        }
+        this.syntheticWeatherService = null;
+
+        WeatherService primary = null;
+        try {
+            primary = new WeatherService();
+            LOG.info("✅ Weather service initialized successfully");
+        } catch (Exception e) {
+            LOG.error("❌ Failed to initialize weather service: " + e.getMessage());
+            LOG.warn("⚠️ Weather features will be limited");
+        }
+        this.weatherService = primary;
+
+        FreeWeatherService fallback = null;
+        try {
+            fallback = new FreeWeatherService();
+            LOG.info("✅ Free weather service initialized successfully");
+        } catch (Exception e) {
+            LOG.error("❌ Failed to initialize free weather service: " + e.getMessage());
+        }
+        this.freeWeatherService = fallback;
+        if (ensemble) {
+            LOG.info("✅ Ensemble mode: querying both weather services, deadline " + ensembleDeadlineMs + " ms");
+        }
+    }
+
+    /**
+     * The hourly forecast from the shared cache if it holds a fresh one for this grid cell,
+     * otherwise fetched and cached
+     */
+    public ForecastResult getHourlyForecast(double latitude, double longitude, String units) throws IOException {
+        ForecastResult cached = forecastCache.get(latitude, longitude, units);
+        if (cached != null) {
+            LOG.debug(() -> "Forecast for " + latitude + "," + longitude + " served from the cache");
+            return cached;
+        }
+        ForecastResult result = fetchHourlyForecast(latitude, longitude, units);
+        forecastCache.put(latitude, longitude, units, result);
+        return result;
+    }
+
+    /**
+     * Fetch the hourly forecast, falling back to the free service when the API key is rejected.
+     * Each attempt gets what is left of the active {@link Deadline}; there is no fallback once it has passed.
+     */
+    private ForecastResult fetchHourlyForecast(double latitude, double longitude, String units) throws IOException {
+        if (syntheticWeatherService != null) {
+            return new ForecastResult(syntheticWeatherService.getHourlyForecast(latitude, longitude, units), "Synthetic",
+                "imperial".equals(units) ? "mph" : "km/h");
+        }
+        if (ensemble && weatherService != null && freeWeatherService != null) {
+            return getEnsembleForecast(latitude, longitude, units);
+        }
+        if (weatherService != null) {
+            try {
+                return getPrimaryForecast(latitude, longitude, units);
+            } catch (IOException e) {
+                if (e.getMessage() == null || !e.getMessage().contains("401")) {
+                    throw e; // Re-throw if not API key issue
+                }
+                if (freeWeatherService == null) {
+                    throw new IOException("No weather services available");
+                }
+                Deadline.current().check("Free weather fallback");
+                try {
+                    return getFreeForecast(latitude, longitude, units);
+                } catch (DeadlineExceededException freeE) {
+                    throw freeE;
+                } catch (IOException freeE) {
+                    throw e; // Re-throw original error
+                }
+            }
+        } else if (freeWeatherService != null) {
+            try {
+                return getFreeForecast(latitude, longitude, units);
+            } catch (IOException e) {
+                throw new IOException("Free weather service failed: " + e.getMessage());
+            }
+        }
+        throw new IOException("No weather services available");
+    }
+
+    /**
+     * Fetch the hourly forecast on a virtual thread and publish it on the update bus. Cancelling
+     * the returned future interrupts that thread, which aborts a blocking HTTP call or a synthetic
+     * delay in progress; a forecast that already arrived is still published. The deadline active
+     * on the calling thread carries over, and the future fails once it passes.
+     */
+    public CompletableFuture<ForecastResult> getHourlyForecastAsync(double latitude, double longitude, String units) {
+        return submit(() -> {
+            ForecastResult result;
+            Span fetch = Tracing.span("forecast.fetch")
+                .setAttribute("geo.latitude", latitude).setAttribute("geo.longitude", longitude).setAttribute("weather.units", units);
+            try (fetch; Tracing.Scope scope = fetch.activate()) {
+                try {
+                    result = getHourlyForecast(latitude, longitude, units);
+                } catch (IOException | RuntimeException e) {
+                    fetch.recordError(e);
+                    throw e;
+                }
+                fetch.setAttribute("weather.source", result.getDataSource());
+            }
+            updates.publish(new WeatherUpdated(latitude, longitude, units, result, ForecastColumns.from(result), Instant.now()));
+            return result;
+        });
+    }
+
+    /**
+     * Fresh forecasts from getHourlyForecastAsync, for the chart, caches, alerts and history
+     */
+    public WeatherUpdateBus getUpdates() {
+        return updates;
+    }
+
+    private CompletableFuture<ForecastResult> submit(ForecastCall call) {
+        CompletableFuture<ForecastResult> result = new CompletableFuture<>();
+        Span parent = Tracing.current();
+        Deadline deadline = Deadline.current();
+        Future<?> task = executor.submit(() -> {
+            try (Tracing.Scope scope = parent.activate(); Deadline.Scope budget = deadline.activate()) {
+                result.complete(call.call());
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(new CompletionException(e));
+            }
+        });
+        if (deadline.isBounded()) {
+            // Give up on time even if the call is stuck somewhere that does not check the deadline
+            CompletableFuture.delayedExecutor(deadline.remainingMillis(), TimeUnit.MILLISECONDS).execute(() ->
+                result.completeExceptionally(new CompletionException(deadline.exceeded("Forecast request"))));
+        }
+        result.whenComplete((forecast, error) -> {
+            if (error != null) {
+                task.cancel(true); // Cancelled or out of time: stop the fetch if it is still running
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Query both services at once and merge what arrives before the deadline. Takes as long as
+     * the slower service, at most ENSEMBLE_DEADLINE_MS or what is left of the active deadline;
+     * a service that fails or runs late is cancelled and left out, and the other one's forecast
+     * is returned on its own.
+     */
+    private ForecastResult getEnsembleForecast(double latitude, double longitude, String units) throws IOException {
+        List<String> names = List.of("OpenWeatherMap", "Free Weather Service");
+        Deadline deadline = Deadline.current().atMost(ensembleDeadlineMs);
+        List<CompletableFuture<ForecastResult>> requests;
+        try (Deadline.Scope budget = deadline.activate()) {
+            requests = List.of(
+                submit(() -> getPrimaryForecast(latitude, longitude, units)),
+                submit(() -> getFreeForecast(latitude, longitude, units)));
+        }
+
+        List<ForecastResult> members = new ArrayList<>(requests.size());
+        IOException failure = null;
+        try {
+            for (int i = 0; i < requests.size(); i++) {
+                try {
+                    members.add(requests.get(i).get(deadline.remainingMillis(), TimeUnit.MILLISECONDS));
+                } catch (TimeoutException e) {
+                    requests.get(i).cancel(true);
+                    LOG.warn("⚠️ " + names.get(i) + " missed the " + deadline.budgetMillis() + " ms ensemble deadline, leaving it out");
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() instanceof CompletionException && e.getCause().getCause() != null
+                        ? e.getCause().getCause() : e.getCause();
+                    LOG.warn("⚠️ " + names.get(i) + " failed, leaving it out of the ensemble: " + cause.getMessage());
+                    if (failure == null) {
+                        failure = cause instanceof IOException io ? io : new IOException(cause.getMessage(), cause);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            requests.forEach(request -> request.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Ensemble forecast interrupted");
+        }
+
+        if (members.isEmpty()) {
+            throw failure != null ? failure : new IOException("No weather service answered within " + deadline.budgetMillis() + " ms");
+        }
+        return members.size() == 1 ? members.get(0) : ForecastEnsemble.merge(members);
+    }
+
+    private ForecastResult getPrimaryForecast(double latitude, double longitude, String units) throws IOException {
+        return new ForecastResult(weatherService.getHourlyForecast(latitude, longitude, units), "OpenWeatherMap",
+            "imperial".equals(units) ? "mph" : "m/s");
+    }
+
+    private ForecastResult getFreeForecast(double latitude, double longitude, String units) throws IOException {
+        List<FreeWeatherService.WeatherData> freeForecast = freeWeatherService.getHourlyForecast(latitude, longitude, units);
+
+        // Convert to main WeatherData format
+        List<WeatherService.WeatherData> forecast = new ArrayList<>(freeForecast.size());
+        for (FreeWeatherService.WeatherData freeData : freeForecast) {
+            forecast.add(new WeatherService.WeatherData(
+                freeData.getTemperature(),
+                freeData.getFeelsLike(),
+                freeData.getHumidity(),
+                freeData.getWindSpeed(),
+                freeData.getPrecipitation(),
+                freeData.getDescription(),
+                freeData.getIcon(),
+                freeData.getDateTime(),
+                freeData.getUnits()
+            ));
+        }
+        return new ForecastResult(forecast, "Free Weather Service", "imperial".equals(units) ? "mph" : "km/h");
+    }
+
+    public boolean isAvailable() {
+        return syntheticWeatherService != null || weatherService != null || freeWeatherService != null;
+    }
+
+    public void close() {
+        executor.shutdownNow();
+        updates.close();
+    }
+
+    public static class ForecastResult {
+        private final List<WeatherService.WeatherData> forecast;
+        private final String dataSource;
+        private final String windSpeedUnit;
+        private final Spread spread;
+
+        public ForecastResult(List<WeatherService.WeatherData> forecast, String dataSource, String windSpeedUnit) {
+            this(forecast, dataSource, windSpeedUnit, null);
+        }
+
+        public ForecastResult(List<WeatherService.WeatherData> forecast, String dataSource, String windSpeedUnit, Spread spread) {
+            this.forecast = forecast;
+            this.dataSource = dataSource;
+            this.windSpeedUnit = windSpeedUnit;
+            this.spread = spread;
+        }
+
+        // Getters
+        public List<WeatherService.WeatherData> getForecast() { return forecast; }
+        public String getDataSource() { return dataSource; }
+        public String getWindSpeedUnit() { return windSpeedUnit; }
+        /** Disagreement between ensemble members, null for a single provider */
+        public Spread getSpread() { return spread; }
+    }
+
+    /**
+     * Lowest and highest member temperature at each point of an ensemble forecast (in the
+     * forecast's units) and how many members covered the point
+     */
+    public static class Spread {
+        private final double[] temperatureLow;
+        private final double[] temperatureHigh;
+        private final int[] members;
+
+        public Spread(double[] temperatureLow, double[] temperatureHigh, int[] members) {
+            this.temperatureLow = temperatureLow;
+            this.temperatureHigh = temperatureHigh;
+            this.members = members;
+        }
+
+        // Getters
+        public double[] getTemperatureLow() { return temperatureLow; }
+        public double[] getTemperatureHigh() { return temperatureHigh; }
+        public int[] getMembers() { return members; }
+    }
+}
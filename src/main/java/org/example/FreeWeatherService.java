@@ -2,15 +2,20 @@ package org.example;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Free weather service using wttr.in (no API key required)
@@ -20,10 +25,34 @@ public class FreeWeatherService {
     
     private final OkHttpClient client;
     private final ObjectMapper objectMapper;
+    private final long attemptTimeoutMs;
     
     public FreeWeatherService() {
         this.client = new OkHttpClient();
         this.objectMapper = new ObjectMapper();
+        this.attemptTimeoutMs = ConfigManager.getInstance().getHttpAttemptTimeoutMs();
+    }
+    
+    /**
+     * Run a request within the time left on the active deadline, at most HTTP_ATTEMPT_TIMEOUT_MS.
+     * The call timeout covers connecting, waiting and reading the body.
+     */
+    private Response execute(Request request) throws IOException {
+        Deadline deadline = Deadline.current();
+        long timeoutMs = deadline.attemptMillis(attemptTimeoutMs, "Free weather request");
+        Call call = client.newCall(request);
+        call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            return call.execute();
+        } catch (InterruptedIOException e) {
+            if (deadline.isExpired()) {
+                throw deadline.exceeded("Free weather request");
+            }
+            if (!Thread.currentThread().isInterrupted() && "timeout".equals(e.getMessage())) {
+                throw new SocketTimeoutException("Free weather request timed out after " + timeoutMs + " ms");
+            }
+            throw e;
+        }
     }
     
     /**
@@ -31,14 +60,14 @@ public class FreeWeatherService {
      */
     public WeatherData getCurrentWeather(double latitude, double longitude, String units) throws IOException {
         // wttr.in provides weather data in JSON format
-        String url = String.format("https://wttr.in/?format=j1&lang=en");
+        String url = String.format(Locale.ROOT, "https://wttr.in/%.4f,%.4f?format=j1&lang=en", latitude, longitude);
         
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("User-Agent", "WeatherApp/1.0")
                 .build();
         
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = execute(request)) {
             if (!response.isSuccessful()) {
                 throw new IOException("Weather service unavailable: " + response.code());
             }
@@ -54,22 +83,39 @@ public class FreeWeatherService {
      * Get weather forecast using wttr.in
      */
     public List<WeatherData> getHourlyForecast(double latitude, double longitude, String units) throws IOException {
-        String url = String.format("https://wttr.in/?format=j1&lang=en");
+        String url = String.format(Locale.ROOT, "https://wttr.in/%.4f,%.4f?format=j1&lang=en", latitude, longitude);
         
         Request request = new Request.Builder()
                 .url(url)
                 .addHeader("User-Agent", "WeatherApp/1.0")
                 .build();
         
-        try (Response response = client.newCall(request).execute()) {
+        String responseBody;
+        Span http = Tracing.span("GET", Span.Kind.CLIENT)
+            .setAttribute("http.request.method", "GET")
+            .setAttribute("server.address", request.url().host())
+            .setAttribute("url.path", request.url().encodedPath());
+        try (Response response = execute(request)) {
+            http.setAttribute("http.response.status_code", response.code());
             if (!response.isSuccessful()) {
                 throw new IOException("Weather service unavailable: " + response.code());
             }
-            
-            String responseBody = response.body().string();
+            responseBody = response.body().string();
+        } catch (IOException e) {
+            http.recordError(e);
+            throw e;
+        } finally {
+            http.end();
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Forecast request cancelled");
+        }
+        
+        try (Span parse = Tracing.span("forecast.parse")) {
             JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            return parseWttrForecast(jsonNode, units);
+            List<WeatherData> forecast = parseWttrForecast(jsonNode, latitude, longitude, units);
+            parse.setAttribute("forecast.points", forecast.size());
+            return forecast;
         }
     }
     
@@ -105,12 +151,23 @@ public class FreeWeatherService {
         }
     }
     
-    private List<WeatherData> parseWttrForecast(JsonNode jsonNode, String units) {
+    private List<WeatherData> parseWttrForecast(JsonNode jsonNode, double latitude, double longitude, String units) {
         List<WeatherData> forecast = new ArrayList<>();
         
         try {
             JsonNode weatherArray = jsonNode.get("weather");
             if (weatherArray != null && weatherArray.isArray()) {
+                // Read the metric values into columns first and convert them in bulk
+                int capacity = Math.min(weatherArray.size(), 5) * 8;
+                double[] temperatures = new double[capacity];
+                double[] feelsLike = new double[capacity];
+                double[] windSpeeds = new double[capacity];
+                int[] humidities = new int[capacity];
+                double[] precipitation = new double[capacity];
+                String[] descriptions = new String[capacity];
+                LocalDateTime[] dateTimes = new LocalDateTime[capacity];
+                int count = 0;
+                
                 for (int i = 0; i < Math.min(weatherArray.size(), 5); i++) {
                     JsonNode day = weatherArray.get(i);
                     JsonNode hourly = day.get("hourly");
@@ -119,39 +176,44 @@ public class FreeWeatherService {
                         for (int j = 0; j < Math.min(hourly.size(), 8); j++) {
                             JsonNode hour = hourly.get(j);
                             
-                            double tempC = hour.get("tempC").asDouble();
-                            double feelsLikeC = hour.get("FeelsLikeC").asDouble();
-                            int humidity = hour.get("humidity").asInt();
-                            double windSpeed = hour.get("windspeedKmph").asDouble();
-                            String description = hour.get("weatherDesc").get(0).get("value").asText();
-                            
-                            // Convert to imperial if needed
-                            if ("imperial".equals(units)) {
-                                tempC = (tempC * 9.0 / 5.0) + 32;
-                                feelsLikeC = (feelsLikeC * 9.0 / 5.0) + 32;
-                                windSpeed = windSpeed * 0.621371;
-                            }
+                            temperatures[count] = hour.get("tempC").asDouble();
+                            feelsLike[count] = hour.get("FeelsLikeC").asDouble();
+                            humidities[count] = hour.get("humidity").asInt();
+                            windSpeeds[count] = hour.get("windspeedKmph").asDouble();
+                            precipitation[count] = hour.path("precipMM").asDouble(0);
+                            descriptions[count] = hour.get("weatherDesc").get(0).get("value").asText();
                             
                             // Create datetime for this hour
-                            LocalDateTime dateTime = LocalDateTime.now().plusDays(i).withHour(j * 3);
-                            
-                            forecast.add(new WeatherData(
-                                tempC,
-                                feelsLikeC,
-                                humidity,
-                                windSpeed,
-                                description,
-                                "01d",
-                                dateTime,
-                                units
-                            ));
+                            dateTimes[count] = LocalDateTime.now().plusDays(i).withHour(j * 3);
+                            count++;
                         }
                     }
                 }
+                
+                // Convert to imperial if needed
+                if ("imperial".equals(units)) {
+                    DerivedMetrics.celsiusToFahrenheit(temperatures, temperatures);
+                    DerivedMetrics.celsiusToFahrenheit(feelsLike, feelsLike);
+                    DerivedMetrics.kmhToMph(windSpeeds, windSpeeds);
+                }
+                
+                for (int i = 0; i < count; i++) {
+                    forecast.add(new WeatherData(
+                        temperatures[i],
+                        feelsLike[i],
+                        humidities[i],
+                        windSpeeds[i],
+                        precipitation[i],
+                        descriptions[i],
+                        "01d",
+                        dateTimes[i],
+                        units
+                    ));
+                }
             }
         } catch (Exception e) {
             // Fallback to demo data
-            return createDemoForecast(units);
+            return createDemoForecast(latitude, longitude, units);
         }
         
         return forecast;
@@ -175,30 +237,23 @@ public class FreeWeatherService {
         );
     }
     
-    private List<WeatherData> createDemoForecast(String units) {
+    private List<WeatherData> createDemoForecast(double latitude, double longitude, String units) {
+        long hour = System.currentTimeMillis() / 1000 / 3600 * 3600;
         List<WeatherData> forecast = new ArrayList<>();
-        LocalDateTime now = LocalDateTime.now();
-        
-        for (int i = 0; i < 24; i++) {
-            LocalDateTime dateTime = now.plusHours(i);
-            double baseTemp = 20.0 + 5 * Math.sin((i / 24.0) * 2 * Math.PI);
-            
-            if ("imperial".equals(units)) {
-                baseTemp = (baseTemp * 9.0 / 5.0) + 32;
-            }
-            
+        for (WeatherService.WeatherData data : SyntheticWeatherService.generateForecast(
+                ConfigManager.getInstance().getSyntheticSeed(), latitude, longitude, units, hour, 24, 1)) {
             forecast.add(new WeatherData(
-                baseTemp,
-                baseTemp + 2,
-                60 + (int)(Math.random() * 20),
-                8.0 + Math.random() * 4,
-                "Partly Cloudy",
-                "02d",
-                dateTime,
+                data.getTemperature(),
+                data.getFeelsLike(),
+                data.getHumidity(),
+                data.getWindSpeed(),
+                data.getPrecipitation(),
+                data.getDescription(),
+                data.getIcon(),
+                data.getDateTime(),
                 units
             ));
         }
-        
         return forecast;
     }
     
@@ -208,6 +263,7 @@ public class FreeWeatherService {
         private final double feelsLike;
         private final int humidity;
         private final double windSpeed;
+        private final double precipitation;
         private final String description;
         private final String icon;
         private final LocalDateTime dateTime;
@@ -216,10 +272,20 @@ public class FreeWeatherService {
         public WeatherData(double temperature, double feelsLike, int humidity, 
                          double windSpeed, String description, String icon, 
                          LocalDateTime dateTime, String units) {
+            this(temperature, feelsLike, humidity, windSpeed, 0.0, description, icon, dateTime, units);
+        }
+        
+        /**
+         * @param precipitation rain and snow in mm for the period this point covers, whatever the units
+         */
+        public WeatherData(double temperature, double feelsLike, int humidity, 
+                         double windSpeed, double precipitation, String description, String icon, 
+                         LocalDateTime dateTime, String units) {
             this.temperature = temperature;
             this.feelsLike = feelsLike;
             this.humidity = humidity;
             this.windSpeed = windSpeed;
+            this.precipitation = precipitation;
             this.description = description;
             this.icon = icon;
             this.dateTime = dateTime;
@@ -231,6 +297,7 @@ public class FreeWeatherService {
         public double getFeelsLike() { return feelsLike; }
         public int getHumidity() { return humidity; }
         public double getWindSpeed() { return windSpeed; }
+        public double getPrecipitation() { return precipitation; }
         public String getDescription() { return description; }
         public String getIcon() { return icon; }
         public LocalDateTime getDateTime() { return dateTime; }
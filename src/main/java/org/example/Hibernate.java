@@ -6,7 +6,8 @@ import org.hibernate.cfg.Configuration;
 
 public class Hibernate{
     public static void main(String[] args) {
-        SessionFactory factory = new Configuration().configure().buildSessionFactory();
+        Configuration config = HibernateBootstrap.standaloneConfiguration();
+        SessionFactory factory = HibernateBootstrap.buildSessionFactory(config);
         Session session = factory.openSession();
 
         session.beginTransaction();
@@ -16,6 +17,6 @@ public class Hibernate{
         session.close();
         factory.close();
 
-        System.out.println("✅ User inserted into Oracle DB!");
+        System.out.println("✅ User inserted into " + config.getProperty("hibernate.connection.url"));
     }
 }
\ No newline at end of file
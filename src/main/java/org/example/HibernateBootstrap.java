@@ -0,0 +1,78 @@
+package org.example;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single place that turns hibernate.cfg.xml, the DB_PROFILE settings and the entity classes
+ * into a SessionFactory. DatabaseService boots on its connection pool; the command line
+ * utilities (DatabaseInitializer, DatabaseConnectionTest, Hibernate, benchmarks) use the
+ * standalone variant, which opens its own connections and applies migrations first.
+ */
+public final class HibernateBootstrap {
+    private static final AppLogger LOG = AppLogger.get("db");
+
+    static final List<Class<?>> ENTITY_CLASSES = List.of(User.class, UserPreference.class, SavedLocation.class, AlertRule.class);
+
+    static {
+        // Send Hibernate's logging to slf4j (warnings only, see simplelogger.properties) instead of java.util.logging on stderr
+        if (System.getProperty("org.jboss.logging.provider") == null) {
+            System.setProperty("org.jboss.logging.provider", "slf4j");
+        }
+    }
+
+    private HibernateBootstrap() {
+    }
+
+    /**
+     * Configuration for the application: connections come from the given pool, migrations are run by the caller
+     */
+    public static Configuration configuration(DatabaseProfile profile, DataSource dataSource) {
+        Configuration config = baseConfiguration(profile, false);
+        config.getProperties().put(AvailableSettings.JAKARTA_NON_JTA_DATASOURCE, dataSource);
+        return config;
+    }
+
+    /**
+     * Configuration for command line utilities: migrates the DB_PROFILE database and connects to it directly
+     */
+    public static Configuration standaloneConfiguration() {
+        DatabaseProfile profile = DatabaseProfile.current();
+        SchemaMigrations.migrate(profile);
+        return baseConfiguration(profile, true);
+    }
+
+    public static SessionFactory buildStandaloneSessionFactory() {
+        return buildSessionFactory(standaloneConfiguration());
+    }
+
+    public static SessionFactory buildSessionFactory(Configuration config) {
+        long start = System.nanoTime();
+        SessionFactory sessionFactory = config.buildSessionFactory();
+        LOG.info("✅ Hibernate SessionFactory built in "
+            + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        return sessionFactory;
+    }
+
+    private static Configuration baseConfiguration(DatabaseProfile profile, boolean withConnectionSettings) {
+        Configuration config = new Configuration().configure();
+        profile.applyTo(config, withConnectionSettings);
+        if (ConfigManager.getInstance().isSqlLoggingEnabled()) {
+            config.setProperty("hibernate.show_sql", "true");
+            config.setProperty("hibernate.format_sql", "true");
+        }
+        if (Tracing.isEnabled()) {
+            config.setProperty(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, TracingSessionListener.class.getName());
+            config.setProperty(AvailableSettings.STATEMENT_INSPECTOR, TracingSessionListener.class.getName());
+        }
+        for (Class<?> entityClass : ENTITY_CLASSES) {
+            config.addAnnotatedClass(entityClass);
+        }
+        return config;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * Bulk insert benchmark for saved locations and preferences.
+ * <p>
+ * Runs the same workload twice: with hibernate.jdbc.batch_size=1, which is what IDENTITY ids forced
+ * on Hibernate (one INSERT round-trip per row), and with the configured batch size that sequence ids
+ * with the pooled-lo optimizer allow. The gap grows with network latency to the database.
+ * <p>
+ * Runs against the database selected by DB_PROFILE; h2-mem needs no setup at all.
+ * <p>
+ * Usage: InsertBatchingBenchmark [rowsPerEntity]
+ */
+public class InsertBatchingBenchmark {
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        System.out.println("⏱️ Insert benchmark: " + rows + " locations + " + rows + " preferences per run");
+
+        double unbatched = run("1", rows);
+        double batched = run(null, rows);
+        System.out.printf("📊 Batched inserts are %.1fx faster than row-by-row%n", batched / unbatched);
+    }
+
+    /**
+     * Insert the workload with the given batch size (null keeps hibernate.cfg.xml's value) and return rows/second
+     */
+    private static double run(String batchSize, int rows) {
+        Configuration config = HibernateBootstrap.standaloneConfiguration();
+        config.setProperty("hibernate.show_sql", "false");
+        if (batchSize != null) {
+            config.setProperty("hibernate.jdbc.batch_size", batchSize);
+        }
+        String effectiveBatchSize = config.getProperty("hibernate.jdbc.batch_size");
+
+        try (SessionFactory sessionFactory = HibernateBootstrap.buildSessionFactory(config)) {
+            insert(sessionFactory, Math.min(rows, 200)); // warm-up
+            long start = System.nanoTime();
+            insert(sessionFactory, rows);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            double rowsPerSecond = rows * 2 / seconds;
+            System.out.printf("   batch_size=%-4s %,10.0f rows/s (%.2f s)%n", effectiveBatchSize, rowsPerSecond, seconds);
+            return rowsPerSecond;
+        }
+    }
+
+    private static void insert(SessionFactory sessionFactory, int rows) {
+        Long userId;
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            User user = new User("benchmark-" + System.nanoTime() + "@example.com", "benchmark", "Benchmark");
+            session.persist(user);
+            for (int i = 0; i < rows; i++) {
+                session.persist(new SavedLocation("Benchmark " + i, (i % 180) - 90.0, (i % 360) - 180.0, user));
+                session.persist(new UserPreference("benchmark." + i, Integer.toString(i), user));
+                if (i % 500 == 499) {
+                    session.flush();
+                    session.clear();
+                    user = session.getReference(User.class, user.getId());
+                }
+            }
+            session.getTransaction().commit();
+            userId = user.getId();
+        }
+
+        // Clean up so repeated runs do not grow the tables
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.createMutationQuery("DELETE FROM SavedLocation WHERE user.id = :userId").setParameter("userId", userId).executeUpdate();
+            session.createMutationQuery("DELETE FROM UserPreference WHERE user.id = :userId").setParameter("userId", userId).executeUpdate();
+            session.createMutationQuery("DELETE FROM User WHERE id = :userId").setParameter("userId", userId).executeUpdate();
+            session.getTransaction().commit();
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk import and export of saved locations as CSV or JSON.
+ * <p>
+ * Input is streamed row by row and inserted in chunks with JDBC batching, so files with
+ * thousands of rows never sit in memory at once. Export streams rows straight from a scrollable
+ * query. The format is chosen from the file extension (.json, anything else is CSV).
+ * <p>
+ * Imports are not atomic: every chunk commits in its own transaction, so when a read or
+ * database error stops an import part-way, the chunks before it stay stored. The progress
+ * listener's last count is the number of rows committed.
+ * <p>
+ * CSV layout: {@code location_name,latitude,longitude} with an optional header row; names may be
+ * double-quoted. JSON layout: an array of {@code {"name": ..., "latitude": ..., "longitude": ...}}.
+ */
+public class LocationImportExport {
+    private static final AppLogger LOG = AppLogger.get("db.import");
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final DatabaseService databaseService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Receives the running row count after every chunk
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long processed);
+    }
+
+    public LocationImportExport(DatabaseService databaseService) {
+        this.databaseService = databaseService;
+    }
+
+    public ImportResult importLocations(Long userId, Path file, ProgressListener listener) throws IOException {
+        ChunkWriter writer = new ChunkWriter(userId, listener);
+        if (isJson(file)) {
+            importJson(file, writer);
+        } else {
+            importCsv(file, writer);
+        }
+        writer.finish();
+        return new ImportResult(writer.imported, writer.skipped);
+    }
+
+    public long exportLocations(Long userId, Path file, ProgressListener listener) throws IOException {
+        try {
+            if (isJson(file)) {
+                return exportJson(userId, file, listener);
+            }
+            return exportCsv(userId, file, listener);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void importCsv(Path file, ChunkWriter writer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                List<String> fields = parseCsvLine(line);
+                if (lineNumber == 1 && fields.size() >= 3 && !isNumber(fields.get(1))) {
+                    continue; // header row
+                }
+                if (fields.size() < 3) {
+                    writer.skip("line " + lineNumber + ": expected name,latitude,longitude");
+                    continue;
+                }
+                writer.add(fields.get(0), fields.get(1), fields.get(2), "line " + lineNumber);
+            }
+        }
+    }
+
+    private void importJson(Path file, ChunkWriter writer) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of locations");
+            }
+            long index = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                JsonNode node = objectMapper.readTree(parser);
+                String name = node.hasNonNull("name") ? node.get("name").asText() : node.path("locationName").asText("");
+                writer.add(name, node.path("latitude").asText(""), node.path("longitude").asText(""), "element " + index++);
+            }
+        }
+    }
+
+    private long exportCsv(Long userId, Path file, ProgressListener listener) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("location_name,latitude,longitude");
+            out.newLine();
+            long[] count = {0};
+            databaseService.forEachUserLocation(userId, location -> {
+                try {
+                    out.write(quoteCsv(location.getLocationName()));
+                    out.write(',');
+                    out.write(Double.toString(location.getLatitude()));
+                    out.write(',');
+                    out.write(Double.toString(location.getLongitude()));
+                    out.newLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++count[0] % CHUNK_SIZE == 0) {
+                    listener.onProgress(count[0]);
+                }
+            });
+            listener.onProgress(count[0]);
+            return count[0];
+        }
+    }
+
+    private long exportJson(Long userId, Path file, ProgressListener listener) throws IOException {
+        JsonFactory factory = objectMapper.getFactory();
+        try (JsonGenerator out = factory.createGenerator(file.toFile(), JsonEncoding.UTF8)) {
+            out.writeStartArray();
+            long[] count = {0};
+            databaseService.forEachUserLocation(userId, location -> {
+                try {
+                    out.writeStartObject();
+                    out.writeStringField("name", location.getLocationName());
+                    out.writeNumberField("latitude", location.getLatitude());
+                    out.writeNumberField("longitude", location.getLongitude());
+                    out.writeEndObject();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                if (++count[0] % CHUNK_SIZE == 0) {
+                    listener.onProgress(count[0]);
+                }
+            });
+            out.writeEndArray();
+            listener.onProgress(count[0]);
+            return count[0];
+        }
+    }
+
+    /**
+     * Collects valid rows and flushes them to the database one chunk at a time
+     */
+    private class ChunkWriter {
+        private final Long userId;
+        private final ProgressListener listener;
+        private final List<LocationSummary> chunk = new ArrayList<>(CHUNK_SIZE);
+        private long imported;
+        private long skipped;
+
+        ChunkWriter(Long userId, ProgressListener listener) {
+            this.userId = userId;
+            this.listener = listener;
+        }
+
+        void add(String name, String latitudeText, String longitudeText, String position) {
+            name = name == null ? "" : name.trim();
+            double latitude;
+            double longitude;
+            try {
+                latitude = Double.parseDouble(latitudeText.trim());
+                longitude = Double.parseDouble(longitudeText.trim());
+            } catch (NumberFormatException e) {
+                skip(position + ": latitude and longitude must be numbers");
+                return;
+            }
+            if (name.isEmpty() || !Double.isFinite(latitude) || !Double.isFinite(longitude)
+                    || Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+                skip(position + ": missing name or coordinates out of range");
+                return;
+            }
+            chunk.add(new LocationSummary(null, name, latitude, longitude, LocalDateTime.now()));
+            if (chunk.size() >= CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void skip(String reason) {
+            skipped++;
+            if (skipped <= 10) {
+                LOG.warn("⚠️ Skipping " + reason);
+            }
+        }
+
+        void flush() {
+            databaseService.insertLocationsBatch(userId, chunk);
+            imported += chunk.size();
+            chunk.clear();
+            listener.onProgress(imported);
+        }
+
+        void finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+        }
+    }
+
+    private static boolean isJson(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".json");
+    }
+
+    private static boolean isNumber(String text) {
+        try {
+            Double.parseDouble(text.trim());
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Import reads one record per line, so line breaks in a name become spaces
+     */
+    private static String quoteCsv(String value) {
+        value = value.replace("\r\n", " ").replace('\r', ' ').replace('\n', ' ');
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public static class ImportResult {
+        private final long imported;
+        private final long skipped;
+
+        public ImportResult(long imported, long skipped) {
+            this.imported = imported;
+            this.skipped = skipped;
+        }
+
+        // Getters
+        public long getImported() { return imported; }
+        public long getSkipped() { return skipped; }
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory name index over all of a user's saved locations for the dashboard's filter box.
+ * <p>
+ * Matches are case-insensitive substrings of the location name, returned oldest first. While
+ * the user keeps typing, each query extends the previous one, so only the previous matches are
+ * scanned again instead of every location. Not thread-safe: build it anywhere, then use it
+ * from one thread.
+ */
+public class LocationIndex {
+    private final List<LocationSummary> entries = new ArrayList<>();
+    private final List<String> keys = new ArrayList<>();
+    private String lastQuery;
+    private int[] lastMatches;
+
+    public void add(LocationSummary location) {
+        entries.add(location);
+        keys.add(key(location.getLocationName()));
+        lastQuery = null;
+    }
+
+    public void removeIds(Collection<Long> ids) {
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (ids.contains(entries.get(i).getId())) {
+                entries.remove(i);
+                keys.remove(i);
+            }
+        }
+        lastQuery = null;
+    }
+
+    /**
+     * Locations whose name contains the query, ignoring case
+     */
+    public List<LocationSummary> search(String query) {
+        String needle = key(query);
+        int[] matches;
+        if (lastQuery != null && needle.contains(lastQuery)) {
+            // Narrowing the previous query: its matches are the only candidates
+            matches = scan(needle, lastMatches, lastMatches.length);
+        } else {
+            matches = scan(needle, null, entries.size());
+        }
+        lastQuery = needle;
+        lastMatches = matches;
+
+        List<LocationSummary> result = new ArrayList<>(matches.length);
+        for (int index : matches) {
+            result.add(entries.get(index));
+        }
+        return result;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private int[] scan(String needle, int[] candidates, int count) {
+        int[] matches = new int[count];
+        int found = 0;
+        for (int i = 0; i < count; i++) {
+            int index = candidates == null ? i : candidates[i];
+            if (keys.get(index).contains(needle)) {
+                matches[found++] = index;
+            }
+        }
+        int[] trimmed = new int[found];
+        System.arraycopy(matches, 0, trimmed, 0, found);
+        return trimmed;
+    }
+
+    private static String key(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a saved location, detached from any Hibernate session
+ */
+public class LocationSummary {
+    private final Long id;
+    private final String locationName;
+    private final double latitude;
+    private final double longitude;
+    private final LocalDateTime createdAt;
+
+    public LocationSummary(Long id, String locationName, double latitude, double longitude, LocalDateTime createdAt) {
+        this.id = id;
+        this.locationName = locationName;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.createdAt = createdAt;
+    }
+
+    public static LocationSummary from(SavedLocation location) {
+        return new LocationSummary(
+            location.getId(),
+            location.getLocationName(),
+            location.getLatitude(),
+            location.getLongitude(),
+            location.getCreatedAt()
+        );
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getLocationName() { return locationName; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
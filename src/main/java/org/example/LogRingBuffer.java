@@ -0,0 +1,61 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue with many producers and a single consumer, used by AppLogger.
+ * <p>
+ * Producers claim a sequence number with one CAS and publish into that slot; the consumer
+ * takes slots in sequence order and clears them. When the consumer falls a full buffer behind,
+ * {@link #offer} fails instead of blocking so logging never stalls the caller.
+ */
+final class LogRingBuffer {
+    private final AtomicReferenceArray<AppLogger.LogRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong(); // next sequence to claim
+    private final AtomicLong head = new AtomicLong(); // next sequence to consume
+
+    LogRingBuffer(int capacityPowerOfTwo) {
+        if (Integer.bitCount(capacityPowerOfTwo) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacityPowerOfTwo);
+        }
+        this.slots = new AtomicReferenceArray<>(capacityPowerOfTwo);
+        this.mask = capacityPowerOfTwo - 1;
+    }
+
+    /**
+     * Publish a record; returns false when the buffer is full
+     */
+    boolean offer(AppLogger.LogRecord record) {
+        while (true) {
+            long sequence = tail.get();
+            if (sequence - head.get() >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(sequence, sequence + 1)) {
+                slots.set((int) (sequence & mask), record);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Next record in publish order, or null if none is ready (consumer thread only)
+     */
+    AppLogger.LogRecord poll() {
+        long sequence = head.get();
+        int index = (int) (sequence & mask);
+        AppLogger.LogRecord record = slots.get(index);
+        if (record == null) {
+            return null; // empty, or the producer that claimed this slot has not published yet
+        }
+        slots.set(index, null);
+        head.lazySet(sequence + 1);
+        return record;
+    }
+
+    boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+}
@@ -7,13 +7,19 @@ import org.example.ui.SceneRouter;
 public class Main extends Application {
     @Override
     public void start(Stage stage) {
+        // The login view shows right away; it enables itself once the database is ready
         SceneRouter.init(stage, "Weather App Demo");
         SceneRouter.get().showLogin();
     }
 
+    @Override
+    public void stop() {
+        AppBootstrap.getInstance().shutdown();
+    }
+
     public static void main(String[] args) {
-        // Print configuration status on startup
-        ConfigManager.getInstance().printConfigStatus();
+        // Config check, database and HTTP clients initialize in the background while JavaFX starts
+        AppBootstrap.getInstance().start();
         launch();
     }
 }
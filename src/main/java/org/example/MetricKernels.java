@@ -0,0 +1,21 @@
+package org.example;
+
+/**
+ * Bulk arithmetic behind DerivedMetrics: each method reads whole columns and writes one
+ * result column (which may be one of the inputs). Inputs in °C, % and km/h; outputs in °C.
+ */
+interface MetricKernels {
+
+    /**
+     * out[i] = in[i] * factor + offset
+     */
+    void scale(double[] in, double factor, double offset, double[] out);
+
+    void dewPoint(double[] temperature, double[] humidity, double[] out);
+
+    void heatIndex(double[] temperature, double[] humidity, double[] out);
+
+    void windChill(double[] temperature, double[] windSpeed, double[] out);
+
+    void apparentTemperature(double[] temperature, double[] humidity, double[] windSpeed, double[] out);
+}
@@ -1,13 +1,18 @@
 package org.example;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "saved_locations")
 public class SavedLocation {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saved_locations_seq")
+    @SequenceGenerator(name = "saved_locations_seq", sequenceName = "saved_locations_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "location_name", nullable = false)
@@ -0,0 +1,95 @@
+package org.example;
+
+/**
+ * Plain loops over the columns; the reference formulas, and what runs when the Vector API
+ * module is not available. The range methods also finish the tails the vector loops leave.
+ */
+final class ScalarMetricKernels implements MetricKernels {
+    // Magnus formula coefficients (Sonntag 1990)
+    static final double MAGNUS_B = 17.62;
+    static final double MAGNUS_C = 243.12;
+
+    @Override
+    public void scale(double[] in, double factor, double offset, double[] out) {
+        scale(in, factor, offset, out, 0, in.length);
+    }
+
+    @Override
+    public void dewPoint(double[] temperature, double[] humidity, double[] out) {
+        dewPoint(temperature, humidity, out, 0, temperature.length);
+    }
+
+    @Override
+    public void heatIndex(double[] temperature, double[] humidity, double[] out) {
+        heatIndex(temperature, humidity, out, 0, temperature.length);
+    }
+
+    @Override
+    public void windChill(double[] temperature, double[] windSpeed, double[] out) {
+        windChill(temperature, windSpeed, out, 0, temperature.length);
+    }
+
+    @Override
+    public void apparentTemperature(double[] temperature, double[] humidity, double[] windSpeed, double[] out) {
+        apparentTemperature(temperature, humidity, windSpeed, out, 0, temperature.length);
+    }
+
+    static void scale(double[] in, double factor, double offset, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = in[i] * factor + offset;
+        }
+    }
+
+    static void dewPoint(double[] temperature, double[] humidity, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double t = temperature[i];
+            double gamma = Math.log(Math.max(humidity[i], 1) / 100) + MAGNUS_B * t / (MAGNUS_C + t);
+            out[i] = MAGNUS_C * gamma / (MAGNUS_B - gamma);
+        }
+    }
+
+    /**
+     * NWS heat index: Steadman's simple formula, or the Rothfusz regression once that reaches 80 °F
+     */
+    static void heatIndex(double[] temperature, double[] humidity, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double f = temperature[i] * 1.8 + 32;
+            double rh = humidity[i];
+            double simple = 0.5 * (f + 61 + (f - 68) * 1.2 + rh * 0.094);
+            double index = (simple + f) / 2 < 80 ? simple : rothfusz(f, rh);
+            out[i] = (index - 32) / 1.8;
+        }
+    }
+
+    static double rothfusz(double f, double rh) {
+        return -42.379 + 2.04901523 * f + 10.14333127 * rh - 0.22475541 * f * rh - 0.00683783 * f * f
+            - 0.05481717 * rh * rh + 0.00122874 * f * f * rh + 0.00085282 * f * rh * rh - 0.00000199 * f * f * rh * rh;
+    }
+
+    /**
+     * Canadian/US wind chill index, defined at or below 10 °C with wind above 4.8 km/h; otherwise the air temperature
+     */
+    static void windChill(double[] temperature, double[] windSpeed, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double t = temperature[i];
+            double v = windSpeed[i];
+            if (t <= 10 && v > 4.8) {
+                double v16 = Math.pow(v, 0.16);
+                out[i] = 13.12 + 0.6215 * t - 11.37 * v16 + 0.3965 * t * v16;
+            } else {
+                out[i] = t;
+            }
+        }
+    }
+
+    /**
+     * Steadman's apparent temperature (shade, as used by the Australian Bureau of Meteorology)
+     */
+    static void apparentTemperature(double[] temperature, double[] humidity, double[] windSpeed, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double t = temperature[i];
+            double vapourPressure = humidity[i] / 100 * 6.105 * Math.exp(17.27 * t / (237.7 + t));
+            out[i] = t + 0.33 * vapourPressure - 0.70 * (windSpeed[i] / 3.6) - 4.0;
+        }
+    }
+}
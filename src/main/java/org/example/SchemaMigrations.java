@@ -0,0 +1,57 @@
+package org.example;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.flywaydb.core.api.output.MigrateResult;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Versioned schema migrations (Flyway), replacing hibernate.hbm2ddl.auto=update.
+ * <p>
+ * Scripts live in db/migration/oracle and db/migration/h2. On each start Flyway checks the
+ * checksums of applied scripts against the ones on the classpath and applies any newer ones.
+ * When nothing is pending this is a single query against flyway_schema_history, instead of
+ * Hibernate reading the metadata of every table. Schemas created by the old hbm2ddl setup are
+ * baselined at version 1.
+ */
+public final class SchemaMigrations {
+    private static final AppLogger LOG = AppLogger.get("db.migrations");
+
+    private SchemaMigrations() {
+    }
+
+    /**
+     * Migrate the database behind the given DataSource (the application's pool)
+     */
+    public static MigrateResult migrate(DataSource dataSource, DatabaseProfile profile) {
+        return migrate(Flyway.configure().dataSource(dataSource), profile);
+    }
+
+    /**
+     * Migrate using the profile's own connection settings (command line utilities without a pool)
+     */
+    public static MigrateResult migrate(DatabaseProfile profile) {
+        return migrate(Flyway.configure().dataSource(profile.getJdbcUrl(), profile.getUsername(), profile.getPassword()), profile);
+    }
+
+    private static MigrateResult migrate(FluentConfiguration configuration, DatabaseProfile profile) {
+        long start = System.nanoTime();
+        Flyway flyway = configuration
+            .locations(profile.getMigrationLocation())
+            .baselineOnMigrate(true)
+            .baselineVersion("1")
+            .validateOnMigrate(true)
+            .load();
+        MigrateResult result = flyway.migrate();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (result.migrationsExecuted > 0) {
+            LOG.info("✅ Applied " + result.migrationsExecuted + " schema migration(s), now at version "
+                + result.targetSchemaVersion + " (" + elapsedMs + " ms)");
+        } else {
+            LOG.info("✅ Schema up to date at version " + result.initialSchemaVersion + " (" + elapsedMs + " ms)");
+        }
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One timed step of a trace, e.g. a forecast fetch, an HTTP call or a SQL statement. Created by
+ * {@link Tracing}; when the trace is not sampled every call returns or acts on {@link #NOOP},
+ * which records nothing. End a span exactly where the step ends (close() in try-with-resources
+ * or end() from a callback); later calls are ignored.
+ */
+public final class Span implements AutoCloseable {
+    static final Span NOOP = new Span();
+
+    public enum Kind {
+        INTERNAL(1),
+        CLIENT(3);
+
+        private final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+
+        int getCode() { return code; }
+    }
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String name;
+    private final Kind kind;
+    private final long startNanos;
+    // Alternating keys and values (String, Long, Double or Boolean)
+    private final List<Object> attributes;
+    private long endNanos;
+    private String errorMessage;
+    private boolean ended;
+
+    private Span() {
+        this.traceId = null;
+        this.spanId = null;
+        this.parentSpanId = null;
+        this.name = null;
+        this.kind = Kind.INTERNAL;
+        this.startNanos = 0;
+        this.attributes = null;
+        this.ended = true;
+    }
+
+    Span(String traceId, String parentSpanId, String name, Kind kind) {
+        this.traceId = traceId;
+        this.spanId = Tracing.newSpanId();
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.attributes = new ArrayList<>(8);
+        this.startNanos = Tracing.nowEpochNanos();
+    }
+
+    public boolean isRecording() {
+        return this != NOOP;
+    }
+
+    public Span child(String childName) {
+        return child(childName, Kind.INTERNAL);
+    }
+
+    public Span child(String childName, Kind childKind) {
+        return this == NOOP ? NOOP : new Span(traceId, spanId, childName, childKind);
+    }
+
+    /**
+     * Make this the current span of the calling thread until the scope is closed
+     */
+    public Tracing.Scope activate() {
+        return Tracing.activate(this);
+    }
+
+    // The no-op checks come first so unsampled calls neither box nor lock the shared NOOP
+    public Span setAttribute(String key, String value) { return this == NOOP ? this : addAttribute(key, value); }
+    public Span setAttribute(String key, long value) { return this == NOOP ? this : addAttribute(key, value); }
+    public Span setAttribute(String key, double value) { return this == NOOP ? this : addAttribute(key, value); }
+    public Span setAttribute(String key, boolean value) { return this == NOOP ? this : addAttribute(key, value); }
+
+    private synchronized Span addAttribute(String key, Object value) {
+        if (!ended && value != null) {
+            attributes.add(key);
+            attributes.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Mark the span failed; the exception's type and message are kept
+     */
+    public Span recordError(Throwable error) {
+        if (this == NOOP) {
+            return this;
+        }
+        synchronized (this) {
+            if (!ended) {
+                errorMessage = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+                attributes.add("exception.type");
+                attributes.add(error.getClass().getName());
+            }
+        }
+        return this;
+    }
+
+    public void end() {
+        if (this == NOOP) {
+            return;
+        }
+        synchronized (this) {
+            if (ended) {
+                return;
+            }
+            ended = true;
+            endNanos = Tracing.nowEpochNanos();
+        }
+        Tracing.export(this);
+    }
+
+    @Override
+    public void close() {
+        end();
+    }
+
+    // Getters (for the exporter, after end())
+    String getTraceId() { return traceId; }
+    String getSpanId() { return spanId; }
+    String getParentSpanId() { return parentSpanId; }
+    String getName() { return name; }
+    Kind getKind() { return kind; }
+    long getStartNanos() { return startNanos; }
+    long getEndNanos() { return endNanos; }
+    List<Object> getAttributes() { return attributes; }
+    String getErrorMessage() { return errorMessage; }
+}
@@ -0,0 +1,260 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Offline weather provider (WEATHER_SERVICE_TYPE=synthetic) for capacity and resilience testing.
+ * <p>
+ * Values are a pure function of seed, coordinate and time: a seasonal mean by latitude, a
+ * daily cycle peaking mid-afternoon local solar time, multi-day synoptic swings and short-term
+ * noise, with humidity, wind, precipitation and conditions derived from the same fields. Two
+ * requests covering the same hour therefore agree, and any number of locations can be served.
+ * <p>
+ * Each request waits a log-normal latency (SYNTHETIC_LATENCY_MS median, SYNTHETIC_LATENCY_P99_MS)
+ * and may fail with a server error, hang until SYNTHETIC_TIMEOUT_MS and time out, or trickle
+ * its points out slowly, at the configured rates. The faults are drawn from the seed, the
+ * coordinate and a request count, so a run that makes the same requests in the same order sees
+ * the same faults. Counts are kept in a fixed number of slots shared by hashed coordinates, so
+ * memory stays flat however many locations are served.
+ */
+public class SyntheticWeatherService {
+    private static final AppLogger LOG = AppLogger.get("weather.synthetic");
+
+    private static final double Z_99 = 2.3263; // standard normal 99th percentile
+    private static final int REQUEST_COUNT_SLOTS = 4096; // power of two
+
+    private final long seed;
+    private final int forecastHours;
+    private final int stepHours;
+    private final int latencyMedianMs;
+    private final double latencySigma;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final int timeoutMs;
+    private final double slowDripRate;
+    private final int slowDripMs;
+    private final AtomicLongArray requestCounts = new AtomicLongArray(REQUEST_COUNT_SLOTS);
+
+    public SyntheticWeatherService() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.seed = config.getSyntheticSeed();
+        this.forecastHours = config.getSyntheticForecastHours();
+        this.stepHours = config.getSyntheticStepHours();
+        this.latencyMedianMs = config.getSyntheticLatencyMedianMs();
+        int p99 = Math.max(config.getSyntheticLatencyP99Ms(), latencyMedianMs);
+        this.latencySigma = latencyMedianMs == 0 ? 0 : Math.log((double) p99 / latencyMedianMs) / Z_99;
+        this.errorRate = config.getSyntheticErrorRate();
+        this.timeoutRate = config.getSyntheticTimeoutRate();
+        this.timeoutMs = config.getSyntheticTimeoutMs();
+        this.slowDripRate = config.getSyntheticSlowDripRate();
+        this.slowDripMs = config.getSyntheticSlowDripMs();
+        LOG.info("✅ Synthetic weather service (seed " + seed + ", " + forecastHours + "h every " + stepHours
+            + "h, latency " + latencyMedianMs + "/" + p99 + " ms, errors " + errorRate + ", timeouts " + timeoutRate
+            + ", slow drip " + slowDripRate + ")");
+    }
+
+    /**
+     * Forecast from the current step onwards, after the injected latency and faults.
+     * Wind is in km/h for metric and mph for imperial.
+     */
+    public List<WeatherService.WeatherData> getHourlyForecast(double latitude, double longitude, String units) throws IOException {
+        long location = locationKey(seed, latitude, longitude);
+        long request = requestCounts.getAndIncrement((int) location & (REQUEST_COUNT_SLOTS - 1));
+        SplittableRandom random = new SplittableRandom(mix(location ^ (request + 1) * 0x9E3779B97F4A7C15L));
+
+        double fault = random.nextDouble();
+        sleep(latencyMs(random));
+        if (fault < errorRate) {
+            LOG.debug(() -> "Injected error for request " + request + " at " + latitude + "," + longitude);
+            throw new IOException("Synthetic service error: HTTP 503 Service Unavailable");
+        }
+        if (fault < errorRate + timeoutRate) {
+            LOG.debug(() -> "Injected timeout for request " + request + " at " + latitude + "," + longitude);
+            sleep(timeoutMs);
+            throw new SocketTimeoutException("Synthetic service read timed out after " + timeoutMs + " ms");
+        }
+
+        long stepSeconds = stepHours * 3600L;
+        long start = Math.floorDiv(System.currentTimeMillis() / 1000, stepSeconds) * stepSeconds;
+        int points = Math.max(1, forecastHours / stepHours);
+        if (random.nextDouble() >= slowDripRate) {
+            return generateForecast(seed, latitude, longitude, units, start, points, stepHours);
+        }
+        // Slow drip: the response arrives one point at a time
+        List<WeatherService.WeatherData> forecast = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            sleep(slowDripMs);
+            forecast.addAll(generateForecast(seed, latitude, longitude, units, start + i * stepSeconds, 1, stepHours));
+        }
+        return forecast;
+    }
+
+    /**
+     * Deterministic forecast without latency or faults, also used for the app's demo data.
+     * Wind is in km/h for metric and mph for imperial; precipitation in mm per step.
+     */
+    public static List<WeatherService.WeatherData> generateForecast(long seed, double latitude, double longitude, String units,
+                                                                    long startEpochSecond, int points, int stepHours) {
+        boolean imperial = "imperial".equals(units);
+        long location = locationKey(seed, latitude, longitude);
+        ZoneId zone = ZoneId.systemDefault();
+        List<WeatherService.WeatherData> forecast = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            long epochSecond = startEpochSecond + i * stepHours * 3600L;
+            double hours = epochSecond / 3600.0;
+            double solarHour = Math.floorMod((long) Math.floor(hours + longitude / 15), 24) + (hours - Math.floor(hours));
+            double dayOfYear = (epochSecond / 86400.0) % 365.2425;
+
+            // Temperature: latitude mean, season, day cycle, fronts passing every few days, noise
+            double absLatitude = Math.abs(latitude);
+            double season = -Math.cos(2 * Math.PI * (dayOfYear - 15) / 365.2425) * Math.signum(latitude == 0 ? 1 : latitude);
+            double daily = Math.cos(2 * Math.PI * (solarHour - 15) / 24);
+            double synoptic = smoothNoise(location, 1, hours / 72) * 4 + smoothNoise(location, 2, hours / 30) * 2;
+            double temperature = 27 - 0.3 * absLatitude + 0.25 * absLatitude * season
+                + 4 * daily + synoptic + smoothNoise(location, 3, hours / 4) * 0.6;
+
+            // Moisture follows its own multi-day pattern; humidity drops in the warm afternoon
+            double moisture = smoothNoise(location, 4, hours / 48);
+            double humidity = clamp(62 + 22 * moisture - 14 * daily + 4 * smoothNoise(location, 5, hours / 6), 12, 100);
+            double windKmh = Math.max(0, 12 + 15 * Math.abs(smoothNoise(location, 6, hours / 36))
+                + 6 * smoothNoise(location, 7, hours / 5) + 2 * (daily + 1));
+            double precipitation = humidity <= 82 ? 0
+                : (humidity - 82) / 18 * (2 + 3 * Math.max(0, smoothNoise(location, 8, hours / 8))) * stepHours / 3.0;
+            double feelsLike = feelsLike(temperature, humidity, windKmh);
+            boolean day = solarHour >= 6 && solarHour < 18;
+
+            forecast.add(new WeatherService.WeatherData(
+                imperial ? temperature * 9 / 5 + 32 : temperature,
+                imperial ? feelsLike * 9 / 5 + 32 : feelsLike,
+                (int) Math.round(humidity),
+                imperial ? windKmh / 1.609344 : windKmh,
+                Math.round(precipitation * 10) / 10.0,
+                condition(temperature, humidity, precipitation),
+                icon(temperature, humidity, precipitation, day),
+                LocalDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), zone),
+                units
+            ));
+        }
+        return forecast;
+    }
+
+    private long latencyMs(SplittableRandom random) {
+        if (latencyMedianMs == 0) {
+            return 0;
+        }
+        // Box-Muller: one standard normal sample for the log-normal latency
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        return Math.round(latencyMedianMs * Math.exp(latencySigma * gaussian));
+    }
+
+    /**
+     * Simulated wait that, like a real call, gives up when the active deadline passes
+     */
+    private static void sleep(long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        Deadline deadline = Deadline.current();
+        try {
+            if (millis < deadline.remainingMillis()) {
+                Thread.sleep(millis);
+                return;
+            }
+            Thread.sleep(deadline.remainingMillis());
+            throw deadline.exceeded("Synthetic request");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Synthetic request interrupted", e);
+        }
+    }
+
+    /**
+     * Wind chill below 10 °C, a simple heat index above 26 °C, otherwise the air temperature
+     */
+    private static double feelsLike(double temperature, double humidity, double windKmh) {
+        if (temperature < 10 && windKmh > 5) {
+            double v = Math.pow(windKmh, 0.16);
+            return 13.12 + 0.6215 * temperature - 11.37 * v + 0.3965 * temperature * v;
+        }
+        if (temperature > 26) {
+            double vapourPressure = humidity / 100 * 6.105 * Math.exp(17.27 * temperature / (237.7 + temperature));
+            return temperature + 0.33 * vapourPressure - 4;
+        }
+        return temperature;
+    }
+
+    private static String condition(double temperature, double humidity, double precipitation) {
+        if (precipitation > 0) {
+            if (temperature <= 0) {
+                return precipitation >= 2.5 ? "snow" : "light snow";
+            }
+            return precipitation >= 4 ? "moderate rain" : "light rain";
+        }
+        if (humidity > 80) return "overcast clouds";
+        if (humidity > 68) return "broken clouds";
+        if (humidity > 55) return "scattered clouds";
+        if (humidity > 42) return "few clouds";
+        return "clear sky";
+    }
+
+    private static String icon(double temperature, double humidity, double precipitation, boolean day) {
+        String code;
+        if (precipitation > 0) {
+            code = temperature <= 0 ? "13" : "10";
+        } else if (humidity > 80) {
+            code = "04";
+        } else if (humidity > 55) {
+            code = "03";
+        } else if (humidity > 42) {
+            code = "02";
+        } else {
+            code = "01";
+        }
+        return code + (day ? "d" : "n");
+    }
+
+    /**
+     * Smoothly interpolated value noise in [-1, 1] for one field of one location
+     */
+    private static double smoothNoise(long location, int field, double x) {
+        long cell = (long) Math.floor(x);
+        double t = x - cell;
+        double fade = t * t * (3 - 2 * t);
+        double a = lattice(location, field, cell);
+        double b = lattice(location, field, cell + 1);
+        return a + (b - a) * fade;
+    }
+
+    private static double lattice(long location, int field, long cell) {
+        long hash = mix(location + field * 0xD1B54A32D192ED03L + cell * 0x9E3779B97F4A7C15L);
+        return (hash >>> 11) * 0x1.0p-53 * 2 - 1;
+    }
+
+    private static long locationKey(long seed, double latitude, double longitude) {
+        // Rounded to ~10 m so the same place typed twice gets the same weather
+        long lat = Math.round(latitude * 10000);
+        long lon = Math.round(longitude * 10000);
+        return mix(seed ^ mix(lat * 0xBF58476D1CE4E5B9L + lon));
+    }
+
+    /**
+     * SplitMix64 finalizer
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
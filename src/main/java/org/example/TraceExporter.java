@@ -0,0 +1,239 @@
+package org.example;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single background thread that writes finished spans to a size-rotated file (traces.jsonl,
+ * .1, .2) under TRACE_DIR. Each line is one OTLP/JSON ExportTraceServiceRequest holding up to
+ * a batch of spans, the format read by the OpenTelemetry Collector's otlpjsonfile receiver.
+ * Spans are dropped (and counted) rather than blocking the caller when the queue is full.
+ */
+final class TraceExporter {
+    private static final AppLogger LOG = AppLogger.get("tracing");
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int BATCH_SIZE = 256;
+    private static final int MAX_FILES = 3;
+    private static final long FLUSH_INTERVAL_MS = 1000;
+
+    private final BlockingQueue<Span> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path traceFile;
+    private final long maxFileBytes;
+    private final Thread thread;
+    private BufferedWriter out;
+    private long fileBytes;
+    private volatile boolean running = true;
+
+    TraceExporter() {
+        ConfigManager config = ConfigManager.getInstance();
+        this.traceFile = Paths.get(config.getTraceDirectory(), "traces.jsonl");
+        this.maxFileBytes = config.getTraceMaxFileMb() * 1024L * 1024L;
+        this.thread = new Thread(this::drain, "trace-writer");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "trace-writer-shutdown"));
+    }
+
+    void offer(Span span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Stop after writing everything already queued
+     */
+    void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        openFile();
+        List<Span> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Span first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                }
+            } catch (InterruptedException e) {
+                queue.drainTo(batch, BATCH_SIZE);
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+            long lost = dropped.sumThenReset();
+            if (lost > 0) {
+                LOG.warn("⚠️ " + lost + " span(s) dropped, trace queue full");
+            }
+        }
+        closeFile();
+    }
+
+    private void write(List<Span> batch) {
+        if (out == null) {
+            return;
+        }
+        try {
+            String line = toOtlpJson(batch);
+            out.write(line);
+            out.newLine();
+            out.flush();
+            fileBytes += line.length() + 1;
+            if (fileBytes >= maxFileBytes) {
+                rotate();
+            }
+        } catch (IOException e) {
+            fileFailed(e);
+        }
+    }
+
+    private String toOtlpJson(List<Span> batch) throws IOException {
+        StringWriter text = new StringWriter(batch.size() * 256);
+        try (JsonGenerator json = jsonFactory.createGenerator(text)) {
+            json.writeStartObject();
+            json.writeArrayFieldStart("resourceSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("resource");
+            json.writeArrayFieldStart("attributes");
+            writeAttribute(json, "service.name", "weather-app");
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeArrayFieldStart("scopeSpans");
+            json.writeStartObject();
+            json.writeObjectFieldStart("scope");
+            json.writeStringField("name", "org.example.Tracing");
+            json.writeEndObject();
+            json.writeArrayFieldStart("spans");
+            for (Span span : batch) {
+                writeSpan(json, span);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+        return text.toString();
+    }
+
+    private void writeSpan(JsonGenerator json, Span span) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("traceId", span.getTraceId());
+        json.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanId() != null) {
+            json.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        json.writeStringField("name", span.getName());
+        json.writeNumberField("kind", span.getKind().getCode());
+        // int64 fields are strings in OTLP/JSON
+        json.writeStringField("startTimeUnixNano", Long.toString(span.getStartNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(span.getEndNanos()));
+        List<Object> attributes = span.getAttributes();
+        if (!attributes.isEmpty()) {
+            json.writeArrayFieldStart("attributes");
+            for (int i = 0; i < attributes.size(); i += 2) {
+                writeAttribute(json, (String) attributes.get(i), attributes.get(i + 1));
+            }
+            json.writeEndArray();
+        }
+        if (span.getErrorMessage() != null) {
+            json.writeObjectFieldStart("status");
+            json.writeNumberField("code", 2);
+            json.writeStringField("message", span.getErrorMessage());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, Object value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        if (value instanceof Long number) {
+            json.writeStringField("intValue", number.toString());
+        } else if (value instanceof Double number) {
+            json.writeNumberField("doubleValue", number);
+        } else if (value instanceof Boolean flag) {
+            json.writeBooleanField("boolValue", flag);
+        } else {
+            json.writeStringField("stringValue", value.toString());
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    /**
+     * traces.jsonl becomes .1, .1 becomes .2 and so on; the oldest file is deleted
+     */
+    private void rotate() throws IOException {
+        closeFile();
+        for (int i = MAX_FILES - 1; i >= 1; i--) {
+            Path source = i == 1 ? traceFile : rotated(i - 1);
+            if (Files.exists(source)) {
+                Files.move(source, rotated(i), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        openFile();
+    }
+
+    private Path rotated(int index) {
+        return traceFile.resolveSibling(traceFile.getFileName() + "." + index);
+    }
+
+    private void openFile() {
+        try {
+            Files.createDirectories(traceFile.getParent());
+            out = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileBytes = Files.size(traceFile);
+        } catch (IOException e) {
+            fileFailed(e);
+        }
+    }
+
+    private void closeFile() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                // Nothing left to do with this file
+            }
+            out = null;
+        }
+    }
+
+    private void fileFailed(IOException e) {
+        LOG.warn("⚠️ Trace file " + traceFile + " unavailable, spans are discarded: " + e.getMessage());
+        out = null;
+    }
+}
@@ -0,0 +1,120 @@
+package org.example;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lightweight request tracing. A user action starts a trace with {@link #startTrace}; the steps
+ * it causes become child spans, either of the span active on the current thread
+ * ({@link #span}) or of a span handed over explicitly ({@link Span#child}). Finished spans are
+ * written in OTLP JSON by TraceExporter.
+ * <p>
+ * TRACE_SAMPLE_RATE (0 to 1, default 0) is the share of actions that are traced. With 0 every
+ * call returns the shared no-op span without touching thread locals, so tracing costs nothing
+ * measurable; unsampled traces cost one random number at the start.
+ */
+public final class Tracing {
+    private static final double SAMPLE_RATE = ConfigManager.getInstance().getTraceSampleRate();
+    private static final boolean ENABLED = SAMPLE_RATE > 0;
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final Scope NOOP_SCOPE = () -> { };
+    private static volatile TraceExporter exporter;
+
+    /**
+     * Restores the previously current span when closed
+     */
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private Tracing() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Start a new trace for a user action, or return the no-op span if it is not sampled
+     */
+    public static Span startTrace(String name) {
+        if (!ENABLED || (SAMPLE_RATE < 1 && ThreadLocalRandom.current().nextDouble() >= SAMPLE_RATE)) {
+            return Span.NOOP;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Span(HEX.toHexDigits(random.nextLong()) + HEX.toHexDigits(random.nextLong()), null, name, Span.Kind.INTERNAL);
+    }
+
+    /**
+     * The span active on this thread, or the no-op span
+     */
+    public static Span current() {
+        if (!ENABLED) {
+            return Span.NOOP;
+        }
+        Span span = CURRENT.get();
+        return span != null ? span : Span.NOOP;
+    }
+
+    /**
+     * Start a child of the span active on this thread
+     */
+    public static Span span(String name) {
+        return current().child(name);
+    }
+
+    public static Span span(String name, Span.Kind kind) {
+        return current().child(name, kind);
+    }
+
+    static Scope activate(Span span) {
+        if (!ENABLED) {
+            return NOOP_SCOPE;
+        }
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Write out the spans still queued (called on application exit)
+     */
+    public static void shutdown() {
+        TraceExporter current = exporter;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    static void export(Span span) {
+        TraceExporter current = exporter;
+        if (current == null) {
+            synchronized (Tracing.class) {
+                current = exporter;
+                if (current == null) {
+                    current = new TraceExporter();
+                    current.start();
+                    exporter = current;
+                }
+            }
+        }
+        current.offer(span);
+    }
+
+    static String newSpanId() {
+        return HEX.toHexDigits(ThreadLocalRandom.current().nextLong());
+    }
+
+    static long nowEpochNanos() {
+        return EPOCH_OFFSET_NANOS + System.nanoTime();
+    }
+}
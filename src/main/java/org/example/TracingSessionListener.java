@@ -0,0 +1,61 @@
+package org.example;
+
+import org.hibernate.SessionEventListener;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Locale;
+
+/**
+ * Hibernate hooks that turn every JDBC statement run inside a trace into a client span with
+ * its SQL. Hibernate creates one listener per session (sessions are single-threaded) and one
+ * inspector per SessionFactory, which only remembers the SQL about to run on this thread.
+ * HibernateBootstrap registers both only when tracing is enabled.
+ */
+public class TracingSessionListener implements SessionEventListener, StatementInspector {
+    private static final ThreadLocal<String> NEXT_SQL = new ThreadLocal<>();
+    private static final String DB_SYSTEM = DatabaseProfile.current().isEmbedded() ? "h2" : "oracle";
+
+    private transient Span statement = Span.NOOP;
+
+    @Override
+    public String inspect(String sql) {
+        if (Tracing.current().isRecording()) {
+            NEXT_SQL.set(sql);
+        }
+        return sql;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start(false);
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statement.end();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start(true);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statement.end();
+    }
+
+    private void start(boolean batch) {
+        Span parent = Tracing.current();
+        if (!parent.isRecording()) {
+            statement = Span.NOOP;
+            return;
+        }
+        String sql = NEXT_SQL.get();
+        NEXT_SQL.remove();
+        String operation = sql == null ? "db" : sql.stripLeading().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+        statement = parent.child(batch ? operation + " (batch)" : operation, Span.Kind.CLIENT)
+            .setAttribute("db.system", DB_SYSTEM)
+            .setAttribute("db.query.text", sql);
+    }
+}
@@ -1,15 +1,30 @@
 package org.example;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "users")
+@NamedEntityGraph(name = User.DASHBOARD_GRAPH, attributeNodes = {
+    @NamedAttributeNode("preferences")
+})
 public class User {
+    // Loads preferences together with the user in one query; saved locations are paged separately
+    public static final String DASHBOARD_GRAPH = "User.dashboard";
+    
+    // Ids handed out per sequence call (pooled-lo); must match INCREMENT BY on every entity sequence
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(unique = true, nullable = false)
@@ -28,10 +43,13 @@ public class User {
     private LocalDateTime lastLogin;
     
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<UserPreference> preferences = new ArrayList<>();
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private Set<UserPreference> preferences = new HashSet<>();
     
+    // Not fetched with the user; saved locations are paged with a separate query
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private List<SavedLocation> savedLocations = new ArrayList<>();
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private Set<SavedLocation> savedLocations = new HashSet<>();
 
     // Default constructor (required by Hibernate)
     public User() {
@@ -95,19 +113,19 @@ public class User {
         this.lastLogin = lastLogin;
     }
     
-    public List<UserPreference> getPreferences() {
+    public Set<UserPreference> getPreferences() {
         return preferences;
     }
     
-    public void setPreferences(List<UserPreference> preferences) {
+    public void setPreferences(Set<UserPreference> preferences) {
         this.preferences = preferences;
     }
     
-    public List<SavedLocation> getSavedLocations() {
+    public Set<SavedLocation> getSavedLocations() {
         return savedLocations;
     }
     
-    public void setSavedLocations(List<SavedLocation> savedLocations) {
+    public void setSavedLocations(Set<SavedLocation> savedLocations) {
         this.savedLocations = savedLocations;
     }
 }
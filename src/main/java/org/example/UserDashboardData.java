@@ -0,0 +1,53 @@
+package org.example;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Everything the dashboard needs about a signed-in user: profile, preferences and the first page
+ * of saved locations (the dashboard pages in the rest). Built once at login and never attached
+ * to a Hibernate session.
+ */
+public class UserDashboardData {
+    private final Long userId;
+    private final String email;
+    private final String displayName;
+    private final LocalDateTime lastLogin;
+    private final Map<String, String> preferences;
+    private final List<LocationSummary> locations;
+
+    public UserDashboardData(Long userId, String email, String displayName, LocalDateTime lastLogin,
+                             Map<String, String> preferences, List<LocationSummary> locations) {
+        this.userId = userId;
+        this.email = email;
+        this.displayName = displayName;
+        this.lastLogin = lastLogin;
+        this.preferences = Collections.unmodifiableMap(new HashMap<>(preferences));
+        this.locations = Collections.unmodifiableList(new ArrayList<>(locations));
+    }
+
+    /**
+     * Copy a user whose preferences are already initialized, with the saved locations loaded so far
+     */
+    public static UserDashboardData from(User user, List<LocationSummary> locations) {
+        Map<String, String> preferences = new HashMap<>();
+        for (UserPreference preference : user.getPreferences()) {
+            preferences.put(preference.getKey(), preference.getValue());
+        }
+        return new UserDashboardData(user.getId(), user.getEmail(), user.getDisplayName(), user.getLastLogin(),
+            preferences, locations);
+    }
+
+    // Getters
+    public Long getUserId() { return userId; }
+    public String getEmail() { return email; }
+    public String getDisplayName() { return displayName; }
+    public LocalDateTime getLastLogin() { return lastLogin; }
+    public Map<String, String> getPreferences() { return preferences; }
+    public String getPreference(String key) { return preferences.get(key); }
+    public List<LocationSummary> getLocations() { return locations; }
+}
@@ -1,12 +1,17 @@
 package org.example;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "user_preferences")
 public class UserPreference {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_preferences_seq")
+    @SequenceGenerator(name = "user_preferences_seq", sequenceName = "user_preferences_seq", allocationSize = User.ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "preference_key", nullable = false)
@@ -0,0 +1,97 @@
+package org.example;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import static org.example.ScalarMetricKernels.MAGNUS_B;
+import static org.example.ScalarMetricKernels.MAGNUS_C;
+
+/**
+ * The same formulas as ScalarMetricKernels on SIMD lanes (jdk.incubator.vector), with branches
+ * turned into masked blends and the last partial vector finished by the scalar code. Only
+ * loaded when the JVM was started with --add-modules jdk.incubator.vector. Transcendental
+ * lanes may differ from Math.* in the last bits.
+ */
+final class VectorMetricKernels implements MetricKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void scale(double[] in, double factor, double offset, double[] out) {
+        int upper = SPECIES.loopBound(in.length);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, in, i).fma(factor, offset).intoArray(out, i);
+        }
+        ScalarMetricKernels.scale(in, factor, offset, out, upper, in.length);
+    }
+
+    @Override
+    public void dewPoint(double[] temperature, double[] humidity, double[] out) {
+        int upper = SPECIES.loopBound(temperature.length);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, temperature, i);
+            DoubleVector rh = DoubleVector.fromArray(SPECIES, humidity, i).max(1.0);
+            DoubleVector gamma = rh.mul(0.01).lanewise(VectorOperators.LOG)
+                .add(t.mul(MAGNUS_B).div(t.add(MAGNUS_C)));
+            gamma.mul(MAGNUS_C).div(gamma.neg().add(MAGNUS_B)).intoArray(out, i);
+        }
+        ScalarMetricKernels.dewPoint(temperature, humidity, out, upper, temperature.length);
+    }
+
+    @Override
+    public void heatIndex(double[] temperature, double[] humidity, double[] out) {
+        int upper = SPECIES.loopBound(temperature.length);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector f = DoubleVector.fromArray(SPECIES, temperature, i).fma(1.8, 32);
+            DoubleVector rh = DoubleVector.fromArray(SPECIES, humidity, i);
+            DoubleVector simple = f.add(61).add(f.sub(68).mul(1.2)).add(rh.mul(0.094)).mul(0.5);
+            DoubleVector ff = f.mul(f);
+            DoubleVector rr = rh.mul(rh);
+            DoubleVector fr = f.mul(rh);
+            DoubleVector rothfusz = f.mul(2.04901523).sub(42.379)
+                .add(rh.mul(10.14333127))
+                .sub(fr.mul(0.22475541))
+                .sub(ff.mul(0.00683783))
+                .sub(rr.mul(0.05481717))
+                .add(ff.mul(rh).mul(0.00122874))
+                .add(fr.mul(rh).mul(0.00085282))
+                .sub(ff.mul(rr).mul(0.00000199));
+            VectorMask<Double> mild = simple.add(f).mul(0.5).compare(VectorOperators.LT, 80);
+            rothfusz.blend(simple, mild).sub(32).div(1.8).intoArray(out, i);
+        }
+        ScalarMetricKernels.heatIndex(temperature, humidity, out, upper, temperature.length);
+    }
+
+    @Override
+    public void windChill(double[] temperature, double[] windSpeed, double[] out) {
+        int upper = SPECIES.loopBound(temperature.length);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, temperature, i);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, windSpeed, i);
+            DoubleVector v16 = v.lanewise(VectorOperators.POW, 0.16);
+            DoubleVector chill = t.mul(0.6215).add(13.12).sub(v16.mul(11.37)).add(t.mul(v16).mul(0.3965));
+            VectorMask<Double> applies = t.compare(VectorOperators.LE, 10).and(v.compare(VectorOperators.GT, 4.8));
+            t.blend(chill, applies).intoArray(out, i);
+        }
+        ScalarMetricKernels.windChill(temperature, windSpeed, out, upper, temperature.length);
+    }
+
+    @Override
+    public void apparentTemperature(double[] temperature, double[] humidity, double[] windSpeed, double[] out) {
+        int upper = SPECIES.loopBound(temperature.length);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, temperature, i);
+            DoubleVector rh = DoubleVector.fromArray(SPECIES, humidity, i);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, windSpeed, i);
+            DoubleVector vapourPressure = rh.mul(0.01 * 6.105)
+                .mul(t.mul(17.27).div(t.add(237.7)).lanewise(VectorOperators.EXP));
+            t.add(vapourPressure.mul(0.33)).sub(v.mul(0.70 / 3.6)).sub(4.0).intoArray(out, i);
+        }
+        ScalarMetricKernels.apparentTemperature(temperature, humidity, windSpeed, out, upper, temperature.length);
+    }
+}
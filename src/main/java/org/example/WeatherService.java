@@ -2,24 +2,31 @@ package org.example;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Call;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.InputStream;
+import java.net.SocketTimeoutException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 public class WeatherService {
+    private static final AppLogger LOG = AppLogger.get("weather");
+
     private final String apiKey;
     private final String baseUrl;
     private final String geocodingUrl;
     private final OkHttpClient client;
     private final ObjectMapper objectMapper;
+    private final long attemptTimeoutMs;
     
     public WeatherService() {
         this.client = new OkHttpClient();
@@ -30,6 +37,7 @@ public class WeatherService {
         this.apiKey = config.getApiKey();
         this.baseUrl = config.getWeatherApiBaseUrl();
         this.geocodingUrl = config.getWeatherApiGeocodingUrl();
+        this.attemptTimeoutMs = config.getHttpAttemptTimeoutMs();
         
         // Validate API key configuration
         validateApiKey();
@@ -40,14 +48,36 @@ public class WeatherService {
         if ("NO_API_KEY".equals(this.apiKey) || 
             "YOUR_OPENWEATHER_API_KEY".equals(this.apiKey) || 
             "YOUR_ACTUAL_API_KEY_HERE".equals(this.apiKey)) {
-            System.out.println("⚠️  WARNING: No valid OpenWeatherMap API key configured!");
-            System.out.println("📖 Setup instructions:");
-            System.out.println("   1. Get free API key: https://openweathermap.org/api");
-            System.out.println("   2. Set environment variable: OPENWEATHER_API_KEY=your_api_key_here");
-            System.out.println("   3. Or update application.properties (less secure)");
-            System.out.println("🌤️  App will use free weather service as fallback.");
+            LOG.warn("⚠️  WARNING: No valid OpenWeatherMap API key configured!");
+            LOG.info("📖 Setup instructions:");
+            LOG.info("   1. Get free API key: https://openweathermap.org/api");
+            LOG.info("   2. Set environment variable: OPENWEATHER_API_KEY=your_api_key_here");
+            LOG.info("   3. Or update application.properties (less secure)");
+            LOG.info("🌤️  App will use free weather service as fallback.");
         } else {
-            System.out.println("✅ OpenWeatherMap API key configured successfully!");
+            LOG.info("✅ OpenWeatherMap API key configured successfully!");
+        }
+    }
+    
+    /**
+     * Run a request within the time left on the active deadline, at most HTTP_ATTEMPT_TIMEOUT_MS.
+     * The call timeout covers connecting, waiting and reading the body.
+     */
+    private Response execute(Request request) throws IOException {
+        Deadline deadline = Deadline.current();
+        long timeoutMs = deadline.attemptMillis(attemptTimeoutMs, "OpenWeatherMap request");
+        Call call = client.newCall(request);
+        call.timeout().timeout(timeoutMs, TimeUnit.MILLISECONDS);
+        try {
+            return call.execute();
+        } catch (InterruptedIOException e) {
+            if (deadline.isExpired()) {
+                throw deadline.exceeded("OpenWeatherMap request");
+            }
+            if (!Thread.currentThread().isInterrupted() && "timeout".equals(e.getMessage())) {
+                throw new SocketTimeoutException("OpenWeatherMap request timed out after " + timeoutMs + " ms");
+            }
+            throw e;
         }
     }
     
@@ -59,7 +89,7 @@ public class WeatherService {
                 .url(url)
                 .build();
         
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = execute(request)) {
             if (!response.isSuccessful()) {
                 throw new IOException("Unexpected code " + response);
             }
@@ -79,15 +109,32 @@ public class WeatherService {
                 .url(url)
                 .build();
         
-        try (Response response = client.newCall(request).execute()) {
+        String responseBody;
+        Span http = Tracing.span("GET", Span.Kind.CLIENT)
+            .setAttribute("http.request.method", "GET")
+            .setAttribute("server.address", request.url().host())
+            .setAttribute("url.path", request.url().encodedPath());
+        try (Response response = execute(request)) {
+            http.setAttribute("http.response.status_code", response.code());
             if (!response.isSuccessful()) {
                 throw new IOException("Unexpected code " + response);
             }
-            
-            String responseBody = response.body().string();
+            responseBody = response.body().string();
+        } catch (IOException e) {
+            http.recordError(e);
+            throw e;
+        } finally {
+            http.end();
+        }
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Forecast request cancelled");
+        }
+        
+        try (Span parse = Tracing.span("forecast.parse")) {
             JsonNode jsonNode = objectMapper.readTree(responseBody);
-            
-            return parseForecast(jsonNode, units);
+            List<WeatherData> forecast = parseForecast(jsonNode, units);
+            parse.setAttribute("forecast.points", forecast.size());
+            return forecast;
         }
     }
     
@@ -99,7 +146,7 @@ public class WeatherService {
                 .url(url)
                 .build();
         
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = execute(request)) {
             if (!response.isSuccessful()) {
                 throw new IOException("Unexpected code " + response);
             }
@@ -152,6 +199,8 @@ public class WeatherService {
             double windSpeed = item.get("wind").get("speed").asDouble();
             String description = item.get("weather").get(0).get("description").asText();
             String icon = item.get("weather").get(0).get("icon").asText();
+            // Rain and snow volume for the 3 hours, in mm; absent when there is none
+            double precipitation = item.path("rain").path("3h").asDouble(0) + item.path("snow").path("3h").asDouble(0);
             
             // Parse datetime
             String dateTimeStr = item.get("dt_txt").asText();
@@ -163,6 +212,7 @@ public class WeatherService {
                 feelsLike,
                 humidity,
                 windSpeed,
+                precipitation,
                 description,
                 icon,
                 dateTime,
@@ -179,6 +229,7 @@ public class WeatherService {
         private final double feelsLike;
         private final int humidity;
         private final double windSpeed;
+        private final double precipitation;
         private final String description;
         private final String icon;
         private final LocalDateTime dateTime;
@@ -187,10 +238,20 @@ public class WeatherService {
         public WeatherData(double temperature, double feelsLike, int humidity, 
                          double windSpeed, String description, String icon, 
                          LocalDateTime dateTime, String units) {
+            this(temperature, feelsLike, humidity, windSpeed, 0.0, description, icon, dateTime, units);
+        }
+        
+        /**
+         * @param precipitation rain and snow in mm for the period this point covers, whatever the units
+         */
+        public WeatherData(double temperature, double feelsLike, int humidity, 
+                         double windSpeed, double precipitation, String description, String icon, 
+                         LocalDateTime dateTime, String units) {
             this.temperature = temperature;
             this.feelsLike = feelsLike;
             this.humidity = humidity;
             this.windSpeed = windSpeed;
+            this.precipitation = precipitation;
             this.description = description;
             this.icon = icon;
             this.dateTime = dateTime;
@@ -202,6 +263,7 @@ public class WeatherService {
         public double getFeelsLike() { return feelsLike; }
         public int getHumidity() { return humidity; }
         public double getWindSpeed() { return windSpeed; }
+        public double getPrecipitation() { return precipitation; }
         public String getDescription() { return description; }
         public String getIcon() { return icon; }
         public LocalDateTime getDateTime() { return dateTime; }
@@ -0,0 +1,193 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe pipeline for fresh forecasts, on java.util.concurrent.Flow.
+ * <p>
+ * Publishing never blocks the fetch: every subscriber has its own bounded buffer
+ * (WEATHER_UPDATE_BUFFER) in a SubmissionPublisher, and each subscriber requests
+ * more only once it has dealt with what it has. Two delivery policies:
+ * <ul>
+ *   <li>{@link #subscribeEach}: every update in order, one at a time on a virtual thread. When
+ *       the subscriber falls a whole buffer behind, further updates are dropped for it alone
+ *       and counted.</li>
+ *   <li>{@link #subscribeLatest}: keeps only the newest update per location and unit system
+ *       and hands them over in batches on the given executor, with at most one batch waiting.
+ *       Suits the FX thread: a burst of updates becomes one {@code Platform.runLater}.</li>
+ * </ul>
+ */
+public class WeatherUpdateBus implements AutoCloseable {
+    private static final AppLogger LOG = AppLogger.get("weather.bus");
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SubmissionPublisher<WeatherUpdated> publisher;
+
+    /**
+     * Cancels one subscription; updates already handed over may still be processed
+     */
+    public interface Registration extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public WeatherUpdateBus(int bufferSize) {
+        this.publisher = new SubmissionPublisher<>(executor, bufferSize);
+    }
+
+    public void publish(WeatherUpdated update) {
+        publisher.offer(update, (subscriber, dropped) -> {
+            if (subscriber instanceof EachSubscriber each) {
+                each.dropped();
+            }
+            return false;
+        });
+    }
+
+    public Registration subscribeEach(String name, Consumer<WeatherUpdated> handler) {
+        EachSubscriber subscriber = new EachSubscriber(name, handler);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    public Registration subscribeLatest(String name, Executor handlerExecutor, Consumer<Collection<WeatherUpdated>> handler) {
+        LatestSubscriber subscriber = new LatestSubscriber(name, handlerExecutor, handler);
+        publisher.subscribe(subscriber);
+        return subscriber;
+    }
+
+    public int getSubscriberCount() {
+        return publisher.getNumberOfSubscribers();
+    }
+
+    @Override
+    public void close() {
+        publisher.close();
+        executor.shutdown();
+    }
+
+    /**
+     * Shared subscription handling: keeps the Flow subscription and cancels it on close
+     */
+    private abstract static class BusSubscriber implements Flow.Subscriber<WeatherUpdated>, Registration {
+        final String name;
+        volatile Flow.Subscription subscription;
+        volatile boolean closed;
+
+        BusSubscriber(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (closed) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            LOG.warn("⚠️ Weather update subscriber " + name + " stopped", error);
+        }
+
+        @Override
+        public void onComplete() {
+            LOG.debug(() -> "Weather update subscriber " + name + " completed");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    private static final class EachSubscriber extends BusSubscriber {
+        private final Consumer<WeatherUpdated> handler;
+        private final AtomicLong drops = new AtomicLong();
+
+        EachSubscriber(String name, Consumer<WeatherUpdated> handler) {
+            super(name);
+            this.handler = handler;
+        }
+
+        @Override
+        public void onNext(WeatherUpdated update) {
+            try {
+                handler.accept(update);
+            } catch (RuntimeException e) {
+                LOG.warn("⚠️ Weather update subscriber " + name + " failed on " + update.getKey(), e);
+            }
+            subscription.request(1);
+        }
+
+        void dropped() {
+            long count = drops.incrementAndGet();
+            // Warn on the first drop and then on every power of two, so a stuck subscriber does not flood the log
+            if (Long.bitCount(count) == 1) {
+                LOG.warn("⚠️ Weather update subscriber " + name + " is falling behind, " + count + " update(s) dropped");
+            }
+        }
+    }
+
+    private static final class LatestSubscriber extends BusSubscriber {
+        private final Executor handlerExecutor;
+        private final Consumer<Collection<WeatherUpdated>> handler;
+        private final Map<String, WeatherUpdated> latest = new LinkedHashMap<>();
+        private boolean drainQueued;
+
+        LatestSubscriber(String name, Executor handlerExecutor, Consumer<Collection<WeatherUpdated>> handler) {
+            super(name);
+            this.handlerExecutor = handlerExecutor;
+            this.handler = handler;
+        }
+
+        @Override
+        public void onNext(WeatherUpdated update) {
+            boolean queue;
+            synchronized (latest) {
+                latest.put(update.getKey(), update);
+                queue = !drainQueued;
+                drainQueued = true;
+            }
+            if (queue) {
+                handlerExecutor.execute(this::drain);
+            }
+            // Conflating is cheap, so the next update can come straight away
+            subscription.request(1);
+        }
+
+        private void drain() {
+            Collection<WeatherUpdated> batch;
+            synchronized (latest) {
+                batch = new ArrayList<>(latest.values());
+                latest.clear();
+                drainQueued = false;
+            }
+            if (closed) {
+                return;
+            }
+            try {
+                handler.accept(batch);
+            } catch (RuntimeException e) {
+                LOG.warn("⚠️ Weather update subscriber " + name + " failed on " + batch.size() + " update(s)", e);
+            }
+        }
+    }
+}
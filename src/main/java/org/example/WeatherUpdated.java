@@ -0,0 +1,41 @@
+package org.example;
+
+import java.time.Instant;
+
+/**
+ * A fresh forecast for one coordinate, published on the WeatherUpdateBus by ForecastService.
+ * The columns are converted on the fetching thread so subscribers get them ready to use.
+ */
+public class WeatherUpdated {
+    private final double latitude;
+    private final double longitude;
+    private final String units;
+    private final ForecastService.ForecastResult result;
+    private final ForecastColumns columns;
+    private final Instant fetchedAt;
+
+    public WeatherUpdated(double latitude, double longitude, String units, ForecastService.ForecastResult result,
+                          ForecastColumns columns, Instant fetchedAt) {
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.units = units;
+        this.result = result;
+        this.columns = columns;
+        this.fetchedAt = fetchedAt;
+    }
+
+    /**
+     * Identifies the location and unit system; a newer update with the same key supersedes this one
+     */
+    public String getKey() {
+        return latitude + "," + longitude + "," + units;
+    }
+
+    // Getters
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public String getUnits() { return units; }
+    public ForecastService.ForecastResult getResult() { return result; }
+    public ForecastColumns getColumns() { return columns; }
+    public Instant getFetchedAt() { return fetchedAt; }
+}
@@ -0,0 +1,166 @@
+package org.example;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for user preference writes and last-login timestamps.
+ * <p>
+ * The latest value of every (user, key) pair is kept in memory. Writing a value that is already
+ * current is dropped, repeated writes to the same pair between flushes collapse into one, and
+ * pending values are handed to the batch writer together on a background thread every few
+ * hundred milliseconds and once more on {@link #close()}. Last-login times are coalesced per user
+ * the same way so a login never waits on an UPDATE.
+ */
+public class WriteBehindBuffer implements AutoCloseable {
+    private static final AppLogger LOG = AppLogger.get("db.write-behind");
+
+    private final Map<PreferenceKey, String> current = new ConcurrentHashMap<>();
+    private final Map<PreferenceKey, String> pending = new ConcurrentHashMap<>();
+    private final Map<Long, LocalDateTime> pendingLogins = new ConcurrentHashMap<>();
+    private final BatchWriter batchWriter;
+    private final ScheduledExecutorService scheduler;
+    private final Object flushLock = new Object();
+
+    /**
+     * Persists one flush worth of pending writes, ideally in a single transaction
+     */
+    @FunctionalInterface
+    public interface BatchWriter {
+        void write(Map<PreferenceKey, String> preferences, Map<Long, LocalDateTime> lastLogins);
+    }
+
+    public WriteBehindBuffer(BatchWriter batchWriter, long flushIntervalMs) {
+        this.batchWriter = batchWriter;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a preference write. Returns false when the value is already current and nothing was queued.
+     */
+    public boolean putPreference(Long userId, String key, String value) {
+        PreferenceKey preferenceKey = new PreferenceKey(userId, key);
+        String previous = current.put(preferenceKey, value);
+        if (value.equals(previous)) {
+            return false;
+        }
+        pending.put(preferenceKey, value);
+        return true;
+    }
+
+    /**
+     * Latest known value (pending or persisted), or null if this pair has not been seen yet
+     */
+    public String getPreference(Long userId, String key) {
+        return current.get(new PreferenceKey(userId, key));
+    }
+
+    /**
+     * Record a value read from or written straight to the database, without queueing a write
+     */
+    public void rememberPreference(Long userId, String key, String value) {
+        PreferenceKey preferenceKey = new PreferenceKey(userId, key);
+        if (!pending.containsKey(preferenceKey)) {
+            current.put(preferenceKey, value);
+        }
+    }
+
+    /**
+     * Queue a last-login update; only the latest time per user is written
+     */
+    public void recordLastLogin(Long userId, LocalDateTime lastLogin) {
+        pendingLogins.merge(userId, lastLogin, (a, b) -> a.isAfter(b) ? a : b);
+    }
+
+    public int getPendingCount() {
+        return pending.size() + pendingLogins.size();
+    }
+
+    /**
+     * Write all pending values now, as one batch
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            if (pending.isEmpty() && pendingLogins.isEmpty()) {
+                return;
+            }
+            Map<PreferenceKey, String> batch = new HashMap<>();
+            for (PreferenceKey key : pending.keySet()) {
+                String value = pending.remove(key);
+                if (value != null) {
+                    batch.put(key, value);
+                }
+            }
+            Map<Long, LocalDateTime> logins = new HashMap<>();
+            for (Long userId : pendingLogins.keySet()) {
+                LocalDateTime lastLogin = pendingLogins.remove(userId);
+                if (lastLogin != null) {
+                    logins.put(userId, lastLogin);
+                }
+            }
+            try {
+                batchWriter.write(batch, logins);
+            } catch (RuntimeException e) {
+                // Put the batch back unless a newer value arrived meanwhile
+                batch.forEach(pending::putIfAbsent);
+                logins.forEach(pendingLogins::putIfAbsent);
+                throw e;
+            }
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            LOG.warn("⚠️ Failed to flush " + getPendingCount() + " buffered write(s), will retry: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            flush();
+        } catch (Exception e) {
+            LOG.error("❌ Lost " + getPendingCount() + " buffered write(s) on shutdown: " + e.getMessage());
+        }
+    }
+
+    public static final class PreferenceKey {
+        private final Long userId;
+        private final String key;
+
+        public PreferenceKey(Long userId, String key) {
+            this.userId = userId;
+            this.key = key;
+        }
+
+        public Long getUserId() { return userId; }
+        public String getKey() { return key; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof PreferenceKey)) return false;
+            PreferenceKey other = (PreferenceKey) o;
+            return userId.equals(other.userId) && key.equals(other.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, key);
+        }
+    }
+}
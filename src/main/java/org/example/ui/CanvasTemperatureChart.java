@@ -0,0 +1,580 @@
+package org.example.ui;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * High-density line chart that draws straight to a {@link Canvas} from primitive arrays.
+ * <p>
+ * Unlike {@code LineChart}, no scene graph node is created per point. Each frame only walks the
+ * visible slice of every series (found by binary search on x) and collapses it to one min/max
+ * segment per pixel column, so panning a 100k-point series costs roughly one pass over the
+ * on-screen width. Series, axes and legend live on a base canvas that is repainted only when the
+ * viewport or data changes; the hover crosshair, dots and tooltip live on an overlay canvas that
+ * is cleared and redrawn on its own, which costs next to nothing.
+ * <p>
+ * X values are epoch seconds, Y values are temperatures in whatever unit the caller uses.
+ */
+public class CanvasTemperatureChart extends Region {
+
+    private static final Color[] PALETTE = {
+        Color.web("#f3622d"), Color.web("#fba71b"), Color.web("#57b757"),
+        Color.web("#41a9c9"), Color.web("#4258c9"), Color.web("#9a42c8"),
+        Color.web("#c84164"), Color.web("#888888")
+    };
+    private static final double LEFT = 56;
+    private static final double RIGHT = 16;
+    private static final double TOP = 28;
+    private static final double BOTTOM = 40;
+    private static final Font FONT = Font.font(11);
+    private static final double MIN_X_SPAN = 60;
+
+    private final Canvas base = new Canvas();
+    private final Canvas overlay = new Canvas();
+    private final List<Series> series = new ArrayList<>();
+
+    private double dataMinX = 0, dataMaxX = 1, dataMinY = 0, dataMaxY = 1;
+    private double viewMinX = 0, viewMaxX = 1, viewMinY = 0, viewMaxY = 1;
+    private boolean userViewport;
+    private String valueAxisLabel = "Temperature";
+
+    private boolean baseDirty = true;
+    private boolean overlayDirty;
+    private double mouseX = Double.NaN, mouseY = Double.NaN;
+    private double dragStartX, dragStartMinX, dragStartMaxX;
+    // Measures legend names and tooltip lines in the chart font
+    private final Text measure = new Text();
+
+    // Reused per-frame buffers so a redraw does not allocate
+    private double[] polyX = new double[0];
+    private double[] polyY = new double[0];
+
+    private final AnimationTimer pulse = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            if (baseDirty) {
+                baseDirty = false;
+                overlayDirty = true;
+                paintBase();
+            }
+            if (overlayDirty) {
+                overlayDirty = false;
+                paintOverlay();
+            }
+            if (!baseDirty && !overlayDirty) {
+                stop();
+                running = false;
+            }
+        }
+    };
+    private boolean running;
+
+    public CanvasTemperatureChart() {
+        getStyleClass().add("canvas-chart");
+        overlay.setMouseTransparent(true);
+        getChildren().addAll(base, overlay);
+        setMinSize(200, 150);
+        setPrefSize(600, 400);
+
+        widthProperty().addListener((obs, o, n) -> invalidateBase());
+        heightProperty().addListener((obs, o, n) -> invalidateBase());
+
+        setOnMouseMoved(this::onMouseMoved);
+        setOnMouseExited(e -> {
+            mouseX = Double.NaN;
+            mouseY = Double.NaN;
+            invalidateOverlay();
+        });
+        setOnMousePressed(e -> {
+            dragStartX = e.getX();
+            dragStartMinX = viewMinX;
+            dragStartMaxX = viewMaxX;
+        });
+        setOnMouseDragged(this::onMouseDragged);
+        setOnMouseClicked(e -> {
+            if (e.getButton() == MouseButton.PRIMARY && e.getClickCount() == 2) {
+                resetViewport();
+            }
+        });
+        setOnScroll(this::onScroll);
+    }
+
+    /**
+     * A named series backed by primitive arrays. X values must be sorted ascending.
+     * An optional band (low/high per point) is shaded behind the line.
+     */
+    public static final class Series {
+        private final String name;
+        private final double[] x;
+        private final double[] y;
+        private final int size;
+        private Color color;
+        private double[] bandLow;
+        private double[] bandHigh;
+
+        public Series(String name, double[] x, double[] y) {
+            this(name, x, y, Math.min(x.length, y.length));
+        }
+
+        public Series(String name, double[] x, double[] y, int size) {
+            this.name = name;
+            this.x = x;
+            this.y = y;
+            this.size = size;
+        }
+
+        public String getName() { return name; }
+        public int size() { return size; }
+        public double xAt(int i) { return x[i]; }
+        public double yAt(int i) { return y[i]; }
+        public Color getColor() { return color; }
+        public void setColor(Color color) { this.color = color; }
+
+        public void setBand(double[] low, double[] high) {
+            this.bandLow = low;
+            this.bandHigh = high;
+        }
+    }
+
+    public void setValueAxisLabel(String label) {
+        this.valueAxisLabel = label;
+        invalidateBase();
+    }
+
+    public List<Series> getSeries() {
+        return Collections.unmodifiableList(series);
+    }
+
+    public void clear() {
+        series.clear();
+        userViewport = false;
+        recomputeDataBounds();
+        invalidateBase();
+    }
+
+    public void addSeries(Series s) {
+        if (s.getColor() == null) {
+            s.setColor(PALETTE[series.size() % PALETTE.length]);
+        }
+        series.add(s);
+        recomputeDataBounds();
+        invalidateBase();
+    }
+
+    public void setSeries(List<Series> newSeries) {
+        series.clear();
+        userViewport = false;
+        for (Series s : newSeries) {
+            addSeries(s);
+        }
+        recomputeDataBounds();
+        invalidateBase();
+    }
+
+    public void resetViewport() {
+        userViewport = false;
+        recomputeDataBounds();
+        invalidateBase();
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double w = snapSizeX(getWidth());
+        double h = snapSizeY(getHeight());
+        if (base.getWidth() != w || base.getHeight() != h) {
+            base.setWidth(w);
+            base.setHeight(h);
+            overlay.setWidth(w);
+            overlay.setHeight(h);
+            invalidateBase();
+        }
+    }
+
+    private void invalidateBase() {
+        baseDirty = true;
+        schedule();
+    }
+
+    private void invalidateOverlay() {
+        overlayDirty = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (!running) {
+            running = true;
+            pulse.start();
+        }
+    }
+
+    private void recomputeDataBounds() {
+        double minX = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (Series s : series) {
+            if (s.size == 0) continue;
+            minX = Math.min(minX, s.x[0]);
+            maxX = Math.max(maxX, s.x[s.size - 1]);
+            for (int i = 0; i < s.size; i++) {
+                double v = s.y[i];
+                if (v < minY) minY = v;
+                if (v > maxY) maxY = v;
+            }
+            if (s.bandLow != null) {
+                for (int i = 0; i < s.size; i++) {
+                    if (s.bandLow[i] < minY) minY = s.bandLow[i];
+                    if (s.bandHigh[i] > maxY) maxY = s.bandHigh[i];
+                }
+            }
+        }
+        if (minX == Double.POSITIVE_INFINITY) {
+            minX = 0; maxX = 1; minY = 0; maxY = 1;
+        }
+        if (maxX - minX < MIN_X_SPAN) maxX = minX + MIN_X_SPAN;
+        if (maxY - minY < 1) { minY -= 0.5; maxY += 0.5; }
+        double padY = (maxY - minY) * 0.05;
+        dataMinX = minX;
+        dataMaxX = maxX;
+        dataMinY = minY - padY;
+        dataMaxY = maxY + padY;
+        if (!userViewport) {
+            viewMinX = dataMinX;
+            viewMaxX = dataMaxX;
+        }
+        viewMinY = dataMinY;
+        viewMaxY = dataMaxY;
+    }
+
+    private double plotWidth() { return Math.max(1, base.getWidth() - LEFT - RIGHT); }
+    private double plotHeight() { return Math.max(1, base.getHeight() - TOP - BOTTOM); }
+
+    private double toPixelX(double x) {
+        return LEFT + (x - viewMinX) / (viewMaxX - viewMinX) * plotWidth();
+    }
+
+    private double toPixelY(double y) {
+        return TOP + (1 - (y - viewMinY) / (viewMaxY - viewMinY)) * plotHeight();
+    }
+
+    private double toDataX(double px) {
+        return viewMinX + (px - LEFT) / plotWidth() * (viewMaxX - viewMinX);
+    }
+
+    private void paintBase() {
+        GraphicsContext g = base.getGraphicsContext2D();
+        double w = base.getWidth();
+        double h = base.getHeight();
+        g.clearRect(0, 0, w, h);
+        if (w <= LEFT + RIGHT || h <= TOP + BOTTOM) return;
+
+        g.setFill(Color.WHITE);
+        g.fillRect(LEFT, TOP, plotWidth(), plotHeight());
+        paintAxes(g);
+
+        g.save();
+        g.beginPath();
+        g.rect(LEFT, TOP, plotWidth(), plotHeight());
+        g.clip();
+        g.setLineWidth(1.5);
+        for (Series s : series) {
+            paintSeries(g, s);
+        }
+        g.restore();
+
+        paintLegend(g);
+    }
+
+    private void paintSeries(GraphicsContext g, Series s) {
+        if (s.size == 0) return;
+        int from = Math.max(0, lowerBound(s, viewMinX) - 1);
+        int to = Math.min(s.size - 1, lowerBound(s, viewMaxX));
+        int columns = (int) Math.ceil(plotWidth()) + 2;
+        ensureBuffers(Math.max(columns * 2 + 4, (to - from + 1) * 2));
+        if (s.bandLow != null) {
+            paintBand(g, s, from, to);
+        }
+        g.setStroke(s.getColor());
+
+        if (to - from + 1 <= columns * 2) {
+            // Sparse enough to draw every point
+            int n = 0;
+            for (int i = from; i <= to; i++) {
+                polyX[n] = toPixelX(s.x[i]);
+                polyY[n] = toPixelY(s.y[i]);
+                n++;
+            }
+            g.strokePolyline(polyX, polyY, n);
+            return;
+        }
+
+        // Dense: one min/max pair per pixel column, preserving spikes
+        int n = 0;
+        int i = from;
+        while (i <= to) {
+            int column = (int) toPixelX(s.x[i]);
+            double min = s.y[i], max = s.y[i];
+            double first = s.y[i], last = s.y[i];
+            i++;
+            while (i <= to && (int) toPixelX(s.x[i]) == column) {
+                double v = s.y[i];
+                if (v < min) min = v;
+                if (v > max) max = v;
+                last = v;
+                i++;
+            }
+            polyX[n] = column; polyY[n] = toPixelY(first); n++;
+            if (min != max) {
+                polyX[n] = column; polyY[n] = toPixelY(first <= last ? min : max); n++;
+                polyX[n] = column; polyY[n] = toPixelY(first <= last ? max : min); n++;
+            }
+            polyX[n] = column; polyY[n] = toPixelY(last); n++;
+            if (n >= polyX.length - 4) {
+                g.strokePolyline(polyX, polyY, n);
+                polyX[0] = polyX[n - 1];
+                polyY[0] = polyY[n - 1];
+                n = 1;
+            }
+        }
+        g.strokePolyline(polyX, polyY, n);
+    }
+
+    /**
+     * Shade between the band's high edge (left to right) and low edge (back), every point; bands are sparse
+     */
+    private void paintBand(GraphicsContext g, Series s, int from, int to) {
+        int n = 0;
+        for (int i = from; i <= to; i++) {
+            polyX[n] = toPixelX(s.x[i]);
+            polyY[n] = toPixelY(s.bandHigh[i]);
+            n++;
+        }
+        for (int i = to; i >= from; i--) {
+            polyX[n] = toPixelX(s.x[i]);
+            polyY[n] = toPixelY(s.bandLow[i]);
+            n++;
+        }
+        g.setFill(s.getColor().deriveColor(0, 1, 1, 0.2));
+        g.fillPolygon(polyX, polyY, n);
+    }
+
+    private void ensureBuffers(int size) {
+        if (polyX.length < size) {
+            polyX = new double[size];
+            polyY = new double[size];
+        }
+    }
+
+    private void paintAxes(GraphicsContext g) {
+        double pw = plotWidth();
+        double ph = plotHeight();
+        g.setFont(FONT);
+        g.setLineWidth(1);
+
+        // Y axis
+        double yStep = niceStep((viewMaxY - viewMinY) / Math.max(2, ph / 40));
+        g.setTextAlign(TextAlignment.RIGHT);
+        g.setTextBaseline(VPos.CENTER);
+        for (double v = Math.ceil(viewMinY / yStep) * yStep; v <= viewMaxY; v += yStep) {
+            double py = Math.round(toPixelY(v)) + 0.5;
+            g.setStroke(Color.web("#eeeeee"));
+            g.strokeLine(LEFT, py, LEFT + pw, py);
+            g.setFill(Color.web("#444444"));
+            g.fillText(formatValue(v, yStep), LEFT - 6, py);
+        }
+
+        // X axis (time)
+        double span = viewMaxX - viewMinX;
+        double xStep = niceTimeStep(span / Math.max(2, pw / 90));
+        DateTimeFormatter fmt = span > 2 * 86400
+            ? DateTimeFormatter.ofPattern("dd MMM HH:mm")
+            : DateTimeFormatter.ofPattern("HH:mm");
+        ZoneId zone = ZoneId.systemDefault();
+        long offset = zone.getRules().getOffset(Instant.ofEpochSecond((long) viewMinX)).getTotalSeconds();
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.TOP);
+        double first = Math.ceil((viewMinX + offset) / xStep) * xStep - offset;
+        for (double t = first; t <= viewMaxX; t += xStep) {
+            double px = Math.round(toPixelX(t)) + 0.5;
+            g.setStroke(Color.web("#eeeeee"));
+            g.strokeLine(px, TOP, px, TOP + ph);
+            g.setFill(Color.web("#444444"));
+            g.fillText(fmt.format(Instant.ofEpochSecond((long) t).atZone(zone)), px, TOP + ph + 4);
+        }
+
+        g.setStroke(Color.web("#999999"));
+        g.strokeRect(LEFT + 0.5, TOP + 0.5, pw - 1, ph - 1);
+
+        g.setFill(Color.web("#333333"));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.BOTTOM);
+        g.fillText("Time", LEFT + pw / 2, base.getHeight() - 2);
+        g.save();
+        g.translate(12, TOP + ph / 2);
+        g.rotate(-90);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(valueAxisLabel, 0, 0);
+        g.restore();
+    }
+
+    private void paintLegend(GraphicsContext g) {
+        if (series.isEmpty()) return;
+        g.setFont(FONT);
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.CENTER);
+        measure.setFont(FONT);
+        double x = LEFT;
+        double y = TOP / 2;
+        for (Series s : series) {
+            g.setFill(s.getColor());
+            g.fillRect(x, y - 4, 12, 8);
+            g.setFill(Color.web("#333333"));
+            g.fillText(s.getName(), x + 16, y);
+            measure.setText(s.getName());
+            x += 16 + measure.getLayoutBounds().getWidth() + 16;
+            if (x > base.getWidth() - RIGHT) break;
+        }
+    }
+
+    private void paintOverlay() {
+        GraphicsContext g = overlay.getGraphicsContext2D();
+        // Series need not share x values, so their dots can be anywhere: clear the whole overlay
+        g.clearRect(0, 0, overlay.getWidth(), overlay.getHeight());
+        if (Double.isNaN(mouseX) || series.isEmpty()) return;
+        if (mouseX < LEFT || mouseX > LEFT + plotWidth() || mouseY < TOP || mouseY > TOP + plotHeight()) return;
+
+        double cursor = toDataX(mouseX);
+        List<String> lines = new ArrayList<>();
+        double snapX = Double.NaN;
+        g.setFont(FONT);
+        for (Series s : series) {
+            int idx = nearestIndex(s, cursor);
+            if (idx < 0) continue;
+            double px = toPixelX(s.x[idx]);
+            double py = toPixelY(s.y[idx]);
+            if (Double.isNaN(snapX)) {
+                snapX = px;
+                lines.add(DateTimeFormatter.ofPattern("EEE dd MMM HH:mm")
+                    .format(Instant.ofEpochSecond((long) s.x[idx]).atZone(ZoneId.systemDefault())));
+            }
+            g.setFill(s.getColor());
+            g.fillOval(px - 3.5, py - 3.5, 7, 7);
+            lines.add(s.getName() + ": " + String.format("%.1f", s.y[idx]));
+        }
+        if (Double.isNaN(snapX)) return;
+
+        double cx = Math.round(snapX) + 0.5;
+        g.setStroke(Color.web("#00000055"));
+        g.setLineWidth(1);
+        g.strokeLine(cx, TOP, cx, TOP + plotHeight());
+
+        double tipW = 0;
+        measure.setFont(FONT);
+        for (String line : lines) {
+            measure.setText(line);
+            tipW = Math.max(tipW, measure.getLayoutBounds().getWidth());
+        }
+        tipW += 12;
+        double tipH = lines.size() * 15 + 8;
+        double tipX = cx + 8 + tipW > base.getWidth() ? cx - 8 - tipW : cx + 8;
+        double tipY = Math.min(Math.max(TOP, mouseY - tipH / 2), TOP + plotHeight() - tipH);
+        g.setFill(Color.web("#ffffffee"));
+        g.fillRect(tipX, tipY, tipW, tipH);
+        g.setStroke(Color.web("#999999"));
+        g.strokeRect(tipX + 0.5, tipY + 0.5, tipW - 1, tipH - 1);
+        g.setFill(Color.web("#222222"));
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.TOP);
+        for (int i = 0; i < lines.size(); i++) {
+            g.fillText(lines.get(i), tipX + 6, tipY + 4 + i * 15);
+        }
+    }
+
+    private void onMouseMoved(MouseEvent e) {
+        mouseX = e.getX();
+        mouseY = e.getY();
+        invalidateOverlay();
+    }
+
+    private void onMouseDragged(MouseEvent e) {
+        if (e.getButton() != MouseButton.PRIMARY) return;
+        double shift = (e.getX() - dragStartX) / plotWidth() * (dragStartMaxX - dragStartMinX);
+        viewMinX = dragStartMinX - shift;
+        viewMaxX = dragStartMaxX - shift;
+        userViewport = true;
+        mouseX = e.getX();
+        mouseY = e.getY();
+        invalidateBase();
+    }
+
+    private void onScroll(ScrollEvent e) {
+        if (e.getDeltaY() == 0) return;
+        double factor = e.getDeltaY() > 0 ? 0.8 : 1.25;
+        double anchor = toDataX(e.getX());
+        double newMin = anchor - (anchor - viewMinX) * factor;
+        double newMax = anchor + (viewMaxX - anchor) * factor;
+        if (newMax - newMin < MIN_X_SPAN) return;
+        viewMinX = newMin;
+        viewMaxX = newMax;
+        userViewport = true;
+        invalidateBase();
+        e.consume();
+    }
+
+    /**
+     * Index of the first point with x >= value, or size if there is none.
+     */
+    private static int lowerBound(Series s, double value) {
+        int idx = Arrays.binarySearch(s.x, 0, s.size, value);
+        if (idx < 0) return -idx - 1;
+        while (idx > 0 && s.x[idx - 1] == value) idx--;
+        return idx;
+    }
+
+    private static int nearestIndex(Series s, double value) {
+        if (s.size == 0) return -1;
+        int idx = lowerBound(s, value);
+        if (idx >= s.size) return s.size - 1;
+        if (idx > 0 && value - s.x[idx - 1] < s.x[idx] - value) return idx - 1;
+        return idx;
+    }
+
+    private static double niceStep(double raw) {
+        if (raw <= 0 || Double.isNaN(raw)) return 1;
+        double mag = Math.pow(10, Math.floor(Math.log10(raw)));
+        double norm = raw / mag;
+        double nice = norm < 1.5 ? 1 : norm < 3 ? 2 : norm < 7 ? 5 : 10;
+        return nice * mag;
+    }
+
+    private static final double[] TIME_STEPS = {
+        60, 300, 900, 1800, 3600, 3 * 3600, 6 * 3600, 12 * 3600, 86400, 2 * 86400, 7 * 86400, 30 * 86400
+    };
+
+    private static double niceTimeStep(double raw) {
+        for (double step : TIME_STEPS) {
+            if (step >= raw) return step;
+        }
+        return Math.ceil(raw / (30 * 86400)) * 30 * 86400;
+    }
+
+    private static String formatValue(double v, double step) {
+        return step >= 1 ? String.format("%.0f", v) : String.format("%.1f", v);
+    }
+}
@@ -1,11 +1,14 @@
 package org.example.ui;
 
+import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
+import javafx.animation.Timeline;
 import javafx.beans.property.SimpleDoubleProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.scene.chart.CategoryAxis;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
 import javafx.scene.chart.XYChart;
@@ -13,26 +16,62 @@ import javafx.scene.control.*;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
 import javafx.application.Platform;
+import javafx.stage.FileChooser;
+import javafx.util.Duration;
+import javafx.util.StringConverter;
+import org.example.AlertEngine;
+import org.example.AppBootstrap;
+import org.example.AppLogger;
+import org.example.ConfigManager;
+import org.example.Deadline;
+import org.example.DailyRollups;
+import org.example.DashboardSnapshot;
 import org.example.DatabaseService;
-import org.example.SavedLocation;
-import org.example.User;
+import org.example.ForecastCache;
+import org.example.ForecastColumns;
+import org.example.ForecastService;
+import org.example.SyntheticWeatherService;
+import org.example.Tracing;
+import org.example.LocationImportExport;
+import org.example.LocationIndex;
+import org.example.LocationSummary;
+import org.example.Span;
+import org.example.UserDashboardData;
 import org.example.WeatherService;
-import org.example.FreeWeatherService;
+import org.example.WeatherUpdateBus;
+import org.example.WeatherUpdated;
 
+import java.io.File;
 import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DashboardController {
+    private static final AppLogger LOG = AppLogger.get("ui.dashboard");
 
     @FXML private BorderPane root;
     @FXML private Label welcomeLabel;
 
     @FXML private ChoiceBox<String> unitsChoice;
+    @FXML private ChoiceBox<String> chartModeChoice;
 
+    @FXML private TextField locationFilterField;
     @FXML private TableView<LocationRow> locationsTable;
     @FXML private TableColumn<LocationRow, String> colName;
     @FXML private TableColumn<LocationRow, Number> colLat;
@@ -44,17 +83,92 @@ public class DashboardController {
     @FXML private Button addButton;
     @FXML private Button removeButton;
     @FXML private Button refreshButton;
+    @FXML private Button importButton;
+    @FXML private Button exportButton;
+    @FXML private Label transferStatusLabel;
 
-    @FXML private LineChart<String, Number> temperatureChart;
-    @FXML private CategoryAxis timeAxis;
+    @FXML private TextField alertRuleField;
+    @FXML private Button addAlertButton;
+    @FXML private CheckBox alertAllLocationsCheck;
+    @FXML private ListView<AlertEngine.Rule> alertRulesList;
+    @FXML private Button removeAlertButton;
+    @FXML private Label alertBanner;
+
+    @FXML private LineChart<Number, Number> temperatureChart;
+    @FXML private NumberAxis timeAxis;
     @FXML private NumberAxis valueAxis;
+    @FXML private CanvasTemperatureChart canvasChart;
+
+    @FXML private Label dailySummaryTitle;
+    @FXML private TableView<DailyRollups.DaySummary> dailySummaryTable;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colDay;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colLow;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colHigh;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colMean;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colWind;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colHumidity;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colPrecip;
+    @FXML private TableColumn<DailyRollups.DaySummary, String> colCondition;
 
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
+    private static final DateTimeFormatter DAY_TIME_FORMAT = DateTimeFormatter.ofPattern("dd MMM HH:mm");
+    private static final DateTimeFormatter SUMMARY_DAY_FORMAT = DateTimeFormatter.ofPattern("EEE dd MMM");
+    private static final double[] TIME_TICKS = {3600, 3 * 3600, 6 * 3600, 12 * 3600, 86400, 2 * 86400, 7 * 86400};
+    private static final int MAX_BANNER_ALERTS = 5;
+    private static final int MAX_CACHED_FORECASTS = 64;
+    private static final int LOCATION_PREFETCH_ROWS = 50;
+
+    // Saved locations paged in so far, oldest first, plus rows added here since the last page
     private final ObservableList<LocationRow> locations = FXCollections.observableArrayList();
-    private final Random random = new Random();
+    private final Map<Long, LocationRow> loadedRows = new HashMap<>();
+    private final ObservableList<LocationRow> filteredLocations = FXCollections.observableArrayList();
+    private final Label locationsPlaceholder = new Label("No saved locations");
+    private final ObservableList<AlertEngine.Rule> alertRules = FXCollections.observableArrayList();
+    private final AlertEngine alertEngine = new AlertEngine();
+    // Saved locations by id and by coordinate: rows loaded here, plus every other one once alerts were refreshed
+    private final Map<Long, String> locationNames = new HashMap<>();
+    private final Map<String, List<Long>> locationIdsByCoordinate = new HashMap<>();
+    // Deleted while an alert refresh was streaming, so its results must not bring them back
+    private final List<LocationRow> removedDuringAlertRefresh = new ArrayList<>();
+    // Forecasts on disk shared with other instances; the alerts refresh reads them and never fetches
+    private final ForecastCache sharedForecastCache = new ForecastCache();
+    private Timeline alertRefreshTimer;
+    private boolean refreshingAlerts;
+    // Keyed by coordinate, fed from the update bus off the FX thread
+    private final DailyRollups<String> dailyRollups = new DailyRollups<>();
+    private final AtomicBoolean dailySummaryQueued = new AtomicBoolean();
+    private final ObservableList<DailyRollups.DaySummary> dailySummaries = FXCollections.observableArrayList();
+    // Last forecast per coordinate, most recently used last; drawn while a refresh is in flight and saved in snapshots
+    private final Map<String, DashboardSnapshot.Forecast> forecastCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DashboardSnapshot.Forecast> eldest) {
+            return size() > MAX_CACHED_FORECASTS;
+        }
+    };
+    private Timeline snapshotTimer;
+    // Bursts of selection or unit changes restart this delay; only the last one refreshes the chart
+    private final PauseTransition chartRefreshDelay = new PauseTransition();
+    // Forecast requests of the current chart generation, cancelled when a newer refresh starts
+    private final List<CompletableFuture<?>> inFlightForecasts = new ArrayList<>();
     private DatabaseService databaseService;
-    private WeatherService weatherService;
-    private FreeWeatherService freeWeatherService;
-    private User currentUser;
+    private ForecastService forecastService;
+    private long chartGeneration;
+    private ChartLoad chartLoad;
+    // Trace of the user action waiting for the debounced refresh, if any
+    private Span pendingRefreshTrace;
+    private int locationPageSize;
+    private LocationSummary locationPageCursor;
+    private boolean moreLocations;
+    private boolean loadingLocationPage;
+    private int locallyAddedRows;
+    private LocationIndex locationIndex;
+    private boolean buildingLocationIndex;
+    private double timeAxisMin = Double.POSITIVE_INFINITY;
+    private double timeAxisMax = Double.NEGATIVE_INFINITY;
+    private DateTimeFormatter timeLabelFormat = TIME_FORMAT;
+    private int maxOverlayLocations;
+    private int dashboardDeadlineMs;
+    private UserDashboardData currentUser;
 
     @FXML
     private void initialize() {
@@ -66,152 +180,555 @@ public class DashboardController {
         colLat.setCellValueFactory(data -> new SimpleDoubleProperty(data.getValue().getLatitude()));
         colLon.setCellValueFactory(data -> new SimpleDoubleProperty(data.getValue().getLongitude()));
         locationsTable.setItems(locations);
+        locationsTable.setPlaceholder(locationsPlaceholder);
+        locationPageSize = ConfigManager.getInstance().getLocationPageSize();
+        locationsTable.setRowFactory(table -> new TableRow<>() {
+            @Override
+            protected void updateItem(LocationRow row, boolean empty) {
+                super.updateItem(row, empty);
+                // Page in more locations as rows near the end of what is loaded come into view
+                if (!empty && getTableView().getItems() == locations && getIndex() >= locations.size() - LOCATION_PREFETCH_ROWS) {
+                    loadNextLocationPage();
+                }
+            }
+        });
+        locationFilterField.textProperty().addListener((obs, oldText, newText) -> applyLocationFilter());
 
         // Units
         unitsChoice.setItems(FXCollections.observableArrayList("Metric (°C)", "Imperial (°F)"));
         unitsChoice.getSelectionModel().selectFirst();
-        unitsChoice.setOnAction(e -> refreshChart());
+        unitsChoice.setOnAction(e -> {
+            scheduleRefreshChart("ui.units");
+            dailySummaryTable.refresh(); // Rollups are kept in metric units, only the display changes
+        });
+
+        // Chart render mode
+        chartModeChoice.setItems(FXCollections.observableArrayList("Standard", "High density"));
+        if ("canvas".equals(ConfigManager.getInstance().getChartRenderMode())) {
+            chartModeChoice.getSelectionModel().selectLast();
+        } else {
+            chartModeChoice.getSelectionModel().selectFirst();
+        }
+        chartModeChoice.setOnAction(e -> {
+            applyChartMode();
+            refreshChart();
+        });
 
         // Buttons
         addButton.setOnAction(e -> addLocation());
         removeButton.setOnAction(e -> removeSelected());
         refreshButton.setOnAction(e -> {
-            System.out.println("=== REFRESH BUTTON CLICKED ===");
+            LOG.debug("Refresh button clicked");
             refreshChart();
         });
+        importButton.setOnAction(e -> importLocations());
+        exportButton.setOnAction(e -> exportLocations());
 
         // Enter key adds location
         lonField.setOnKeyPressed(e -> {
             if (e.getCode() == KeyCode.ENTER) addLocation();
         });
 
-        // Select row updates chart
-        locationsTable.getSelectionModel().selectedItemProperty().addListener((obs, oldSel, newSel) -> {
-            System.out.println("=== TABLE SELECTION CHANGED ===");
-            System.out.println("From: " + (oldSel != null ? oldSel.getName() : "null"));
-            System.out.println("To: " + (newSel != null ? newSel.getName() : "null"));
-            refreshChart();
+        // Daily summary of the first selected location; cells format canonical values for the chosen units
+        colDay.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getDate().format(SUMMARY_DAY_FORMAT)));
+        colLow.setCellValueFactory(data -> new SimpleStringProperty(formatTemperature(data.getValue().getMinTemperature())));
+        colHigh.setCellValueFactory(data -> new SimpleStringProperty(formatTemperature(data.getValue().getMaxTemperature())));
+        colMean.setCellValueFactory(data -> new SimpleStringProperty(formatTemperature(data.getValue().getMeanTemperature())));
+        colWind.setCellValueFactory(data -> new SimpleStringProperty(formatWindSpeed(data.getValue().getMaxWindSpeed())));
+        colHumidity.setCellValueFactory(data -> new SimpleStringProperty(String.format("%.0f%%", data.getValue().getMeanHumidity())));
+        colPrecip.setCellValueFactory(data -> new SimpleStringProperty(formatPrecipitation(data.getValue().getTotalPrecipitation())));
+        colCondition.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getDominantCondition()));
+        dailySummaryTable.setItems(dailySummaries);
+
+        // Alert rules
+        alertRulesList.setItems(alertRules);
+        alertRulesList.setCellFactory(list -> new ListCell<>() {
+            @Override
+            protected void updateItem(AlertEngine.Rule rule, boolean empty) {
+                super.updateItem(rule, empty);
+                setText(empty || rule == null ? null : rule.describe() + " (" + ruleScope(rule) + ")");
+            }
+        });
+        addAlertButton.setOnAction(e -> addAlertRule());
+        removeAlertButton.setOnAction(e -> removeAlertRule());
+        alertRuleField.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) addAlertRule();
+        });
+
+        // Selected rows (up to the overlay limit) are charted together
+        maxOverlayLocations = ConfigManager.getInstance().getMaxOverlayLocations();
+        dashboardDeadlineMs = ConfigManager.getInstance().getDashboardDeadlineMs();
+        locationsTable.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        locationsTable.getSelectionModel().getSelectedItems().addListener((ListChangeListener<LocationRow>) change -> {
+            LOG.debug(() -> "Selection changed: " + locationsTable.getSelectionModel().getSelectedItems().size() + " location(s)");
+            updateDailySummary();
+            scheduleRefreshChart("ui.selection");
         });
+        chartRefreshDelay.setDuration(Duration.millis(ConfigManager.getInstance().getChartRefreshDelayMs()));
+        chartRefreshDelay.setOnFinished(e -> refreshChart());
 
         configureChart();
+        applyChartMode();
         
         // Test chart with simple data
         testChart();
     }
     
     private void initializeServices() {
-        // Initialize DatabaseService
-        try {
-            if (DatabaseService.isDatabaseConfigured()) {
-                databaseService = DatabaseService.getInstance();
-                System.out.println("✅ Database service initialized successfully");
-            } else {
-                System.out.println("⚠️ Database not configured: " + DatabaseService.getDatabaseConfigurationError());
-            }
-        } catch (Exception e) {
-            System.out.println("❌ Failed to initialize database service: " + e.getMessage());
-        }
-        
-        // Initialize WeatherService
-        try {
-            weatherService = new WeatherService();
-            System.out.println("✅ Weather service initialized successfully");
-        } catch (Exception e) {
-            System.out.println("❌ Failed to initialize weather service: " + e.getMessage());
-            System.out.println("⚠️ Weather features will be limited");
+        // Both were started in the background at launch (AppBootstrap); the dashboard is only
+        // reachable after login, so the database is ready by now
+        AppBootstrap bootstrap = AppBootstrap.getInstance();
+        databaseService = bootstrap.getDatabaseServiceIfReady();
+        if (databaseService == null) {
+            LOG.warn("⚠️ Database not available, changes will not be saved");
         }
         
-        // Initialize FreeWeatherService (fallback)
-        try {
-            freeWeatherService = new FreeWeatherService();
-            System.out.println("✅ Free weather service initialized successfully");
-        } catch (Exception e) {
-            System.out.println("❌ Failed to initialize free weather service: " + e.getMessage());
+        // Weather services (OpenWeatherMap with free fallback)
+        forecastService = bootstrap.forecasts().join();
+        subscribeToUpdates();
+    }
+
+    /**
+     * Every consumer of fresh forecasts subscribes to the update bus separately. Rollups keep
+     * every update on a bus thread; the cache, alerts and chart only need the newest forecast
+     * per location, so a burst of updates reaches the FX thread as one batch for each.
+     */
+    private void subscribeToUpdates() {
+        if (forecastService == null) {
+            return;
         }
+        WeatherUpdateBus updates = forecastService.getUpdates();
+        updates.subscribeLatest("forecast-cache", Platform::runLater, batch -> {
+            for (WeatherUpdated update : batch) {
+                forecastCache.put(coordinateKey(update.getLatitude(), update.getLongitude()), new DashboardSnapshot.Forecast(
+                    update.getLatitude(), update.getLongitude(), update.getResult().getDataSource(), update.getColumns()));
+            }
+        });
+        updates.subscribeEach("daily-rollups", update -> {
+            dailyRollups.addForecast(coordinateKey(update.getLatitude(), update.getLongitude()), update.getColumns());
+            if (dailySummaryQueued.compareAndSet(false, true)) {
+                Platform.runLater(() -> {
+                    dailySummaryQueued.set(false);
+                    updateDailySummary();
+                });
+            }
+        });
+        updates.subscribeLatest("alerts", Platform::runLater, this::evaluateAlerts);
+        updates.subscribeLatest("chart", Platform::runLater, this::onForecastUpdates);
     }
     
     private void testChart() {
-        System.out.println("=== TESTING CHART ===");
-        XYChart.Series<String, Number> testSeries = new XYChart.Series<>();
-        testSeries.setName("Test Data");
-        testSeries.getData().add(new XYChart.Data<>("00:00", 20));
-        testSeries.getData().add(new XYChart.Data<>("06:00", 15));
-        testSeries.getData().add(new XYChart.Data<>("12:00", 25));
-        testSeries.getData().add(new XYChart.Data<>("18:00", 22));
-        
-        // IMPROVED: Add test series with immediate visual refresh
-        temperatureChart.getData().add(testSeries);
-        System.out.println("Test data added to chart");
-        
-        // Force immediate layout for test data
-        temperatureChart.requestLayout();
-        temperatureChart.applyCss();
-        temperatureChart.layout();
+        LOG.debug("Showing test chart data");
+        LocalDateTime midnight = LocalDateTime.now().toLocalDate().atStartOfDay();
+        List<LocalDateTime> times = List.of(midnight, midnight.plusHours(6), midnight.plusHours(12), midnight.plusHours(18));
+        showSeries("Test Data", times, new double[] {20, 15, 25, 22});
         
         // Apply aggressive refresh for test data
-        Platform.runLater(() -> {
-            forceChartRefresh();
-        });
+        if (!isCanvasMode()) {
+            Platform.runLater(this::forceChartRefresh);
+        }
     }
 
-    public void setUser(User user) {
+    public void setUser(UserDashboardData user) {
         this.currentUser = user;
         welcomeLabel.setText("Welcome, " + user.getDisplayName() + "!");
-        loadUserData();
+        loadUserData(List.of());
+        loadAlertRules();
+        startSnapshots();
     }
     
-    private void loadUserData() {
+    /**
+     * Draw the dashboard from the snapshot saved last time, including its forecasts, then
+     * reload the user's data from the database in the background; the chart refresh started
+     * by the restored selection brings the forecasts up to date
+     */
+    public void setSnapshot(DashboardSnapshot snapshot) {
+        this.currentUser = snapshot.getUser();
+        welcomeLabel.setText("Welcome, " + currentUser.getDisplayName() + "!");
+        for (DashboardSnapshot.Forecast forecast : snapshot.getForecasts()) {
+            forecastCache.put(coordinateKey(forecast.getLatitude(), forecast.getLongitude()), forecast);
+        }
+        loadUserData(snapshot.getSelectedLocationIds());
+        for (DashboardSnapshot.Forecast forecast : snapshot.getForecasts()) {
+            dailyRollups.addForecast(coordinateKey(forecast.getLatitude(), forecast.getLongitude()), forecast.getColumns());
+        }
+        updateDailySummary();
+        loadAlertRules();
+        reconcileWithDatabase();
+        startSnapshots();
+    }
+    
+    /**
+     * Populate the dashboard from the data hydrated at login (or a snapshot); no database round-trips here
+     */
+    private void loadUserData(Collection<Long> selectedIds) {
         if (currentUser == null) return;
         
-        if (databaseService == null) {
-            System.out.println("⚠️ Database service not available - user data not loaded");
-            return;
-        }
+        // Saved locations: the first page now, the rest as the user scrolls
+        resetLocations(currentUser.getLocations());
         
-        try {
-            // Load user's saved locations
-            List<SavedLocation> savedLocations = databaseService.getUserLocations(currentUser.getId());
-            locations.clear();
-            for (SavedLocation location : savedLocations) {
-                locations.add(new LocationRow(
-                    location.getLocationName(),
-                    location.getLatitude(),
-                    location.getLongitude()
-                ));
+        // User preferences
+        String unitsPreference = currentUser.getPreference("units");
+        if (unitsPreference != null) {
+            if ("imperial".equals(unitsPreference)) {
+                unitsChoice.getSelectionModel().selectLast();
+            } else {
+                unitsChoice.getSelectionModel().selectFirst();
             }
-            
-            // Load user preferences
-            String unitsPreference = databaseService.getUserPreference(currentUser.getId(), "units");
-            if (unitsPreference != null) {
-                if ("imperial".equals(unitsPreference)) {
-                    unitsChoice.getSelectionModel().selectLast();
-                } else {
-                    unitsChoice.getSelectionModel().selectFirst();
+        }
+        
+        // Restore the previous selection, otherwise select the first location
+        if (!locations.isEmpty()) {
+            locationsTable.getSelectionModel().clearSelection();
+            for (int i = 0; i < locations.size(); i++) {
+                if (selectedIds.contains(locations.get(i).getId())) {
+                    locationsTable.getSelectionModel().select(i);
                 }
             }
-            
-            // Select first location if available
-            if (!locations.isEmpty()) {
+            if (locationsTable.getSelectionModel().isEmpty()) {
                 locationsTable.getSelectionModel().selectFirst();
-                // Force chart refresh after loading data
-                refreshChart();
             }
-            
-        } catch (Exception e) {
-            showError("Failed to load user data: " + e.getMessage());
+            // Force chart refresh after loading data
+            refreshChart();
+        }
+    }
+
+    /**
+     * Replace what the snapshot showed with the database's current data, if it differs
+     */
+    private void reconcileWithDatabase() {
+        if (databaseService == null) {
+            return;
+        }
+        Long userId = currentUser.getUserId();
+        Thread.ofVirtual().name("dashboard-reconcile").start(withDeadline(() -> {
+            try {
+                UserDashboardData fresh = databaseService.loadDashboardData(userId);
+                if (fresh == null) {
+                    return;
+                }
+                Platform.runLater(() -> {
+                    boolean changed = !sameLocations(fresh.getLocations())
+                        || !Objects.equals(fresh.getPreference("units"), currentUser.getPreference("units"));
+                    currentUser = fresh;
+                    if (changed) {
+                        LOG.info("Snapshot was out of date, reloading dashboard from the database");
+                        loadUserData(selectedLocationIds());
+                    }
+                });
+            } catch (Exception e) {
+                LOG.warn("⚠️ Could not reconcile dashboard with the database", e);
+            }
+        }));
+    }
+
+    /**
+     * Run a background load for a user action within DASHBOARD_DEADLINE_MS, counted from now
+     */
+    private Runnable withDeadline(Runnable action) {
+        Deadline deadline = Deadline.after(dashboardDeadlineMs);
+        return () -> {
+            try (Deadline.Scope budget = deadline.activate()) {
+                action.run();
+            }
+        };
+    }
+
+    /**
+     * Whether the first page from the database matches the start of what is shown
+     */
+    private boolean sameLocations(List<LocationSummary> fresh) {
+        if (fresh.size() > locations.size() || (fresh.size() < locationPageSize && fresh.size() != locations.size())) {
+            return false;
+        }
+        for (int i = 0; i < fresh.size(); i++) {
+            LocationSummary location = fresh.get(i);
+            LocationRow row = locations.get(i);
+            if (!Objects.equals(location.getId(), row.getId()) || !location.getLocationName().equals(row.getName())
+                    || location.getLatitude() != row.getLatitude() || location.getLongitude() != row.getLongitude()
+                    || !Objects.equals(location.getCreatedAt(), row.getCreatedAt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the shown locations with a first page; the filter index is rebuilt when next needed
+     */
+    private void resetLocations(List<LocationSummary> firstPage) {
+        locations.clear();
+        loadedRows.clear();
+        locationPageCursor = null;
+        locallyAddedRows = 0;
+        locationIndex = null;
+        appendLocationPage(firstPage);
+        moreLocations = firstPage.size() >= locationPageSize;
+        dailyRollups.retainAll(coordinateKeys());
+        applyLocationFilter();
+    }
+
+    private void appendLocationPage(List<LocationSummary> page) {
+        List<LocationRow> rows = new ArrayList<>(page.size());
+        for (LocationSummary location : page) {
+            LocationRow row = LocationRow.from(location);
+            // Rows added on this dashboard are already shown and come round again on the last page
+            if (row.getId() == null || loadedRows.putIfAbsent(row.getId(), row) == null) {
+                rows.add(row);
+                trackLocation(row.getId(), row.getName(), row.getLatitude(), row.getLongitude());
+            }
+        }
+        locations.addAll(locations.size() - locallyAddedRows, rows);
+        if (!page.isEmpty()) {
+            locationPageCursor = page.get(page.size() - 1);
+        }
+    }
+
+    /**
+     * Fetch the page after the last one loaded, unless one is already on its way
+     */
+    private void loadNextLocationPage() {
+        if (!moreLocations || loadingLocationPage || databaseService == null || currentUser == null
+                || (locationPageCursor != null && locationPageCursor.getCreatedAt() == null)) {
+            return;
+        }
+        loadingLocationPage = true;
+        Long userId = currentUser.getUserId();
+        LocationSummary after = locationPageCursor;
+        Thread.ofVirtual().name("location-page").start(withDeadline(() -> {
+            try {
+                List<LocationSummary> page = databaseService.getUserLocationsPage(userId, after, locationPageSize);
+                Platform.runLater(() -> {
+                    loadingLocationPage = false;
+                    if (after != locationPageCursor) {
+                        return; // The list was reloaded meanwhile
+                    }
+                    appendLocationPage(page);
+                    moreLocations = page.size() >= locationPageSize;
+                    if (!moreLocations) {
+                        locallyAddedRows = 0;
+                    }
+                    LOG.debug(() -> "Loaded " + page.size() + " more location(s), " + locations.size() + " shown");
+                });
+            } catch (Exception e) {
+                LOG.warn("⚠️ Could not load more saved locations", e);
+                Platform.runLater(() -> loadingLocationPage = false);
+            }
+        }));
+    }
+
+    /**
+     * Show only the locations whose name contains the filter text, searching all saved
+     * locations (not just the loaded pages) through an index built on first use
+     */
+    private void applyLocationFilter() {
+        String query = safe(locationFilterField.getText());
+        if (query.isEmpty()) {
+            filteredLocations.clear();
+            locationsPlaceholder.setText("No saved locations");
+            if (locationsTable.getItems() != locations) {
+                locationsTable.setItems(locations);
+            }
+            return;
+        }
+        if (locationsTable.getItems() != filteredLocations) {
+            locationsTable.setItems(filteredLocations);
+        }
+        if (locationIndex == null) {
+            filteredLocations.clear();
+            locationsPlaceholder.setText("Indexing saved locations…");
+            buildLocationIndex();
+            return;
+        }
+        List<LocationSummary> matches = locationIndex.search(query);
+        List<LocationRow> rows = new ArrayList<>(matches.size());
+        for (LocationSummary location : matches) {
+            LocationRow loaded = location.getId() == null ? null : loadedRows.get(location.getId());
+            rows.add(loaded != null ? loaded : LocationRow.from(location));
+        }
+        filteredLocations.setAll(rows);
+        locationsPlaceholder.setText("No matching locations");
+    }
+
+    private void buildLocationIndex() {
+        if (buildingLocationIndex) {
+            return;
+        }
+        if (databaseService == null || currentUser == null || currentUser.getUserId() == null) {
+            // Nothing beyond the rows shown here
+            LocationIndex index = new LocationIndex();
+            for (LocationRow row : locations) {
+                index.add(row.toSummary());
+            }
+            locationIndex = index;
+            applyLocationFilter();
+            return;
+        }
+        buildingLocationIndex = true;
+        Long userId = currentUser.getUserId();
+        Thread.ofVirtual().name("location-index").start(() -> {
+            try {
+                long start = System.nanoTime();
+                LocationIndex index = new LocationIndex();
+                databaseService.forEachUserLocation(userId, index::add);
+                LOG.debug(() -> "Indexed " + index.size() + " location(s) in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+                Platform.runLater(() -> {
+                    buildingLocationIndex = false;
+                    locationIndex = index;
+                    applyLocationFilter();
+                });
+            } catch (Exception e) {
+                LOG.warn("⚠️ Could not index saved locations", e);
+                Platform.runLater(() -> {
+                    buildingLocationIndex = false;
+                    locationsPlaceholder.setText("Filtering unavailable");
+                });
+            }
+        });
+    }
+
+    /**
+     * Save a snapshot on exit and, unless SNAPSHOT_INTERVAL_SECONDS is 0, periodically
+     */
+    private void startSnapshots() {
+        if (snapshotTimer != null) {
+            return;
+        }
+        AppBootstrap.getInstance().addShutdownAction(this::saveSnapshotNow);
+        int interval = ConfigManager.getInstance().getSnapshotIntervalSeconds();
+        if (interval > 0) {
+            snapshotTimer = new Timeline(new KeyFrame(Duration.seconds(interval), e -> saveSnapshotInBackground()));
+            snapshotTimer.setCycleCount(Timeline.INDEFINITE);
+            snapshotTimer.play();
+        } else {
+            snapshotTimer = new Timeline();
+        }
+    }
+
+    /**
+     * Capture the dashboard's current state (FX thread)
+     */
+    private DashboardSnapshot captureSnapshot() {
+        if (currentUser == null || currentUser.getEmail() == null) {
+            return null;
+        }
+        // Only the first page; the rest is paged in again after the next login
+        List<LocationRow> rows = locations.subList(0, Math.min(locations.size(), locationPageSize));
+        List<LocationSummary> summaries = new ArrayList<>(rows.size());
+        List<DashboardSnapshot.Forecast> forecasts = new ArrayList<>();
+        for (LocationRow row : rows) {
+            summaries.add(row.toSummary());
+            DashboardSnapshot.Forecast cached = forecastCache.get(coordinateKey(row.getLatitude(), row.getLongitude()));
+            if (cached != null && !forecasts.contains(cached)) {
+                forecasts.add(cached);
+            }
+        }
+        Map<String, String> preferences = new HashMap<>(currentUser.getPreferences());
+        preferences.put("units", isMetricSelected() ? "metric" : "imperial");
+        UserDashboardData user = new UserDashboardData(currentUser.getUserId(), currentUser.getEmail(),
+            currentUser.getDisplayName(), currentUser.getLastLogin(), preferences, summaries);
+        return new DashboardSnapshot(user, selectedLocationIds(), forecasts);
+    }
+
+    private void saveSnapshotInBackground() {
+        DashboardSnapshot snapshot = captureSnapshot();
+        if (snapshot != null) {
+            Thread.ofVirtual().name("dashboard-snapshot").start(() -> writeSnapshot(snapshot));
+        }
+    }
+
+    private void saveSnapshotNow() {
+        if (snapshotTimer != null) {
+            snapshotTimer.stop();
+        }
+        DashboardSnapshot snapshot = captureSnapshot();
+        if (snapshot != null) {
+            writeSnapshot(snapshot);
+        }
+    }
+
+    private void writeSnapshot(DashboardSnapshot snapshot) {
+        try {
+            snapshot.save();
+        } catch (IOException e) {
+            LOG.warn("⚠️ Could not save dashboard snapshot: " + e.getMessage());
+        }
+    }
+
+    private List<Long> selectedLocationIds() {
+        List<Long> ids = new ArrayList<>();
+        for (LocationRow row : locationsTable.getSelectionModel().getSelectedItems()) {
+            if (row != null && row.getId() != null) {
+                ids.add(row.getId());
+            }
         }
+        return ids;
+    }
+
+    private static String coordinateKey(double latitude, double longitude) {
+        return latitude + "," + longitude;
+    }
+
+    private Set<String> coordinateKeys() {
+        Set<String> keys = new HashSet<>();
+        for (LocationRow row : locations) {
+            keys.add(coordinateKey(row.getLatitude(), row.getLongitude()));
+        }
+        return keys;
     }
 
     private void configureChart() {
         temperatureChart.setAnimated(false);
         temperatureChart.setLegendVisible(true);
         timeAxis.setLabel("Time");
+        timeAxis.setAutoRanging(false);
+        timeAxis.setMinorTickVisible(false);
+        timeAxis.setTickLabelFormatter(new StringConverter<>() {
+            @Override
+            public String toString(Number epochSecond) {
+                return Instant.ofEpochSecond(epochSecond.longValue()).atZone(ZoneId.systemDefault()).format(timeLabelFormat);
+            }
+
+            @Override
+            public Number fromString(String text) {
+                return 0;
+            }
+        });
         updateValueAxisLabel();
     }
 
     private void updateValueAxisLabel() {
         boolean metric = unitsChoice.getSelectionModel().getSelectedIndex() == 0;
         valueAxis.setLabel(metric ? "Temperature (°C)" : "Temperature (°F)");
+        canvasChart.setValueAxisLabel(metric ? "Temperature (°C)" : "Temperature (°F)");
+    }
+
+    private boolean isCanvasMode() {
+        return chartModeChoice.getSelectionModel().getSelectedIndex() == 1;
+    }
+
+    private void applyChartMode() {
+        boolean canvas = isCanvasMode();
+        canvasChart.setVisible(canvas);
+        canvasChart.setManaged(canvas);
+        temperatureChart.setVisible(!canvas);
+        temperatureChart.setManaged(!canvas);
+    }
+
+    /**
+     * Draw a forecast series on the canvas chart from primitive arrays
+     */
+    private void showCanvasSeries(String name, List<LocalDateTime> times, double[] temperatures, double[] low, double[] high) {
+        ZoneId zone = ZoneId.systemDefault();
+        double[] x = new double[times.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = times.get(i).atZone(zone).toEpochSecond();
+        }
+        CanvasTemperatureChart.Series series = new CanvasTemperatureChart.Series(name, x, temperatures);
+        if (low != null) {
+            series.setBand(low, high);
+        }
+        canvasChart.addSeries(series);
     }
 
     private void addLocation() {
@@ -228,15 +745,27 @@ public class DashboardController {
             double lon = Double.parseDouble(lonText);
             
             // Save to database
+            Long id = null;
             if (currentUser != null && databaseService != null) {
-                databaseService.saveLocation(currentUser.getId(), name, lat, lon);
+                id = databaseService.saveLocation(currentUser.getUserId(), name, lat, lon);
             } else if (currentUser != null && databaseService == null) {
-                System.out.println("⚠️ Database service not available - location not saved to database");
+                LOG.warn("⚠️ Database service not available - location not saved to database");
             }
             
-            // Add to UI
-            LocationRow newLocation = new LocationRow(name, lat, lon);
+            // Add to UI after the rows paged in so far, with the filter cleared so it shows
+            LocationRow newLocation = new LocationRow(id, name, lat, lon, LocalDateTime.now());
+            locationFilterField.clear();
             locations.add(newLocation);
+            if (id != null) {
+                loadedRows.put(id, newLocation);
+                trackLocation(id, name, lat, lon);
+            }
+            if (moreLocations) {
+                locallyAddedRows++;
+            }
+            if (locationIndex != null) {
+                locationIndex.add(newLocation.toSummary());
+            }
             nameField.clear();
             latField.clear();
             lonField.clear();
@@ -250,56 +779,645 @@ public class DashboardController {
     }
 
     private void removeSelected() {
-        LocationRow sel = locationsTable.getSelectionModel().getSelectedItem();
-        if (sel != null) {
+        List<LocationRow> selected = new ArrayList<>(locationsTable.getSelectionModel().getSelectedItems());
+        if (selected.isEmpty()) {
+            return;
+        }
+        try {
+            // Remove from database by id
+            if (currentUser != null && databaseService != null) {
+                List<Long> ids = new ArrayList<>(selected.size());
+                for (LocationRow row : selected) {
+                    if (row.getId() != null) {
+                        ids.add(row.getId());
+                    }
+                }
+                databaseService.deleteLocations(ids);
+            } else if (currentUser != null && databaseService == null) {
+                LOG.warn("⚠️ Database service not available - location not removed from database");
+            }
+            
+            // Remove from UI; rules bound to these locations were deleted with them
+            int firstLocalRow = locations.size() - locallyAddedRows;
+            for (LocationRow row : selected) {
+                if (locations.indexOf(row) >= firstLocalRow) {
+                    locallyAddedRows--;
+                }
+            }
+            locations.removeAll(selected);
+            filteredLocations.removeAll(selected);
+            Set<Long> removedIds = new HashSet<>();
+            dailyRollups.retainAll(coordinateKeys());
+            for (LocationRow row : selected) {
+                if (row.getId() != null) {
+                    removedIds.add(row.getId());
+                    loadedRows.remove(row.getId());
+                    untrackLocation(row.getId(), row.getLatitude(), row.getLongitude());
+                    alertEngine.forgetLocation(row.getId());
+                    if (refreshingAlerts) {
+                        removedDuringAlertRefresh.add(row);
+                    }
+                }
+            }
+            if (locationIndex != null) {
+                locationIndex.removeIds(removedIds);
+            }
+            if (alertRules.removeIf(rule -> removedIds.contains(rule.getLocationId()))) {
+                alertEngine.setRules(alertRules);
+            }
+            updateAlertBanner();
+        } catch (Exception e) {
+            showError("Failed to remove location: " + e.getMessage());
+        }
+    }
+
+    private void importLocations() {
+        if (currentUser == null || databaseService == null) {
+            showInfo("Importing locations requires a database connection.");
+            return;
+        }
+        FileChooser chooser = transferFileChooser("Import Locations");
+        File file = chooser.showOpenDialog(root.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        Long userId = currentUser.getUserId();
+        setTransferRunning(true, "Importing " + file.getName() + "…");
+        // Each chunk commits on its own, so this is how many rows are stored if the import fails part-way
+        AtomicLong committed = new AtomicLong();
+        Thread.ofVirtual().name("location-import").start(() -> {
             try {
-                // Find and remove from database
-                if (currentUser != null && databaseService != null) {
-                    List<SavedLocation> savedLocations = databaseService.getUserLocations(currentUser.getId());
-                    for (SavedLocation location : savedLocations) {
-                        if (location.getLocationName().equals(sel.getName()) &&
-                            location.getLatitude().equals(sel.getLatitude()) &&
-                            location.getLongitude().equals(sel.getLongitude())) {
-                            databaseService.deleteLocation(location.getId());
-                            break;
+                LocationImportExport.ImportResult result = new LocationImportExport(databaseService).importLocations(
+                    userId, file.toPath(), count -> {
+                        committed.set(count);
+                        Platform.runLater(() -> transferStatusLabel.setText("Imported " + count + " locations…"));
+                    });
+                List<LocationSummary> firstPage = databaseService.getUserLocationsPage(userId, null, locationPageSize);
+                Platform.runLater(() -> {
+                    resetLocations(firstPage);
+                    setTransferRunning(false, "Imported " + result.getImported() + " locations"
+                        + (result.getSkipped() > 0 ? " (" + result.getSkipped() + " invalid rows skipped)" : ""));
+                });
+            } catch (Exception e) {
+                long saved = committed.get();
+                List<LocationSummary> firstPage = null;
+                if (saved > 0) {
+                    try {
+                        firstPage = databaseService.getUserLocationsPage(userId, null, locationPageSize);
+                    } catch (Exception reloadError) {
+                        LOG.warn("⚠️ Could not reload saved locations after a failed import", reloadError);
+                    }
+                }
+                List<LocationSummary> reloaded = firstPage;
+                Platform.runLater(() -> {
+                    if (reloaded != null) {
+                        resetLocations(reloaded);
+                    }
+                    setTransferRunning(false, saved > 0 ? "Import failed after " + saved + " locations were saved" : "Import failed");
+                    showError("Failed to import locations: " + e.getMessage()
+                        + (saved > 0 ? "\n\n" + saved + " locations from the start of the file were already saved;"
+                            + " importing the same file again will add them a second time." : ""));
+                });
+            }
+        });
+    }
+
+    private void exportLocations() {
+        if (currentUser == null || databaseService == null) {
+            showInfo("Exporting locations requires a database connection.");
+            return;
+        }
+        FileChooser chooser = transferFileChooser("Export Locations");
+        chooser.setInitialFileName("locations.csv");
+        File file = chooser.showSaveDialog(root.getScene().getWindow());
+        if (file == null) {
+            return;
+        }
+        
+        Long userId = currentUser.getUserId();
+        setTransferRunning(true, "Exporting to " + file.getName() + "…");
+        Thread.ofVirtual().name("location-export").start(() -> {
+            try {
+                long exported = new LocationImportExport(databaseService).exportLocations(
+                    userId, file.toPath(), count -> Platform.runLater(() -> transferStatusLabel.setText("Exported " + count + " locations…")));
+                Platform.runLater(() -> setTransferRunning(false, "Exported " + exported + " locations to " + file.getName()));
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    setTransferRunning(false, "Export failed");
+                    showError("Failed to export locations: " + e.getMessage());
+                });
+            }
+        });
+    }
+
+    private void loadAlertRules() {
+        if (currentUser == null || databaseService == null) {
+            return;
+        }
+        Long userId = currentUser.getUserId();
+        Thread.ofVirtual().name("alert-rules-load").start(withDeadline(() -> {
+            try {
+                List<AlertEngine.Rule> rules = databaseService.getAlertRules(userId);
+                // Rules may be bound to locations on pages not loaded yet
+                Set<Long> boundIds = new HashSet<>();
+                for (AlertEngine.Rule rule : rules) {
+                    if (rule.getLocationId() != null) {
+                        boundIds.add(rule.getLocationId());
+                    }
+                }
+                Map<Long, String> names = databaseService.getLocationNames(boundIds);
+                Platform.runLater(() -> {
+                    names.forEach(locationNames::putIfAbsent);
+                    alertRules.setAll(rules);
+                    alertEngine.setRules(rules);
+                    updateAlertBanner();
+                    startAlertRefresh();
+                });
+            } catch (Exception e) {
+                LOG.warn("⚠️ Could not load alert rules", e);
+            }
+        }));
+    }
+
+    private void addAlertRule() {
+        String text = safe(alertRuleField.getText());
+        if (text.isEmpty()) {
+            showInfo("Enter a rule, for example: temp < 0 in next 24h");
+            return;
+        }
+        Long locationId = null;
+        if (!alertAllLocationsCheck.isSelected()) {
+            LocationRow row = locationsTable.getSelectionModel().getSelectedItem();
+            if (row == null || row.getId() == null) {
+                showInfo("Select a saved location, or tick \"All locations\".");
+                return;
+            }
+            locationId = row.getId();
+            // May be a filter match from a page not loaded yet
+            trackLocation(row.getId(), row.getName(), row.getLatitude(), row.getLongitude());
+        }
+        try {
+            AlertEngine.Rule rule = AlertEngine.Rule.parse(text, locationId);
+            if (currentUser != null && databaseService != null) {
+                rule = databaseService.saveAlertRule(currentUser.getUserId(), rule);
+            } else if (currentUser != null && databaseService == null) {
+                LOG.warn("⚠️ Database service not available - alert rule not saved to database");
+            }
+            alertRules.add(rule);
+            alertEngine.setRules(alertRules);
+            updateAlertBanner();
+            alertRuleField.clear();
+            if (alertRules.size() == 1) {
+                // No refresh has had rules to check yet
+                refreshAllAlerts();
+            }
+        } catch (IllegalArgumentException e) {
+            showInfo(e.getMessage());
+        } catch (Exception e) {
+            showError("Failed to save alert rule: " + e.getMessage());
+        }
+    }
+
+    private void removeAlertRule() {
+        AlertEngine.Rule rule = alertRulesList.getSelectionModel().getSelectedItem();
+        if (rule == null) {
+            return;
+        }
+        try {
+            if (rule.getId() != null && databaseService != null) {
+                databaseService.deleteAlertRule(rule.getId());
+            }
+            alertRules.remove(rule);
+            alertEngine.setRules(alertRules);
+            updateAlertBanner();
+        } catch (Exception e) {
+            showError("Failed to remove alert rule: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Re-evaluate the alert rules of every saved location the fresh forecasts are for
+     */
+    private void evaluateAlerts(Collection<WeatherUpdated> updates) {
+        for (WeatherUpdated update : updates) {
+            List<Long> ids = locationIdsByCoordinate.get(coordinateKey(update.getLatitude(), update.getLongitude()));
+            if (ids == null) {
+                continue;
+            }
+            for (Long id : ids) {
+                for (AlertEngine.Alert alert : alertEngine.onForecast(id, update.getColumns())) {
+                    LOG.info(() -> "🔔 " + locationName(id) + ": " + alert.describe());
+                }
+            }
+        }
+        updateAlertBanner();
+    }
+
+    /**
+     * Check alerts for every saved location at login and, when the shared forecast cache is on,
+     * every ALERT_REFRESH_MINUTES after that, not only for those charted here
+     */
+    private void startAlertRefresh() {
+        if (alertRefreshTimer != null) {
+            return;
+        }
+        int interval = ConfigManager.getInstance().getAlertRefreshMinutes();
+        if (interval > 0 && sharedForecastCache.isEnabled()) {
+            alertRefreshTimer = new Timeline(new KeyFrame(Duration.minutes(interval), e -> refreshAllAlerts()));
+            alertRefreshTimer.setCycleCount(Timeline.INDEFINITE);
+            alertRefreshTimer.play();
+        } else {
+            alertRefreshTimer = new Timeline();
+        }
+        refreshAllAlerts();
+    }
+
+    /**
+     * Stream all of the user's saved locations and evaluate the rules against forecasts already on
+     * hand, never fetching: the shared forecast cache once per grid cell when it is on, then the
+     * forecasts held by this dashboard. The complete id and coordinate maps then replace the ones
+     * built from the loaded rows.
+     */
+    private void refreshAllAlerts() {
+        if (refreshingAlerts || alertRules.isEmpty() || currentUser == null || databaseService == null) {
+            return;
+        }
+        refreshingAlerts = true;
+        removedDuringAlertRefresh.clear();
+        Long userId = currentUser.getUserId();
+        boolean readCache = sharedForecastCache.isEnabled();
+        Thread.ofVirtual().name("alerts-refresh").start(() -> {
+            Map<Long, String> names = new HashMap<>();
+            Map<String, List<Long>> idsByCoordinate = new HashMap<>();
+            Map<Integer, List<Long>> idsByCell = new HashMap<>();
+            try {
+                long start = System.nanoTime();
+                databaseService.forEachUserLocation(userId, location -> {
+                    names.put(location.getId(), location.getLocationName());
+                    idsByCoordinate.computeIfAbsent(coordinateKey(location.getLatitude(), location.getLongitude()),
+                        key -> new ArrayList<>(1)).add(location.getId());
+                    if (readCache) {
+                        idsByCell.computeIfAbsent(ForecastCache.cellOf(location.getLatitude(), location.getLongitude()),
+                            cell -> new ArrayList<>(1)).add(location.getId());
+                    }
+                });
+                int cached = 0;
+                for (Map.Entry<Integer, List<Long>> entry : idsByCell.entrySet()) {
+                    ForecastColumns columns = cachedColumns(entry.getKey());
+                    if (columns == null) {
+                        continue;
+                    }
+                    cached++;
+                    for (Long id : entry.getValue()) {
+                        for (AlertEngine.Alert alert : alertEngine.onForecast(id, columns)) {
+                            LOG.info(() -> "🔔 " + names.get(id) + ": " + alert.describe());
                         }
                     }
-                } else if (currentUser != null && databaseService == null) {
-                    System.out.println("⚠️ Database service not available - location not removed from database");
                 }
-                
-                // Remove from UI
-                locations.remove(sel);
+                int cells = cached;
+                LOG.debug(() -> "Checked alerts for " + names.size() + " location(s) in " + (System.nanoTime() - start) / 1_000_000
+                    + " ms" + (readCache ? ", " + cells + " of " + idsByCell.size() + " grid cell(s) cached" : ""));
             } catch (Exception e) {
-                showError("Failed to remove location: " + e.getMessage());
+                LOG.warn("⚠️ Could not check alerts for all saved locations", e);
+                Platform.runLater(() -> refreshingAlerts = false);
+                return;
+            }
+            Platform.runLater(() -> {
+                refreshingAlerts = false;
+                locationNames.clear();
+                locationNames.putAll(names);
+                locationIdsByCoordinate.clear();
+                locationIdsByCoordinate.putAll(idsByCoordinate);
+                for (LocationRow row : removedDuringAlertRefresh) {
+                    untrackLocation(row.getId(), row.getLatitude(), row.getLongitude());
+                    alertEngine.forgetLocation(row.getId());
+                }
+                removedDuringAlertRefresh.clear();
+                // Rows added while the refresh was streaming
+                for (LocationRow row : locations) {
+                    trackLocation(row.getId(), row.getName(), row.getLatitude(), row.getLongitude());
+                }
+                // Forecasts from the update bus now also reach unloaded locations at the same coordinates
+                for (Map.Entry<String, DashboardSnapshot.Forecast> entry : forecastCache.entrySet()) {
+                    for (Long id : locationIdsByCoordinate.getOrDefault(entry.getKey(), List.of())) {
+                        for (AlertEngine.Alert alert : alertEngine.onForecast(id, entry.getValue().getColumns())) {
+                            LOG.info(() -> "🔔 " + locationName(id) + ": " + alert.describe());
+                        }
+                    }
+                }
+                alertRulesList.refresh();
+                updateAlertBanner();
+            });
+        });
+    }
+
+    /**
+     * A grid cell's forecast from the shared cache in either unit system, or null if it holds none
+     */
+    private ForecastColumns cachedColumns(int cell) {
+        double latitude = ForecastCache.cellLatitude(cell);
+        double longitude = ForecastCache.cellLongitude(cell);
+        ForecastService.ForecastResult result = sharedForecastCache.get(latitude, longitude, "metric");
+        if (result == null) {
+            result = sharedForecastCache.get(latitude, longitude, "imperial");
+        }
+        return result == null ? null : ForecastColumns.from(result);
+    }
+
+    /**
+     * Show the alerts currently firing above the chart, or hide the banner when there are none
+     */
+    private void updateAlertBanner() {
+        List<AlertEngine.Alert> active = alertEngine.getActiveAlerts();
+        alertBanner.setVisible(!active.isEmpty());
+        alertBanner.setManaged(!active.isEmpty());
+        if (active.isEmpty()) {
+            return;
+        }
+        StringBuilder text = new StringBuilder("⚠ " + active.size() + (active.size() == 1 ? " alert" : " alerts"));
+        for (int i = 0; i < Math.min(active.size(), MAX_BANNER_ALERTS); i++) {
+            AlertEngine.Alert alert = active.get(i);
+            text.append('\n').append(locationName(alert.getLocationId()))
+                .append(": ").append(alert.describe());
+        }
+        if (active.size() > MAX_BANNER_ALERTS) {
+            text.append("\n… and ").append(active.size() - MAX_BANNER_ALERTS).append(" more");
+        }
+        alertBanner.setText(text.toString());
+    }
+
+    /**
+     * Show the rollups of the first selected location. Unchanged days are the same snapshot
+     * objects as before and are left in place, so only rows for days that changed re-render.
+     */
+    private void updateDailySummary() {
+        LocationRow row = locationsTable.getSelectionModel().getSelectedItem();
+        dailySummaryTitle.setText(row == null ? "Daily Summary" : "Daily Summary - " + row.getName());
+        List<DailyRollups.DaySummary> days = row == null ? List.of()
+            : dailyRollups.getDays(coordinateKey(row.getLatitude(), row.getLongitude()));
+        int common = Math.min(days.size(), dailySummaries.size());
+        for (int i = 0; i < common; i++) {
+            if (dailySummaries.get(i) != days.get(i)) {
+                dailySummaries.set(i, days.get(i));
             }
         }
+        if (dailySummaries.size() > days.size()) {
+            dailySummaries.remove(days.size(), dailySummaries.size());
+        } else if (days.size() > common) {
+            dailySummaries.addAll(days.subList(common, days.size()));
+        }
+    }
+
+    private boolean isMetricSelected() {
+        return unitsChoice.getSelectionModel().getSelectedIndex() == 0;
+    }
+
+    private String formatTemperature(double celsius) {
+        return isMetricSelected() ? String.format("%.1f °C", celsius) : String.format("%.1f °F", celsius * 9 / 5 + 32);
+    }
+
+    private String formatWindSpeed(double kmh) {
+        return isMetricSelected() ? String.format("%.0f km/h", kmh) : String.format("%.0f mph", kmh / 1.609344);
+    }
+
+    private String formatPrecipitation(double mm) {
+        return isMetricSelected() ? String.format("%.1f mm", mm) : String.format("%.2f in", mm / 25.4);
+    }
+
+    private String ruleScope(AlertEngine.Rule rule) {
+        if (rule.getLocationId() == null) {
+            return "all locations";
+        }
+        return locationNames.getOrDefault(rule.getLocationId(), "location " + rule.getLocationId());
+    }
+
+    private String locationName(long locationId) {
+        return locationNames.getOrDefault(locationId, "Location " + locationId);
+    }
+
+    private void trackLocation(Long id, String name, double latitude, double longitude) {
+        if (id == null) {
+            return;
+        }
+        locationNames.put(id, name);
+        List<Long> ids = locationIdsByCoordinate.computeIfAbsent(coordinateKey(latitude, longitude), key -> new ArrayList<>(1));
+        if (!ids.contains(id)) {
+            ids.add(id);
+        }
+    }
+
+    private void untrackLocation(Long id, double latitude, double longitude) {
+        locationNames.remove(id);
+        String key = coordinateKey(latitude, longitude);
+        List<Long> ids = locationIdsByCoordinate.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            locationIdsByCoordinate.remove(key);
+        }
+    }
+
+    private FileChooser transferFileChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().addAll(
+            new FileChooser.ExtensionFilter("CSV files", "*.csv"),
+            new FileChooser.ExtensionFilter("JSON files", "*.json"));
+        return chooser;
+    }
+
+    private void setTransferRunning(boolean running, String status) {
+        importButton.setDisable(running);
+        exportButton.setDisable(running);
+        transferStatusLabel.setText(status);
+    }
+
+    private List<LocationRow> selectedLocations() {
+        List<LocationRow> selected = new ArrayList<>(locationsTable.getSelectionModel().getSelectedItems());
+        selected.removeIf(row -> row == null);
+        if (selected.size() > maxOverlayLocations) {
+            LOG.warn("⚠️ " + selected.size() + " locations selected, charting the first " + maxOverlayLocations);
+            selected = new ArrayList<>(selected.subList(0, maxOverlayLocations));
+        }
+        return selected;
+    }
+
+    /**
+     * Refresh once the user has stopped changing the selection or units for a moment. The trace
+     * starts with the first change, so it includes the wait.
+     */
+    private void scheduleRefreshChart(String action) {
+        if (pendingRefreshTrace == null) {
+            pendingRefreshTrace = Tracing.startTrace(action);
+        }
+        chartRefreshDelay.playFromStart();
     }
 
     private void refreshChart() {
-        System.out.println("=== REFRESH CHART CALLED ===");
+        chartRefreshDelay.stop();
+        Span trace = pendingRefreshTrace != null ? pendingRefreshTrace : Tracing.startTrace("ui.refresh");
+        pendingRefreshTrace = null;
         updateValueAxisLabel();
-        LocationRow sel = locationsTable.getSelectionModel().getSelectedItem();
+        List<LocationRow> selected = selectedLocations();
+        long generation = ++chartGeneration;
+        if (chartLoad != null) {
+            chartLoad.trace.setAttribute("chart.superseded", true).end();
+        }
+        chartLoad = null;
+        cancelInFlightForecasts();
         
         // Clear chart data first
         temperatureChart.getData().clear();
+        canvasChart.clear();
+        resetTimeAxis();
         
-        if (sel == null) {
-            System.out.println("No location selected, chart cleared");
+        if (selected.isEmpty()) {
+            LOG.debug("No location selected, chart cleared");
+            trace.end();
             return;
         }
         
-        System.out.println("Refreshing chart for location: " + sel.getName() + " (" + sel.getLatitude() + ", " + sel.getLongitude() + ")");
+        boolean metric = unitsChoice.getSelectionModel().getSelectedIndex() == 0;
+        String units = metric ? "metric" : "imperial";
+        LOG.debug(() -> "Refreshing chart for " + selected.size() + " location(s), generation " + generation);
+        trace.setAttribute("chart.locations", selected.size()).setAttribute("weather.units", units);
         
-        // Force chart to update by running on JavaFX thread
-        Platform.runLater(() -> {
-            System.out.println("=== PLATFORM.RUNLATER EXECUTING ===");
-            updateChartData(sel);
-        });
+        if (forecastService == null || !forecastService.isAvailable()) {
+            for (LocationRow row : selected) {
+                showDemoData(row);
+            }
+            IOException error = new IOException("No weather services available");
+            trace.recordError(error).end();
+            showForecastError(error);
+            return;
+        }
+        
+        // Show the last known forecasts right away; the first fresh result replaces them
+        boolean showingCached = false;
+        try (Span render = trace.child("chart.render.cached")) {
+            for (LocationRow row : selected) {
+                DashboardSnapshot.Forecast cached = forecastCache.get(coordinateKey(row.getLatitude(), row.getLongitude()));
+                if (cached != null) {
+                    showCachedForecast(row, cached);
+                    showingCached = true;
+                }
+            }
+        }
+        
+        // Fetch every selected coordinate concurrently; each series is drawn as soon as its
+        // forecast comes in on the update bus, failures come back through the request itself
+        ChartLoad load = new ChartLoad(generation, units, trace);
+        load.showingCached = showingCached;
+        chartLoad = load;
+        for (LocationRow row : selected) {
+            load.pending.computeIfAbsent(coordinateKey(row.getLatitude(), row.getLongitude()), key -> new ArrayList<>()).add(row);
+        }
+        load.remaining = load.pending.size();
+        // Every fetch, fallback included, must finish within DASHBOARD_DEADLINE_MS
+        try (Tracing.Scope scope = trace.activate(); Deadline.Scope budget = Deadline.after(dashboardDeadlineMs).activate()) {
+            for (List<LocationRow> rows : load.pending.values()) {
+                LocationRow first = rows.get(0);
+                CompletableFuture<ForecastService.ForecastResult> request =
+                    forecastService.getHourlyForecastAsync(first.getLatitude(), first.getLongitude(), units);
+                inFlightForecasts.add(request);
+                request.whenComplete((result, error) -> {
+                    if (error != null && !(error instanceof CancellationException)) {
+                        Platform.runLater(() -> onForecastLoaded(load, first, null, error));
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Draw the fresh forecasts the current chart is waiting for; others were fetched for an
+     * earlier selection or other units and only feed the cache, alerts and rollups
+     */
+    private void onForecastUpdates(Collection<WeatherUpdated> updates) {
+        ChartLoad load = chartLoad;
+        if (load == null) {
+            return;
+        }
+        for (WeatherUpdated update : updates) {
+            if (update.getUnits().equals(load.units)) {
+                onForecastLoaded(load, update.getLatitude(), update.getLongitude(), update.getResult(), null);
+            }
+        }
+    }
+
+    private void cancelInFlightForecasts() {
+        int cancelled = 0;
+        for (CompletableFuture<?> request : inFlightForecasts) {
+            if (request.cancel(true)) {
+                cancelled++;
+            }
+        }
+        inFlightForecasts.clear();
+        if (cancelled > 0) {
+            int count = cancelled;
+            LOG.debug(() -> "Cancelled " + count + " superseded forecast request(s)");
+        }
+    }
+    
+    private void onForecastLoaded(ChartLoad load, LocationRow row, ForecastService.ForecastResult result, Throwable error) {
+        onForecastLoaded(load, row.getLatitude(), row.getLongitude(), result, error);
+    }
+
+    private void onForecastLoaded(ChartLoad load, double latitude, double longitude,
+                                  ForecastService.ForecastResult result, Throwable error) {
+        if (load.generation != chartGeneration) {
+            return; // Superseded by a newer refresh
+        }
+        List<LocationRow> rows = load.pending.remove(coordinateKey(latitude, longitude));
+        if (rows == null) {
+            return; // Not part of this chart, or already drawn
+        }
+        if (load.showingCached) {
+            temperatureChart.getData().clear();
+            canvasChart.clear();
+            resetTimeAxis();
+            load.showingCached = false;
+        }
+        DashboardSnapshot.Forecast cached = forecastCache.get(coordinateKey(latitude, longitude));
+        try (Span render = load.trace.child("chart.render")) {
+            render.setAttribute("chart.series", rows.size());
+            if (error == null) {
+                for (LocationRow row : rows) {
+                    addForecastSeries(row, result);
+                }
+                load.succeeded = true;
+            } else {
+                render.setAttribute("chart.fallback", cached != null ? "cached" : "demo");
+                for (LocationRow row : rows) {
+                    if (cached != null) {
+                        showCachedForecast(row, cached);
+                    } else {
+                        showDemoData(row);
+                    }
+                }
+                if (load.error == null) {
+                    load.error = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                }
+            }
+        }
+        
+        if (--load.remaining > 0) {
+            return;
+        }
+        if (!isCanvasMode()) {
+            forceChartRefresh();
+        }
+        if (load.succeeded) {
+            saveUnitsPreference(load.units);
+        }
+        if (load.error != null) {
+            load.trace.recordError(load.error);
+            showForecastError(load.error);
+        }
+        load.trace.end();
     }
     
     private void forceChartRefresh() {
-        System.out.println("=== FORCING AGGRESSIVE CHART REFRESH ===");
+        LOG.trace(() -> "Forcing chart refresh");
         
         // Method 1: Visibility manipulation to force complete redraw
         temperatureChart.setVisible(false);
@@ -314,201 +1432,174 @@ public class DashboardController {
             temperatureChart.applyCss();
             temperatureChart.layout();
             
-            // Method 3: Axis manipulation to force refresh
-            timeAxis.setAutoRanging(false);
-            timeAxis.setAutoRanging(true);
+            // Method 3: Value axis manipulation to force refresh (time axis is ranged manually)
             valueAxis.setAutoRanging(false);
             valueAxis.setAutoRanging(true);
             
-            // Method 4: Animation toggle to trigger refresh
-            temperatureChart.setAnimated(true);
-            temperatureChart.setAnimated(false);
-            temperatureChart.setAnimated(true);
-            
             Platform.runLater(() -> {
                 // Final forced refresh
                 temperatureChart.requestLayout();
                 temperatureChart.layout();
-                System.out.println("=== AGGRESSIVE CHART REFRESH COMPLETED ===");
+                LOG.trace(() -> "Chart refresh completed");
             });
         });
     }
     
-    private void updateChartData(LocationRow sel) {
-        System.out.println("=== UPDATE CHART DATA CALLED ===");
-        // Ensure chart is properly cleared and ready for new data
-        temperatureChart.getData().clear();
-        
-        // Force a complete chart refresh
-        temperatureChart.setAnimated(false);
-        temperatureChart.layout();
+    private void addForecastSeries(LocationRow sel, ForecastService.ForecastResult result) {
+        List<WeatherService.WeatherData> forecast = result.getForecast();
+        String name = "Temperature - " + sel.getName() + " (" + result.getDataSource() + ")";
+        List<LocalDateTime> times = new ArrayList<>(forecast.size());
+        double[] temperatures = new double[forecast.size()];
+        for (int i = 0; i < temperatures.length; i++) {
+            times.add(forecast.get(i).getDateTime());
+            temperatures[i] = forecast.get(i).getTemperature();
+        }
+        ForecastService.Spread spread = result.getSpread();
+        if (spread != null) {
+            showSeries(name, times, temperatures, spread.getTemperatureLow(), spread.getTemperatureHigh());
+        } else {
+            showSeries(name, times, temperatures);
+        }
+    }
+    
+    /**
+     * Draw a previously fetched forecast in the selected units
+     */
+    private void showCachedForecast(LocationRow row, DashboardSnapshot.Forecast cached) {
+        ForecastColumns columns = cached.getColumns();
+        boolean metric = isMetricSelected();
+        ZoneId zone = ZoneId.systemDefault();
+        List<LocalDateTime> times = new ArrayList<>(columns.size());
+        double[] temperatures = new double[columns.size()];
+        for (int i = 0; i < temperatures.length; i++) {
+            times.add(LocalDateTime.ofInstant(Instant.ofEpochSecond(columns.getEpochSeconds()[i]), zone));
+            double celsius = columns.getTemperature()[i];
+            temperatures[i] = metric ? celsius : celsius * 9 / 5 + 32;
+        }
+        showSeries("Temperature - " + row.getName() + " (" + cached.getDataSource() + ", earlier)", times, temperatures);
+    }
+    
+    /**
+     * Add one series to whichever chart is active, keyed on real timestamps
+     */
+    private void showSeries(String name, List<LocalDateTime> times, double[] temperatures) {
+        showSeries(name, times, temperatures, null, null);
+    }
+
+    /**
+     * Chart one series; an ensemble's spread is shaded on the canvas and drawn as dashed edges on the LineChart
+     */
+    private void showSeries(String name, List<LocalDateTime> times, double[] temperatures, double[] low, double[] high) {
+        if (isCanvasMode()) {
+            showCanvasSeries(name, times, temperatures, low, high);
+            return;
+        }
+        if (low != null) {
+            addBandEdge(name + " low", times, low);
+            addBandEdge(name + " high", times, high);
+        }
         
-        try {
-            // Get real weather data
-            boolean metric = unitsChoice.getSelectionModel().getSelectedIndex() == 0;
-            String units = metric ? "metric" : "imperial";
-            
-            List<WeatherService.WeatherData> forecast = null;
-            String dataSource = "OpenWeatherMap";
-            
-            if (weatherService != null) {
-                try {
-                    // Try the main weather service first
-                    forecast = weatherService.getHourlyForecast(sel.getLatitude(), sel.getLongitude(), units);
-                } catch (IOException e) {
-                    if (e.getMessage().contains("401")) {
-                        // API key issue, try free service
-                        if (freeWeatherService != null) {
-                            try {
-                                List<FreeWeatherService.WeatherData> freeForecast = freeWeatherService.getHourlyForecast(
-                                    sel.getLatitude(), sel.getLongitude(), units);
-                                
-                                // Convert to main WeatherData format
-                                forecast = new ArrayList<>();
-                                for (FreeWeatherService.WeatherData freeData : freeForecast) {
-                                    forecast.add(new WeatherService.WeatherData(
-                                        freeData.getTemperature(),
-                                        freeData.getFeelsLike(),
-                                        freeData.getHumidity(),
-                                        freeData.getWindSpeed(),
-                                        freeData.getDescription(),
-                                        freeData.getIcon(),
-                                        freeData.getDateTime(),
-                                        freeData.getUnits()
-                                    ));
-                                }
-                                dataSource = "Free Weather Service";
-                            } catch (IOException freeE) {
-                                throw e; // Re-throw original error
-                            }
-                        } else {
-                            throw new IOException("No weather services available");
-                        }
-                    } else {
-                        throw e; // Re-throw if not API key issue
-                    }
-                }
-            } else if (freeWeatherService != null) {
-                try {
-                    List<FreeWeatherService.WeatherData> freeForecast = freeWeatherService.getHourlyForecast(
-                        sel.getLatitude(), sel.getLongitude(), units);
-                    
-                    // Convert to main WeatherData format
-                    forecast = new ArrayList<>();
-                    for (FreeWeatherService.WeatherData freeData : freeForecast) {
-                        forecast.add(new WeatherService.WeatherData(
-                            freeData.getTemperature(),
-                            freeData.getFeelsLike(),
-                            freeData.getHumidity(),
-                            freeData.getWindSpeed(),
-                            freeData.getDescription(),
-                            freeData.getIcon(),
-                            freeData.getDateTime(),
-                            freeData.getUnits()
-                        ));
-                    }
-                    dataSource = "Free Weather Service";
-                } catch (IOException e) {
-                    throw new IOException("Free weather service failed: " + e.getMessage());
-                }
-            } else {
-                throw new IOException("No weather services available");
-            }
-            
-            XYChart.Series<String, Number> series = new XYChart.Series<>();
-            series.setName("Temperature - " + sel.getName() + " (" + dataSource + ")");
-            
-            DateTimeFormatter fmt = DateTimeFormatter.ofPattern("HH:mm");
-            
-            for (WeatherService.WeatherData weather : forecast) {
-                String timeLabel = weather.getDateTime().format(fmt);
-                series.getData().add(new XYChart.Data<>(timeLabel, weather.getTemperature()));
-            }
-            
-            // IMPROVED: Add series with immediate visual refresh
-            temperatureChart.getData().add(series);
-            System.out.println("Added " + series.getData().size() + " data points to chart");
-            System.out.println("Chart data size after adding: " + temperatureChart.getData().size());
-            
-            // Immediate layout refresh
-            temperatureChart.setAnimated(false);
-            temperatureChart.requestLayout();
-            temperatureChart.applyCss();
-            temperatureChart.layout();
-            
-            // Force a complete scene refresh
-            Platform.runLater(() -> {
-                temperatureChart.requestLayout();
-                temperatureChart.layout();
-                forceChartRefresh();
-                System.out.println("=== CHART LAYOUT COMPLETED ===");
-            });
-            
-            // Save user preference
-            if (currentUser != null && databaseService != null) {
-                databaseService.saveUserPreference(currentUser.getId(), "units", units);
-            } else if (currentUser != null && databaseService == null) {
-                System.out.println("⚠️ Database service not available - units preference not saved");
-            }
-            
-        } catch (IOException e) {
-            // Fallback to demo data if API fails
-            showDemoData(sel);
-            if (e.getMessage().contains("401")) {
-                showError("Weather API Key Required!\n\n" +
-                         "The app tried to use OpenWeatherMap but needs a valid API key.\n\n" +
-                         "✅ FREE OPTIONS (No Payment Required):\n" +
-                         "1. Get free OpenWeatherMap key: https://openweathermap.org/api\n" +
-                         "2. Or use the built-in free weather service (no setup needed)\n" +
-                         "3. Or continue with demo data (already working!)\n\n" +
-                         "See FREE_API_SETUP.md for detailed instructions.\n\n" +
-                         "Showing demo data for now.");
-            } else {
-                showError("Weather API unavailable. Showing demo data.\nError: " + e.getMessage());
+        ZoneId zone = ZoneId.systemDefault();
+        XYChart.Series<Number, Number> series = new XYChart.Series<>();
+        series.setName(name);
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < temperatures.length; i++) {
+            long epochSecond = times.get(i).atZone(zone).toEpochSecond();
+            min = Math.min(min, epochSecond);
+            max = Math.max(max, epochSecond);
+            series.getData().add(new XYChart.Data<>(epochSecond, temperatures[i]));
+        }
+        if (series.getData().isEmpty()) {
+            return;
+        }
+        updateTimeAxis(min, max);
+        temperatureChart.getData().add(series);
+        LOG.debug(() -> "Added " + series.getData().size() + " data points to chart");
+        temperatureChart.requestLayout();
+    }
+    
+    private void addBandEdge(String name, List<LocalDateTime> times, double[] values) {
+        ZoneId zone = ZoneId.systemDefault();
+        XYChart.Series<Number, Number> edge = new XYChart.Series<>();
+        edge.setName(name);
+        for (int i = 0; i < values.length; i++) {
+            edge.getData().add(new XYChart.Data<>(times.get(i).atZone(zone).toEpochSecond(), values[i]));
+        }
+        temperatureChart.getData().add(edge);
+        edge.getNode().setStyle("-fx-stroke: #999999; -fx-stroke-width: 1px; -fx-stroke-dash-array: 6 4;");
+    }
+
+    private void resetTimeAxis() {
+        timeAxisMin = Double.POSITIVE_INFINITY;
+        timeAxisMax = Double.NEGATIVE_INFINITY;
+    }
+    
+    /**
+     * Widen the shared time axis to cover a new series, with ticks on whole local hours
+     */
+    private void updateTimeAxis(double min, double max) {
+        timeAxisMin = Math.min(timeAxisMin, min);
+        timeAxisMax = Math.max(timeAxisMax, max);
+        double span = Math.max(3600, timeAxisMax - timeAxisMin);
+        double tick = TIME_TICKS[TIME_TICKS.length - 1];
+        for (double step : TIME_TICKS) {
+            if (span / step <= 12) {
+                tick = step;
+                break;
             }
-        } catch (Exception e) {
-            showDemoData(sel);
-            showError("Failed to load weather data: " + e.getMessage());
+        }
+        long offset = ZoneId.systemDefault().getRules()
+            .getOffset(Instant.ofEpochSecond((long) timeAxisMin)).getTotalSeconds();
+        timeAxis.setLowerBound(Math.floor((timeAxisMin + offset) / tick) * tick - offset);
+        timeAxis.setUpperBound(Math.ceil((timeAxisMax + offset) / tick) * tick - offset);
+        timeAxis.setTickUnit(tick);
+        timeLabelFormat = span > 2 * 86400 ? DAY_TIME_FORMAT : TIME_FORMAT;
+    }
+    
+    private void saveUnitsPreference(String units) {
+        if (currentUser != null && databaseService != null) {
+            databaseService.queueUserPreference(currentUser.getUserId(), "units", units);
+        } else if (currentUser != null && databaseService == null) {
+            LOG.warn("⚠️ Database service not available - units preference not saved");
+        }
+    }
+    
+    private void showForecastError(Throwable e) {
+        String message = e.getMessage() == null ? e.toString() : e.getMessage();
+        if (!(e instanceof IOException)) {
+            showError("Failed to load weather data: " + message);
+        } else if (message.contains("401")) {
+            showError("Weather API Key Required!\n\n" +
+                     "The app tried to use OpenWeatherMap but needs a valid API key.\n\n" +
+                     "✅ FREE OPTIONS (No Payment Required):\n" +
+                     "1. Get free OpenWeatherMap key: https://openweathermap.org/api\n" +
+                     "2. Or use the built-in free weather service (no setup needed)\n" +
+                     "3. Or continue with demo data (already working!)\n\n" +
+                     "See FREE_API_SETUP.md for detailed instructions.\n\n" +
+                     "Showing demo data for now.");
+        } else {
+            showError("Weather API unavailable. Showing demo data.\nError: " + message);
         }
     }
     
     private void showDemoData(LocationRow sel) {
-        XYChart.Series<String, Number> series = new XYChart.Series<>();
-        series.setName("Temperature - " + sel.getName() + " (Demo)");
-
-        LocalDateTime now = LocalDateTime.now().withMinute(0).withSecond(0).withNano(0);
-        DateTimeFormatter fmt = DateTimeFormatter.ofPattern("HH:mm");
+        long hour = System.currentTimeMillis() / 1000 / 3600 * 3600;
+        String units = isMetricSelected() ? "metric" : "imperial";
+        // show 25 hours around now from the same model as the synthetic provider
+        List<WeatherService.WeatherData> demo = SyntheticWeatherService.generateForecast(
+            ConfigManager.getInstance().getSyntheticSeed(), sel.getLatitude(), sel.getLongitude(), units, hour - 6 * 3600L, 25, 1);
 
-        boolean metric = unitsChoice.getSelectionModel().getSelectedIndex() == 0;
-        for (int i = -6; i <= 18; i++) { // show 25 hours around now
-            LocalDateTime t = now.plusHours(i);
-            double base = 12 + 8 * Math.sin((i / 24.0) * 2 * Math.PI); // simple day curve
-            double noise = random.nextGaussian();
-            double tempC = base + noise;
-            double value = metric ? tempC : (tempC * 9 / 5) + 32;
-            series.getData().add(new XYChart.Data<>(fmt.format(t), value));
+        List<LocalDateTime> times = new ArrayList<>(demo.size());
+        double[] temperatures = new double[demo.size()];
+        for (int i = 0; i < demo.size(); i++) {
+            times.add(demo.get(i).getDateTime());
+            temperatures[i] = demo.get(i).getTemperature();
         }
 
-        // IMPROVED: Add demo series with immediate visual refresh
-        temperatureChart.getData().add(series);
-        System.out.println("Added " + series.getData().size() + " demo data points to chart");
-        
-        // Immediate layout refresh for demo data
-        temperatureChart.setAnimated(false);
-        temperatureChart.requestLayout();
-        temperatureChart.applyCss();
-        temperatureChart.layout();
-        
-        // Force a complete scene refresh
-        Platform.runLater(() -> {
-            temperatureChart.requestLayout();
-            temperatureChart.layout();
-            forceChartRefresh();
-            System.out.println("=== DEMO CHART LAYOUT COMPLETED ===");
-        });
+        showSeries("Temperature - " + sel.getName() + " (Demo)", times, temperatures);
     }
 
-
     private void showInfo(String msg) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION, msg, ButtonType.OK);
         alert.setHeaderText(null);
@@ -525,19 +1616,67 @@ public class DashboardController {
         return s == null ? "" : s.trim();
     }
 
-    // Simple row model for the TableView
+    // Bookkeeping for one refresh while its forecasts arrive (FX thread only)
+    private static class ChartLoad {
+        private final long generation;
+        private final String units;
+        private final Span trace;
+        // Rows still waiting for a forecast, by coordinate
+        private final Map<String, List<LocationRow>> pending = new LinkedHashMap<>();
+        private int remaining;
+        private boolean succeeded;
+        private boolean showingCached;
+        private Throwable error;
+
+        ChartLoad(long generation, String units, Span trace) {
+            this.generation = generation;
+            this.units = units;
+            this.trace = trace;
+        }
+    }
+
+    // Simple row model for the TableView; id is null when the row was never saved to the database.
+    // Saved rows are equal by id, so a location found through the filter matches its loaded row.
     public static class LocationRow {
+        private final Long id;
         private final String name;
         private final double latitude;
         private final double longitude;
+        private final LocalDateTime createdAt;
 
-        public LocationRow(String name, double latitude, double longitude) {
+        public LocationRow(Long id, String name, double latitude, double longitude, LocalDateTime createdAt) {
+            this.id = id;
             this.name = name;
             this.latitude = latitude;
             this.longitude = longitude;
+            this.createdAt = createdAt;
         }
+
+        public static LocationRow from(LocationSummary location) {
+            return new LocationRow(location.getId(), location.getLocationName(), location.getLatitude(),
+                location.getLongitude(), location.getCreatedAt());
+        }
+
+        public LocationSummary toSummary() {
+            return new LocationSummary(id, name, latitude, longitude, createdAt);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (id == null || !(o instanceof LocationRow)) return false;
+            return id.equals(((LocationRow) o).id);
+        }
+
+        @Override
+        public int hashCode() {
+            return id == null ? System.identityHashCode(this) : id.hashCode();
+        }
+
+        public Long getId() { return id; }
         public String getName() { return name; }
         public double getLatitude() { return latitude; }
         public double getLongitude() { return longitude; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
     }
 }
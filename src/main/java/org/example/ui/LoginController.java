@@ -1,12 +1,22 @@
 package org.example.ui;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.TextField;
+import org.example.AppBootstrap;
+import org.example.ConfigManager;
+import org.example.DashboardSnapshot;
 import org.example.DatabaseService;
+import org.example.Deadline;
+import org.example.Span;
+import org.example.Tracing;
 import org.example.User;
+import org.example.UserDashboardData;
+
+import java.util.List;
 
 public class LoginController {
 
@@ -20,25 +30,27 @@ public class LoginController {
 
     @FXML
     private void initialize() {
-        statusLabel.setText("");
+        // The database initializes in the background (AppBootstrap); keep the buttons off until it is ready
+        loginButton.setDisable(true);
+        registerButton.setDisable(true);
+        statusLabel.setText("Connecting to database...");
+        statusLabel.setStyle("-fx-text-fill: gray;");
         
-        // Check if database is properly configured
-        if (!DatabaseService.isDatabaseConfigured()) {
-            String errorMsg = DatabaseService.getDatabaseConfigurationError();
-            statusLabel.setText("Database configuration error: " + errorMsg);
+        AppBootstrap.getInstance().database().whenComplete((service, error) ->
+            Platform.runLater(() -> onDatabaseReady(service, error)));
+    }
+
+    private void onDatabaseReady(DatabaseService service, Throwable error) {
+        if (error != null) {
+            statusLabel.setText("Failed to initialize database: " + AppBootstrap.rootMessage(error));
             statusLabel.setStyle("-fx-text-fill: red;");
-            loginButton.setDisable(true);
-            registerButton.setDisable(true);
-        } else {
-            try {
-                databaseService = DatabaseService.getInstance();
-            } catch (Exception e) {
-                statusLabel.setText("Failed to initialize database: " + e.getMessage());
-                statusLabel.setStyle("-fx-text-fill: red;");
-                loginButton.setDisable(true);
-                registerButton.setDisable(true);
-            }
+            return;
         }
+        databaseService = service;
+        statusLabel.setText("");
+        statusLabel.setStyle("");
+        loginButton.setDisable(false);
+        registerButton.setDisable(false);
     }
 
     @FXML
@@ -53,16 +65,55 @@ public class LoginController {
         String email = emailField.getText().trim();
         String password = passwordField.getText().trim();
         
-        try {
-            User user = databaseService.authenticateUser(email, password);
-            if (user != null) {
-                SceneRouter.get().showDashboard(user);
-            } else {
-                statusLabel.setText("Invalid email or password.");
+        // Password hashing is deliberately slow; check credentials off the FX thread. The trace
+        // ends once the dashboard (or the error) is on screen; the queries share one deadline.
+        setBusy("Signing in...");
+        Span trace = Tracing.startTrace("ui.login");
+        Deadline deadline = Deadline.after(ConfigManager.getInstance().getDashboardDeadlineMs());
+        Thread.ofVirtual().name("login").start(() -> {
+            try (Tracing.Scope scope = trace.activate(); Deadline.Scope budget = deadline.activate()) {
+                // With a snapshot from last time only the credentials are checked here; the dashboard
+                // draws from the snapshot and reloads the user's data in the background
+                if (DashboardSnapshot.exists(email)) {
+                    Long userId = databaseService.authenticate(email, password);
+                    if (userId == null) {
+                        finish(trace, () -> showFailure("Invalid email or password."));
+                        return;
+                    }
+                    DashboardSnapshot snapshot = DashboardSnapshot.load(email, userId);
+                    if (snapshot != null) {
+                        finish(trace, () -> SceneRouter.get().showDashboard(snapshot));
+                    } else {
+                        UserDashboardData dashboardData = databaseService.loadDashboardData(userId);
+                        finish(trace, () -> SceneRouter.get().showDashboard(dashboardData));
+                    }
+                    return;
+                }
+                
+                UserDashboardData dashboardData = databaseService.loginWithDashboardData(email, password);
+                finish(trace, () -> {
+                    if (dashboardData != null) {
+                        SceneRouter.get().showDashboard(dashboardData);
+                    } else {
+                        showFailure("Invalid email or password.");
+                    }
+                });
+            } catch (Exception e) {
+                trace.recordError(e);
+                finish(trace, () -> showFailure("Login failed: " + e.getMessage()));
             }
-        } catch (Exception e) {
-            statusLabel.setText("Login failed: " + e.getMessage());
-        }
+        });
+    }
+
+    /**
+     * Run the last step of a login on the FX thread and end its trace after it
+     */
+    private void finish(Span trace, Runnable step) {
+        Platform.runLater(() -> {
+            try (Tracing.Scope scope = trace.activate(); trace) {
+                step.run();
+            }
+        });
     }
 
     @FXML
@@ -78,12 +129,29 @@ public class LoginController {
         String password = passwordField.getText().trim();
         String displayName = inferDisplayName(email);
         
-        try {
-            User user = databaseService.registerUser(email, password, displayName);
-            SceneRouter.get().showDashboard(user);
-        } catch (Exception e) {
-            statusLabel.setText("Registration failed: " + e.getMessage());
-        }
+        setBusy("Creating account...");
+        Thread.ofVirtual().name("register").start(() -> {
+            try {
+                User user = databaseService.registerUser(email, password, displayName);
+                Platform.runLater(() -> SceneRouter.get().showDashboard(UserDashboardData.from(user, List.of())));
+            } catch (Exception e) {
+                Platform.runLater(() -> showFailure("Registration failed: " + e.getMessage()));
+            }
+        });
+    }
+
+    private void setBusy(String message) {
+        loginButton.setDisable(true);
+        registerButton.setDisable(true);
+        statusLabel.setText(message);
+        statusLabel.setStyle("-fx-text-fill: gray;");
+    }
+
+    private void showFailure(String message) {
+        loginButton.setDisable(false);
+        registerButton.setDisable(false);
+        statusLabel.setText(message);
+        statusLabel.setStyle("");
     }
 
     private boolean validate() {
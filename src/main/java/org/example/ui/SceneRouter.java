@@ -45,7 +45,7 @@ public final class SceneRouter {
         }
     }
 
-    public void showDashboard(org.example.User user) {
+    public void showDashboard(org.example.UserDashboardData user) {
         try {
             FXMLLoader loader = new FXMLLoader(resource("/fxml/DashboardView.fxml"));
             Parent root = loader.load();
@@ -62,6 +62,26 @@ public final class SceneRouter {
         }
     }
 
+    /**
+     * Show the dashboard drawn from a saved snapshot; it refreshes itself in the background
+     */
+    public void showDashboard(org.example.DashboardSnapshot snapshot) {
+        try {
+            FXMLLoader loader = new FXMLLoader(resource("/fxml/DashboardView.fxml"));
+            Parent root = loader.load();
+            DashboardController controller = loader.getController();
+            controller.setSnapshot(snapshot);
+
+            Scene scene = new Scene(root, 1200, 800);
+            applyStyles(scene);
+            stage.setScene(scene);
+            stage.setTitle(appTitle + " - Dashboard");
+            stage.show();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load Dashboard view", e);
+        }
+    }
+
     private void applyStyles(Scene scene) {
         scene.getStylesheets().add(resource("/css/styles.css").toExternalForm());
     }
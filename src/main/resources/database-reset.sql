@@ -2,13 +2,18 @@
 -- Run this script in your Oracle database to clean up existing tables
 
 -- Drop existing tables in correct order (respecting foreign key constraints)
+DROP TABLE alert_rules CASCADE CONSTRAINTS;
 DROP TABLE user_preferences CASCADE CONSTRAINTS;
 DROP TABLE saved_locations CASCADE CONSTRAINTS;
 DROP TABLE users CASCADE CONSTRAINTS;
 
--- Optional: Drop sequences if they exist
--- DROP SEQUENCE users_seq;
--- DROP SEQUENCE user_preferences_seq;
--- DROP SEQUENCE saved_locations_seq;
+-- Drop id sequences
+DROP SEQUENCE users_seq;
+DROP SEQUENCE user_preferences_seq;
+DROP SEQUENCE saved_locations_seq;
+DROP SEQUENCE alert_rules_seq;
+
+-- Forget applied migrations so the next start recreates the schema from V1
+DROP TABLE "flyway_schema_history";
 
 COMMIT;
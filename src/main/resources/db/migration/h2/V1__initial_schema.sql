@@ -0,0 +1,34 @@
+-- Initial schema for the embedded H2 profiles (DB_PROFILE=h2-file / h2-mem).
+-- Mirrors the entity mappings; sequences step by User.ID_ALLOCATION_SIZE.
+
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE user_preferences_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE saved_locations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL PRIMARY KEY,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    display_name VARCHAR(255),
+    created_at TIMESTAMP(6),
+    last_login TIMESTAMP(6)
+);
+
+CREATE TABLE user_preferences (
+    id BIGINT NOT NULL PRIMARY KEY,
+    preference_key VARCHAR(255) NOT NULL,
+    preference_value VARCHAR(255) NOT NULL,
+    user_id BIGINT NOT NULL REFERENCES users(id)
+);
+
+CREATE TABLE saved_locations (
+    id BIGINT NOT NULL PRIMARY KEY,
+    location_name VARCHAR(255) NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    created_at TIMESTAMP(6),
+    user_id BIGINT NOT NULL REFERENCES users(id)
+);
+
+CREATE INDEX idx_user_preferences_user ON user_preferences(user_id, preference_key);
+CREATE INDEX idx_saved_locations_user ON saved_locations(user_id, created_at);
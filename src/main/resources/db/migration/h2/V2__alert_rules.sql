@@ -0,0 +1,17 @@
+-- Forecast alert rules; location_id NULL means the rule applies to all of the user's locations.
+
+CREATE SEQUENCE alert_rules_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE alert_rules (
+    id BIGINT NOT NULL PRIMARY KEY,
+    metric VARCHAR(255) NOT NULL,
+    comparison VARCHAR(255) NOT NULL,
+    threshold DOUBLE PRECISION NOT NULL,
+    window_hours INTEGER NOT NULL,
+    created_at TIMESTAMP(6),
+    user_id BIGINT NOT NULL REFERENCES users(id),
+    location_id BIGINT REFERENCES saved_locations(id)
+);
+
+CREATE INDEX idx_alert_rules_user ON alert_rules(user_id);
+CREATE INDEX idx_alert_rules_location ON alert_rules(location_id);
@@ -0,0 +1,34 @@
+-- Initial schema, as hibernate.hbm2ddl.auto=update used to create it (IDENTITY ids).
+-- Databases created that way already have these tables; Flyway baselines them at version 1
+-- and starts from V2.
+
+CREATE TABLE users (
+    id NUMBER(19,0) GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    email VARCHAR2(255 CHAR) NOT NULL,
+    password VARCHAR2(255 CHAR) NOT NULL,
+    display_name VARCHAR2(255 CHAR),
+    created_at TIMESTAMP(6),
+    last_login TIMESTAMP(6),
+    PRIMARY KEY (id),
+    UNIQUE (email)
+);
+
+CREATE TABLE user_preferences (
+    id NUMBER(19,0) GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    preference_key VARCHAR2(255 CHAR) NOT NULL,
+    preference_value VARCHAR2(255 CHAR) NOT NULL,
+    user_id NUMBER(19,0) NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE saved_locations (
+    id NUMBER(19,0) GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    location_name VARCHAR2(255 CHAR) NOT NULL,
+    latitude FLOAT(53) NOT NULL,
+    longitude FLOAT(53) NOT NULL,
+    created_at TIMESTAMP(6),
+    user_id NUMBER(19,0) NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,21 @@
+-- Move primary keys from IDENTITY columns to pooled sequences so Hibernate can batch inserts.
+-- Hibernate disables JDBC insert batching for IDENTITY ids because each row's key is only known
+-- after its own INSERT. With sequences using the pooled-lo optimizer one NEXTVAL reserves 50 ids.
+--
+-- Each sequence starts just above the current maximum id and increments by 50
+-- (User.ID_ALLOCATION_SIZE). Existing rows keep their ids.
+
+DECLARE
+    PROCEDURE to_sequence(p_table VARCHAR2, p_sequence VARCHAR2) IS
+        v_next NUMBER;
+    BEGIN
+        EXECUTE IMMEDIATE 'SELECT NVL(MAX(id), 0) + 1 FROM ' || p_table INTO v_next;
+        EXECUTE IMMEDIATE 'CREATE SEQUENCE ' || p_sequence || ' START WITH ' || v_next || ' INCREMENT BY 50';
+        EXECUTE IMMEDIATE 'ALTER TABLE ' || p_table || ' MODIFY id DROP IDENTITY';
+    END;
+BEGIN
+    to_sequence('users', 'users_seq');
+    to_sequence('user_preferences', 'user_preferences_seq');
+    to_sequence('saved_locations', 'saved_locations_seq');
+END;
+/
@@ -0,0 +1,5 @@
+-- Indexes for the per-user lookups (preferences by key, locations ordered by creation time).
+-- Foreign key columns are not indexed automatically in Oracle.
+
+CREATE INDEX idx_user_preferences_user ON user_preferences (user_id, preference_key);
+CREATE INDEX idx_saved_locations_user ON saved_locations (user_id, created_at);
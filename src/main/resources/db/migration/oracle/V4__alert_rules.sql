@@ -0,0 +1,20 @@
+-- Forecast alert rules; location_id NULL means the rule applies to all of the user's locations.
+
+CREATE SEQUENCE alert_rules_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE alert_rules (
+    id NUMBER(19,0) NOT NULL,
+    metric VARCHAR2(255 CHAR) NOT NULL,
+    comparison VARCHAR2(255 CHAR) NOT NULL,
+    threshold FLOAT(53) NOT NULL,
+    window_hours NUMBER(10,0) NOT NULL,
+    created_at TIMESTAMP(6),
+    user_id NUMBER(19,0) NOT NULL,
+    location_id NUMBER(19,0),
+    PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES users (id),
+    FOREIGN KEY (location_id) REFERENCES saved_locations (id)
+);
+
+CREATE INDEX idx_alert_rules_user ON alert_rules (user_id);
+CREATE INDEX idx_alert_rules_location ON alert_rules (location_id);